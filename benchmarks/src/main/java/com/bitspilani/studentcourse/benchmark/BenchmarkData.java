@@ -0,0 +1,80 @@
+package com.bitspilani.studentcourse.benchmark;
+
+import com.bitspilani.studentcourse.StudentCourseManagementApplication;
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.repository.CourseRepository;
+import com.bitspilani.studentcourse.service.EnrollmentImportService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class BenchmarkData {
+    
+    static final long SEED = 42L;
+    static final String[] DEPARTMENTS = {"Computer Science", "Electronics", "Mathematics", "Physics", "Mechanical"};
+    
+    private BenchmarkData() {
+    }
+    
+    static ConfigurableApplicationContext startApplication() {
+        return startApplication(
+            "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+            "--app.seed.enabled=false");
+    }
+    
+    // Arguments are passed as command-line properties, so they override application.properties
+    static ConfigurableApplicationContext startApplication(String... arguments) {
+        return new SpringApplicationBuilder(StudentCourseManagementApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "logging.level.com.bitspilani.studentcourse=WARN")
+            .run(arguments);
+    }
+    
+    static List<Course> seedCourses(ConfigurableApplicationContext context, int count) {
+        List<Course> courses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            courses.add(new Course(courseCode(i), "Benchmark Course " + i, 3 + i % 2, "Generated for benchmarks"));
+        }
+        return context.getBean(CourseRepository.class).saveAll(courses);
+    }
+    
+    // Goes through the bulk import path so seeding 100k+ students stays fast
+    static void seedStudents(ConfigurableApplicationContext context, int count, int courseCount,
+                             int coursesPerStudent) throws IOException {
+        Random random = new Random(SEED);
+        StringBuilder csv = new StringBuilder(count * 80);
+        for (int i = 0; i < count; i++) {
+            csv.append("Student ").append(i).append(',')
+                .append(email(i)).append(',')
+                .append(DEPARTMENTS[i % DEPARTMENTS.length]).append(',')
+                .append(1 + i % 8).append(',');
+            for (int c = 0; c < coursesPerStudent; c++) {
+                if (c > 0) {
+                    csv.append(';');
+                }
+                csv.append(courseCode(random.nextInt(courseCount)));
+            }
+            csv.append('\n');
+        }
+        context.getBean(EnrollmentImportService.class).importStudents(
+            new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)),
+            EnrollmentImportService.Format.CSV, EnrollmentImportService.MAX_CHUNK_SIZE);
+    }
+    
+    static String courseCode(int index) {
+        return "BENCH" + index;
+    }
+    
+    static String email(int index) {
+        return "student" + index + "@bench.example";
+    }
+}
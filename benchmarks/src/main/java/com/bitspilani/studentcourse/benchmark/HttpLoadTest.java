@@ -0,0 +1,165 @@
+package com.bitspilani.studentcourse.benchmark;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load test against a running instance: for each concurrency level, that many clients issue
+ * GET requests back to back for a fixed duration, and throughput plus p50/p99/max latency are reported.
+ * Run it once against the default thread pool and once against app.virtual-threads.enabled=true, each with its
+ * own label, and compare the rows appended to target/load-test.csv.
+ *
+ * <pre>
+ * mvn package exec:exec@load-test -Dload.args="label=platform concurrency=50,200,800"
+ * </pre>
+ */
+public class HttpLoadTest {
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        String label = options.getOrDefault("label", "run");
+        List<String> paths = Arrays.asList(options.getOrDefault("paths", "/students,/courses,/students/with-courses")
+            .split(","));
+        int[] levels = Arrays.stream(options.getOrDefault("concurrency", "50,200,800").split(","))
+            .mapToInt(Integer::parseInt).toArray();
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "20")));
+        Path results = Path.of(options.getOrDefault("out", "target/load-test.csv"));
+        
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        
+        System.out.printf("%-10s %11s %10s %9s %9s %9s %8s%n",
+            "label", "concurrency", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (int concurrency : levels) {
+            run(client, baseUrl, paths, concurrency, warmup);
+            Result result = run(client, baseUrl, paths, concurrency, duration);
+            System.out.printf("%-10s %11d %10.1f %9.1f %9.1f %9.1f %8d%n", label, concurrency,
+                result.throughput(), result.percentile(0.5), result.percentile(0.99), result.percentile(1.0),
+                result.errors);
+            append(results, label, concurrency, result);
+        }
+    }
+    
+    private static Result run(HttpClient client, String baseUrl, List<String> paths, int concurrency,
+                              Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Result>> workers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                int offset = i;
+                workers.add(clients.submit(() -> {
+                    Result result = new Result();
+                    for (int n = offset; System.nanoTime() < deadline; n++) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + paths.get(n % paths.size())))
+                            .timeout(Duration.ofSeconds(30))
+                            .GET()
+                            .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                result.errors++;
+                                continue;
+                            }
+                        } catch (IOException e) {
+                            result.errors++;
+                            continue;
+                        }
+                        result.record(System.nanoTime() - start);
+                    }
+                    return result;
+                }));
+            }
+            Result total = new Result();
+            for (Future<Result> worker : workers) {
+                total.merge(worker.get());
+            }
+            total.elapsedNanos = duration.toNanos();
+            return total;
+        } finally {
+            clients.shutdownNow();
+            clients.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+    
+    private static void append(Path results, String label, int concurrency, Result result) throws IOException {
+        boolean header = !Files.exists(results);
+        Files.createDirectories(results.toAbsolutePath().getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(results,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (header) {
+                writer.println("label,concurrency,requests,errors,throughput,p50_ms,p99_ms,max_ms");
+            }
+            writer.printf("%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f%n", label, concurrency, result.count, result.errors,
+                result.throughput(), result.percentile(0.5), result.percentile(0.99), result.percentile(1.0));
+        }
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+    
+    private static class Result {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private long elapsedNanos;
+        
+        void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+        
+        void merge(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i]);
+            }
+            errors += other.errors;
+        }
+        
+        double throughput() {
+            return count * 1e9 / elapsedNanos;
+        }
+        
+        double percentile(double p) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(count - 1, Math.max(0, Math.ceil(p * count) - 1));
+            return sorted[index] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.bitspilani.studentcourse.benchmark;
+
+import com.bitspilani.studentcourse.dto.StudentCourseDTO;
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import com.bitspilani.studentcourse.repository.CourseRepository;
+import com.bitspilani.studentcourse.repository.StudentRepository;
+import com.bitspilani.studentcourse.service.CourseService;
+import com.bitspilani.studentcourse.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service and repository hot paths against an embedded H2 database seeded with {@code students}
+ * students and {@code courses} courses. Run with {@code mvn package exec:exec} from this directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    
+    @Param({"1000", "10000"})
+    public int students;
+    
+    @Param({"100"})
+    public int courses;
+    
+    @Param({"3"})
+    public int coursesPerStudent;
+    
+    @Param({"5"})
+    public int saveCourseIds;
+    
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+    private CourseService courseService;
+    private StudentRepository studentRepository;
+    private CourseRepository courseRepository;
+    private List<Long> courseIds;
+    private Random random;
+    private final AtomicLong sequence = new AtomicLong();
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkData.startApplication();
+        studentService = context.getBean(StudentService.class);
+        courseService = context.getBean(CourseService.class);
+        studentRepository = context.getBean(StudentRepository.class);
+        courseRepository = context.getBean(CourseRepository.class);
+        
+        courseIds = new ArrayList<>();
+        for (Course course : BenchmarkData.seedCourses(context, courses)) {
+            courseIds.add(course.getId());
+        }
+        BenchmarkData.seedStudents(context, students, courses, coursesPerStudent);
+        random = new Random(BenchmarkData.SEED);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<Student> getAllStudents() {
+        return studentService.getAllStudents();
+    }
+    
+    @Benchmark
+    public List<StudentCourseDTO> getStudentsWithCourses() {
+        return studentService.getStudentsWithCourses();
+    }
+    
+    @Benchmark
+    public Student saveStudentWithCourses() {
+        long n = sequence.incrementAndGet();
+        Student student = new Student("Saved Student " + n, "saved" + n + "@bench.example", "Computer Science", 1);
+        List<Long> selected = new ArrayList<>(saveCourseIds);
+        for (int i = 0; i < saveCourseIds; i++) {
+            selected.add(courseIds.get(random.nextInt(courseIds.size())));
+        }
+        student.setCourses(new LinkedHashSet<>(courseService.getCoursesByIds(selected)));
+        return studentService.saveStudent(student);
+    }
+    
+    @Benchmark
+    public boolean existsByEmail() {
+        return studentRepository.existsByEmail(BenchmarkData.email(random.nextInt(students)));
+    }
+    
+    @Benchmark
+    public boolean existsByCourseCode() {
+        return courseRepository.existsByCourseCode(BenchmarkData.courseCode(random.nextInt(courses)));
+    }
+}
@@ -0,0 +1,273 @@
+package com.bitspilani.studentcourse.benchmark;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Time to first response: launches the packaged application in a fresh JVM, polls a page until it answers 200,
+ * and reports the time from launch to that response, and how long the answering request itself took (which is
+ * where JSP compilation on first use shows up). Each mode is started several times and the medians reported:
+ * <ul>
+ * <li>jar: {@code java -jar} on the war</li>
+ * <li>exploded: the war unpacked and started from a plain classpath of jars, as the CDS mode needs</li>
+ * <li>cds: exploded, with an AppCDS archive written by a training run that is not counted</li>
+ * </ul>
+ * Build the war once plainly and once with -Pprod (precompiled JSPs) and run both under their own label; rows are
+ * appended to target/startup.csv.
+ *
+ * <pre>
+ * mvn package exec:exec@startup -Dstartup.args="label=prod war=../target/student-course-management-1.0-SNAPSHOT.war"
+ * </pre>
+ */
+public class StartupBenchmark {
+    
+    // Under WEB-INF, so Spring Boot still takes the unpacked war as the document root
+    private static final String APPLICATION_JAR = "WEB-INF/application.jar";
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        Path war = Path.of(options.getOrDefault("war", "../target/student-course-management-1.0-SNAPSHOT.war"))
+            .toAbsolutePath();
+        String label = options.getOrDefault("label", "run");
+        List<String> modes = Arrays.asList(options.getOrDefault("modes", "jar,exploded,cds").split(","));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        int port = Integer.parseInt(options.getOrDefault("port", "18080"));
+        String path = options.getOrDefault("path", "/students");
+        List<String> appArgs = new ArrayList<>(Arrays.asList(
+            options.getOrDefault("appArgs", "--spring.profiles.active=prod").split(" ")));
+        appArgs.add("--server.port=" + port);
+        Path workDir = Path.of(options.getOrDefault("workDir", "target/startup")).toAbsolutePath();
+        Path results = Path.of(options.getOrDefault("out", "target/startup.csv"));
+        
+        if (!Files.exists(war)) {
+            throw new IllegalArgumentException("No war at " + war + "; build it with mvn package first");
+        }
+        Files.createDirectories(workDir);
+        Path exploded = modes.contains("exploded") || modes.contains("cds") ? explode(war, workDir) : null;
+        Path archive = workDir.resolve("app.jsa");
+        URI uri = URI.create("http://localhost:" + port + path);
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+        
+        System.out.printf("%-10s %-9s %5s %14s %14s %14s%n",
+            "label", "mode", "runs", "first resp ms", "min ms", "request ms");
+        for (String mode : modes) {
+            if (mode.equals("cds")) {
+                Files.deleteIfExists(archive);
+                // The training run loads everything a real start does, up to and including the first page
+                start(command(war, exploded, mode, archive, true, appArgs), exploded, workDir, client, uri);
+                if (!Files.exists(archive)) {
+                    throw new IllegalStateException("The training run wrote no CDS archive; see " + workDir);
+                }
+            }
+            long[] firstResponse = new long[runs];
+            long[] request = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                long[] timings = start(command(war, exploded, mode, archive, false, appArgs), exploded, workDir,
+                    client, uri);
+                firstResponse[run] = timings[0];
+                request[run] = timings[1];
+            }
+            System.out.printf("%-10s %-9s %5d %14.0f %14.0f %14.0f%n", label, mode, runs,
+                median(firstResponse), min(firstResponse), median(request));
+            append(results, label, mode, runs, median(firstResponse), min(firstResponse), median(request));
+        }
+    }
+    
+    private static List<String> command(Path war, Path exploded, String mode, Path archive, boolean training,
+                                        List<String> appArgs) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (mode.equals("cds")) {
+            command.add((training ? "-XX:ArchiveClassesAtExit=" : "-XX:SharedArchiveFile=") + archive);
+            command.add("-Xlog:cds=off");
+        }
+        if (mode.equals("jar")) {
+            command.add("-jar");
+            command.add(war.toString());
+        } else {
+            command.add("-cp");
+            command.add(classpath(exploded));
+            command.add(startClass(war));
+        }
+        command.addAll(appArgs);
+        return command;
+    }
+    
+    // Returns {ms from launch to the first 200, ms the answering request took}; the process is stopped after
+    private static long[] start(List<String> command, Path exploded, Path workDir, HttpClient client, URI uri)
+            throws Exception {
+        ProcessBuilder builder = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(workDir.resolve("app.log").toFile());
+        if (exploded != null) {
+            builder.directory(exploded.toFile());
+        }
+        long launched = System.nanoTime();
+        Process process = builder.start();
+        try {
+            long deadline = launched + TimeUnit.MINUTES.toNanos(3);
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("The application exited with " + process.exitValue()
+                        + "; see " + workDir.resolve("app.log"));
+                }
+                long sent = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri)
+                        .timeout(Duration.ofSeconds(60))
+                        .GET()
+                        .build(), HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        long answered = System.nanoTime();
+                        return new long[] {
+                            TimeUnit.NANOSECONDS.toMillis(answered - launched),
+                            TimeUnit.NANOSECONDS.toMillis(answered - sent)};
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No 200 from " + uri + " within 3 minutes");
+        } finally {
+            // A graceful stop, so a training run gets to write its archive on exit
+            process.destroy();
+            if (!process.waitFor(60, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+    
+    private static Path explode(Path war, Path workDir) throws IOException {
+        Path exploded = workDir.resolve("exploded");
+        delete(exploded);
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(war))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                Path target = exploded.resolve(entry.getName()).normalize();
+                if (!target.startsWith(exploded)) {
+                    throw new IOException("Entry outside the war: " + entry.getName());
+                }
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    Files.copy(zip, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        // CDS only accepts jars on the classpath, so the application classes are jarred up in place
+        Path classes = exploded.resolve("WEB-INF/classes");
+        try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(exploded.resolve(APPLICATION_JAR)));
+             Stream<Path> files = Files.walk(classes)) {
+            // Directory entries too, or component scanning finds no packages in the jar
+            for (Path file : files.filter(file -> !file.equals(classes)).sorted().toList()) {
+                String name = classes.relativize(file).toString().replace('\\', '/');
+                if (Files.isDirectory(file)) {
+                    jar.putNextEntry(new JarEntry(name + "/"));
+                } else {
+                    jar.putNextEntry(new JarEntry(name));
+                    Files.copy(file, jar);
+                }
+                jar.closeEntry();
+            }
+        }
+        delete(classes);
+        return exploded;
+    }
+    
+    private static void delete(Path directory) throws IOException {
+        if (Files.exists(directory)) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+    
+    // Classes first, then the jars in a fixed order: a CDS archive only matches the classpath it was written with
+    private static String classpath(Path exploded) throws IOException {
+        List<String> entries = new ArrayList<>();
+        entries.add(exploded.resolve(APPLICATION_JAR).toString());
+        for (String lib : List.of("WEB-INF/lib", "WEB-INF/lib-provided")) {
+            Path directory = exploded.resolve(lib);
+            if (Files.isDirectory(directory)) {
+                try (Stream<Path> jars = Files.list(directory)) {
+                    jars.map(Path::toString).filter(name -> name.endsWith(".jar")).sorted().forEach(entries::add);
+                }
+            }
+        }
+        return String.join(System.getProperty("path.separator"), entries);
+    }
+    
+    private static String startClass(Path war) throws IOException {
+        try (JarFile jar = new JarFile(war.toFile())) {
+            String startClass = jar.getManifest().getMainAttributes().getValue("Start-Class");
+            if (startClass == null) {
+                throw new IOException(war + " is not a Spring Boot war (no Start-Class)");
+            }
+            return startClass;
+        }
+    }
+    
+    private static void append(Path results, String label, String mode, int runs, double firstResponse,
+                               double minFirstResponse, double request) throws IOException {
+        boolean header = !Files.exists(results);
+        Files.createDirectories(results.toAbsolutePath().getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(results,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (header) {
+                writer.println("label,mode,runs,first_response_ms,min_first_response_ms,request_ms");
+            }
+            writer.printf("%s,%s,%d,%.0f,%.0f,%.0f%n", label, mode, runs, firstResponse, minFirstResponse,
+                request);
+        }
+    }
+    
+    private static double median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+    }
+    
+    private static double min(long[] values) {
+        return Arrays.stream(values).min().orElse(0);
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,128 @@
+package com.bitspilani.studentcourse.benchmark;
+
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import com.bitspilani.studentcourse.repository.CourseRepository;
+import com.bitspilani.studentcourse.service.CourseService;
+import com.bitspilani.studentcourse.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the in-memory database with the file-backed persistent profile: how long the application takes to
+ * come up with {@code students} students available (memory mode has to re-seed them on every start, persistent
+ * mode reopens the existing file), and single-student write throughput once running.
+ */
+@Fork(1)
+public class StorageModeBenchmark {
+    
+    @State(Scope.Benchmark)
+    public static class Storage {
+        
+        @Param({"memory", "persistent"})
+        public String mode;
+        
+        @Param({"10000"})
+        public int students;
+        
+        private Path dataDir;
+        
+        @Setup(Level.Trial)
+        public void prepare() throws IOException {
+            dataDir = Files.createTempDirectory("storage-benchmark");
+            if ("persistent".equals(mode)) {
+                // The first start seeds the file; every measured start reopens it
+                start().close();
+            }
+        }
+        
+        @TearDown(Level.Trial)
+        public void cleanUp() throws IOException {
+            FileSystemUtils.deleteRecursively(dataDir);
+        }
+        
+        ConfigurableApplicationContext start() {
+            String profile = "persistent".equals(mode) ? "persistent" : "default";
+            return BenchmarkData.startApplication(
+                "--spring.profiles.active=" + profile,
+                "--app.data-dir=" + dataDir,
+                "--app.seed.students=" + students,
+                "--app.seed.courses=100");
+        }
+    }
+    
+    @State(Scope.Benchmark)
+    public static class Restart {
+        
+        ConfigurableApplicationContext context;
+        
+        @TearDown(Level.Invocation)
+        public void stop() {
+            context.close();
+        }
+    }
+    
+    @State(Scope.Benchmark)
+    public static class Running {
+        
+        private ConfigurableApplicationContext context;
+        private StudentService studentService;
+        private List<Course> courses;
+        private final AtomicLong sequence = new AtomicLong();
+        
+        @Setup(Level.Trial)
+        public void setUp(Storage storage) {
+            context = storage.start();
+            studentService = context.getBean(StudentService.class);
+            courses = context.getBean(CourseService.class).getCoursesByIds(
+                context.getBean(CourseRepository.class).findAll().stream().limit(3).map(Course::getId).toList());
+        }
+        
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public ConfigurableApplicationContext coldStart(Storage storage, Restart restart) {
+        restart.context = storage.start();
+        return restart.context;
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Student saveStudent(Running running) {
+        long n = running.sequence.incrementAndGet();
+        Student student = new Student("Stored Student " + n, "stored" + n + "@bench.example", "Computer Science", 1);
+        student.setCourses(new LinkedHashSet<>(running.courses));
+        return running.studentService.saveStudent(student);
+    }
+}
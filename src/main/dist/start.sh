@@ -0,0 +1,82 @@
+#!/bin/sh
+# Starts the unpacked production build with the AppCDS archive (app.jsa) of the classes a start loads.
+# An archive only works with the JDK that wrote it, so when it is missing or came from another JDK this start
+# is a training run instead: the application runs as usual and writes a new archive when it stops.
+#
+#   start.sh [application arguments]   e.g. start.sh --spring.profiles.active=prod
+#   start.sh --train [port]            start, load one page, stop (the prod build runs this once)
+#
+# JAVA_HOME and JAVA_OPTS are honored. Copy the directory with its timestamps (tar, cp -p): the JVM rejects an
+# archive when the jars look modified.
+set -e
+
+APP_HOME=$(cd "$(dirname "$0")" && pwd)
+cd "$APP_HOME"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+ARCHIVE=app.jsa
+STAMP=app.jsa.jdk
+
+# Relative paths in a fixed order: an archive only matches the classpath it was written with
+CLASSPATH=WEB-INF/application.jar
+for jar in $(LC_ALL=C ls WEB-INF/lib/*.jar WEB-INF/lib-provided/*.jar 2>/dev/null); do
+    CLASSPATH="$CLASSPATH:$jar"
+done
+# Manifest lines wrap at 72 bytes; a continuation starts with a space
+START_CLASS=$(tr -d '\r' < META-INF/MANIFEST.MF |
+    awk '/^Start-Class:/ { sub(/^Start-Class: */, ""); name = $0; more = 1; next }
+         more && /^ / { name = name substr($0, 2); next }
+         { more = 0 }
+         END { print name }')
+JDK=$("$JAVA" -version 2>&1)
+
+fetch() {
+    if command -v curl > /dev/null; then
+        curl -fs -o /dev/null "$1"
+    else
+        wget -q -O /dev/null "$1"
+    fi
+}
+
+if [ "$1" = "--train" ]; then
+    PORT=${2:-18081}
+    rm -f "$ARCHIVE" "$STAMP"
+    # shellcheck disable=SC2086
+    "$JAVA" -XX:ArchiveClassesAtExit="$ARCHIVE" -Xlog:cds=off $JAVA_OPTS -cp "$CLASSPATH" "$START_CLASS" \
+        --spring.profiles.active=prod --server.port="$PORT" > training.log 2>&1 &
+    PID=$!
+    # The first page also loads the classes that serve a request; give up after about three minutes
+    TRIES=0
+    until fetch "http://localhost:$PORT/students"; do
+        TRIES=$((TRIES + 1))
+        if [ "$TRIES" -gt 360 ] || ! kill -0 "$PID" 2> /dev/null; then
+            kill "$PID" 2> /dev/null || true
+            echo "The training run did not answer; see $APP_HOME/training.log" >&2
+            exit 1
+        fi
+        sleep 0.5
+    done
+    # A graceful stop, so the JVM writes the archive on its way out
+    kill "$PID"
+    wait "$PID" || true
+    if [ ! -f "$ARCHIVE" ]; then
+        echo "The training run wrote no archive; see $APP_HOME/training.log" >&2
+        exit 1
+    fi
+    echo "$JDK" > "$STAMP"
+    rm -f training.log
+    exit 0
+fi
+
+if [ -f "$ARCHIVE" ] && [ "$(cat "$STAMP" 2> /dev/null)" = "$JDK" ]; then
+    CDS="-XX:SharedArchiveFile=$ARCHIVE"
+elif [ -w "$APP_HOME" ]; then
+    # Written when this run stops; until then the next start trains again
+    rm -f "$ARCHIVE"
+    echo "$JDK" > "$STAMP"
+    CDS="-XX:ArchiveClassesAtExit=$ARCHIVE -Xlog:cds=off"
+else
+    CDS=
+fi
+
+# shellcheck disable=SC2086
+exec "$JAVA" $CDS $JAVA_OPTS -cp "$CLASSPATH" "$START_CLASS" "$@"
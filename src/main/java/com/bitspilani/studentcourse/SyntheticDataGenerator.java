@@ -0,0 +1,137 @@
+package com.bitspilani.studentcourse;
+
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator for students, courses and enrollments. Every row is derived from the seed and its
+ * own index only, so chunks can be generated on any thread in any order and still produce the same data set.
+ */
+public class SyntheticDataGenerator {
+    
+    static final String[] DEPARTMENTS = {
+        "Computer Science", "Electronics", "Mathematics", "Physics", "Mechanical", "Civil"
+    };
+    private static final String[] DEPARTMENT_CODES = {"CS", "EE", "MA", "PH", "ME", "CE"};
+    private static final String[][] SUBJECTS = {
+        {"Programming", "Data Structures", "Algorithms", "Databases", "Operating Systems", "Networks", "Machine Learning"},
+        {"Digital Electronics", "Signals and Systems", "Circuit Theory", "Microprocessors", "VLSI Design"},
+        {"Calculus", "Linear Algebra", "Probability", "Discrete Mathematics", "Numerical Methods"},
+        {"Mechanics", "Thermodynamics", "Electromagnetism", "Quantum Physics", "Optics"},
+        {"Engineering Drawing", "Fluid Mechanics", "Heat Transfer", "Machine Design", "Manufacturing"},
+        {"Structural Analysis", "Surveying", "Geotechnics", "Transportation", "Hydraulics"}
+    };
+    private static final String[] LEVELS = {"Introduction to", "Foundations of", "Applied", "Advanced", "Topics in"};
+    private static final String[] FIRST_NAMES = {
+        "Rahul", "Priya", "Amit", "Neha", "Vikas", "Anjali", "Rohan", "Kavita", "Sanjay", "Deepika",
+        "Arjun", "Meera", "Karan", "Pooja", "Aditya", "Sneha", "Nikhil", "Divya", "Varun", "Isha"
+    };
+    private static final String[] LAST_NAMES = {
+        "Sharma", "Patel", "Kumar", "Singh", "Verma", "Desai", "Gupta", "Reddy", "Mehta", "Iyer",
+        "Nair", "Joshi", "Rao", "Chopra", "Bose", "Malhotra", "Pillai", "Kapoor", "Das", "Menon"
+    };
+    // Share of a student's enrollments drawn from their own department's courses
+    private static final double OWN_DEPARTMENT_SHARE = 0.7;
+    
+    private final long seed;
+    private final int courseCount;
+    private final int minCoursesPerStudent;
+    private final int maxCoursesPerStudent;
+    private final double[] globalPopularity;
+    private final int[][] departmentCourses;
+    private final double[][] departmentPopularity;
+    
+    public SyntheticDataGenerator(long seed, int courseCount, int minCoursesPerStudent, int maxCoursesPerStudent) {
+        this.seed = seed;
+        this.courseCount = courseCount;
+        this.minCoursesPerStudent = Math.min(minCoursesPerStudent, courseCount);
+        this.maxCoursesPerStudent = Math.max(this.minCoursesPerStudent, Math.min(maxCoursesPerStudent, courseCount));
+        
+        // Zipf-like popularity: a few core courses are taken by many students, electives by few
+        this.globalPopularity = cumulativeZipf(courseCount);
+        this.departmentCourses = new int[DEPARTMENTS.length][];
+        this.departmentPopularity = new double[DEPARTMENTS.length][];
+        for (int d = 0; d < DEPARTMENTS.length; d++) {
+            int size = courseCount / DEPARTMENTS.length + (d < courseCount % DEPARTMENTS.length ? 1 : 0);
+            departmentCourses[d] = new int[size];
+            for (int rank = 0; rank < size; rank++) {
+                departmentCourses[d][rank] = rank * DEPARTMENTS.length + d;
+            }
+            departmentPopularity[d] = cumulativeZipf(size);
+        }
+    }
+    
+    public Course course(int index) {
+        int department = index % DEPARTMENTS.length;
+        int rank = index / DEPARTMENTS.length;
+        String[] subjects = SUBJECTS[department];
+        String subject = subjects[rank % subjects.length];
+        String level = LEVELS[(rank / subjects.length) % LEVELS.length];
+        String code = DEPARTMENT_CODES[department] + (101 + rank);
+        int credits = 2 + random(index, 1).nextInt(3);
+        return new Course(code, level + " " + subject, credits, DEPARTMENTS[department] + " course " + code);
+    }
+    
+    public Student student(int index) {
+        SplittableRandom random = random(index, 2);
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String email = first.toLowerCase() + "." + last.toLowerCase() + "." + index + "@example.com";
+        return new Student(first + " " + last, email, DEPARTMENTS[departmentOf(index)], 1 + random.nextInt(8));
+    }
+    
+    public int[] courseIndexesFor(int studentIndex) {
+        if (courseCount == 0) {
+            return new int[0];
+        }
+        SplittableRandom random = random(studentIndex, 3);
+        int wanted = minCoursesPerStudent + random.nextInt(maxCoursesPerStudent - minCoursesPerStudent + 1);
+        int department = departmentOf(studentIndex);
+        int[] picked = new int[wanted];
+        int count = 0;
+        int attempts = 0;
+        while (count < wanted && attempts++ < wanted * 20) {
+            int candidate = departmentCourses[department].length > 0 && random.nextDouble() < OWN_DEPARTMENT_SHARE
+                ? departmentCourses[department][sample(departmentPopularity[department], random)]
+                : sample(globalPopularity, random);
+            if (!contains(picked, count, candidate)) {
+                picked[count++] = candidate;
+            }
+        }
+        return Arrays.copyOf(picked, count);
+    }
+    
+    private int departmentOf(int studentIndex) {
+        return random(studentIndex, 4).nextInt(DEPARTMENTS.length);
+    }
+    
+    private SplittableRandom random(int index, int stream) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index * 31L + stream);
+    }
+    
+    private static int sample(double[] cumulative, SplittableRandom random) {
+        int position = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+        return Math.min(position >= 0 ? position : -position - 1, cumulative.length - 1);
+    }
+    
+    private static double[] cumulativeZipf(int size) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1.0 / (rank + 1);
+            cumulative[rank] = total;
+        }
+        return cumulative;
+    }
+    
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,57 @@
+package com.bitspilani.studentcourse.actuator;
+
+import com.bitspilani.studentcourse.dto.AggregateMismatch;
+import com.bitspilani.studentcourse.service.CourseService;
+import com.bitspilani.studentcourse.service.StudentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consistency check and rebuild for the maintained enrollment aggregates (course headcounts and student credit
+ * totals): {@code GET /actuator/aggregates} lists rows that disagree with the join table, {@code POST} rebuilds.
+ */
+@Component
+@Endpoint(id = "aggregates")
+public class EnrollmentAggregatesEndpoint {
+    
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentAggregatesEndpoint.class);
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @ReadOperation
+    public Map<String, Object> check() {
+        List<AggregateMismatch> courses = courseService.findEnrolledCountMismatches();
+        List<AggregateMismatch> students = studentService.findTotalCreditMismatches();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("consistent", courses.isEmpty() && students.isEmpty());
+        report.put("courseHeadcounts", courses);
+        report.put("studentCredits", students);
+        return report;
+    }
+    
+    @WriteOperation
+    public Map<String, Integer> rebuild() {
+        int courses = courseService.rebuildEnrolledCounts();
+        int students = studentService.rebuildTotalCredits();
+        if (courses > 0 || students > 0) {
+            log.warn("Rebuilt enrollment aggregates: corrected {} course headcounts and {} student credit totals",
+                courses, students);
+        }
+        Map<String, Integer> corrected = new LinkedHashMap<>();
+        corrected.put("courseHeadcounts", courses);
+        corrected.put("studentCredits", students);
+        return corrected;
+    }
+}
@@ -0,0 +1,423 @@
+package com.bitspilani.studentcourse.analytics;
+
+import com.bitspilani.studentcourse.dto.CourseCredits;
+import com.bitspilani.studentcourse.dto.CoursePair;
+import com.bitspilani.studentcourse.dto.DepartmentSemesterCount;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable columnar copy of the enrollment data for analytics. Students and courses are numbered densely and
+ * their attributes are kept in primitive columns, with departments dictionary-encoded. Enrollments are stored
+ * twice as compressed sparse rows, once by student and once by course, so a group-by is a parallel scan over int
+ * arrays and never touches the database. A new snapshot comes from a Builder, which applies changes on top of
+ * the previous one.
+ */
+public final class EnrollmentSnapshot {
+    
+    private static final Comparator<int[]> PAIR_ORDER = Comparator.<int[]>comparingInt(pair -> -pair[2])
+        .thenComparingInt(pair -> pair[0])
+        .thenComparingInt(pair -> pair[1]);
+    
+    private final String[] departments;
+    private final int studentCount;
+    // -1 for deleted students
+    private final int[] studentDepartment;
+    private final int[] studentSemester;
+    private final int maxSemester;
+    private final int courseCount;
+    // null for deleted courses
+    private final String[] courseCodes;
+    private final String[] courseNames;
+    private final int[] courseCredits;
+    // Student s takes studentCourses[studentStart[s]] up to (not including) studentCourses[studentStart[s + 1]]
+    private final int[] studentStart;
+    private final int[] studentCourses;
+    private final int[] courseStart;
+    private final int[] courseStudents;
+    
+    private EnrollmentSnapshot(String[] departments, int[] studentDepartment, int[] studentSemester,
+                               String[] courseCodes, String[] courseNames, int[] courseCredits,
+                               int[] studentStart, int[] studentCourses) {
+        this.departments = departments;
+        this.studentCount = studentDepartment.length;
+        this.studentDepartment = studentDepartment;
+        this.studentSemester = studentSemester;
+        this.maxSemester = Arrays.stream(studentSemester).max().orElse(0);
+        this.courseCount = courseCodes.length;
+        this.courseCodes = courseCodes;
+        this.courseNames = courseNames;
+        this.courseCredits = courseCredits;
+        this.studentStart = studentStart;
+        this.studentCourses = studentCourses;
+        
+        // Counting sort of the student rows by course; each course's students come out in ascending order
+        this.courseStart = new int[courseCount + 1];
+        for (int course : studentCourses) {
+            courseStart[course + 1]++;
+        }
+        for (int c = 0; c < courseCount; c++) {
+            courseStart[c + 1] += courseStart[c];
+        }
+        this.courseStudents = new int[studentCourses.length];
+        int[] next = Arrays.copyOf(courseStart, courseCount);
+        for (int s = 0; s < studentCount; s++) {
+            for (int i = studentStart[s]; i < studentStart[s + 1]; i++) {
+                courseStudents[next[studentCourses[i]]++] = s;
+            }
+        }
+    }
+    
+    public int getEnrollmentCount() {
+        return studentCourses.length;
+    }
+    
+    public int getStudentCount() {
+        return studentCount;
+    }
+    
+    public int getCourseCount() {
+        return courseCount;
+    }
+    
+    // One row per department and semester with any students; department null means all departments
+    public List<DepartmentSemesterCount> enrollmentsByDepartmentAndSemester(String department) {
+        int only = departmentFilter(department);
+        if (only == -2) {
+            return List.of();
+        }
+        int semesters = maxSemester + 1;
+        // Two counters per cell: students, then enrollments
+        long[] cells = IntStream.range(0, studentCount).parallel().collect(
+            () -> new long[departments.length * semesters * 2],
+            (counts, s) -> {
+                int d = studentDepartment[s];
+                if (d >= 0 && (only < 0 || d == only)) {
+                    int cell = (d * semesters + studentSemester[s]) * 2;
+                    counts[cell]++;
+                    counts[cell + 1] += studentStart[s + 1] - studentStart[s];
+                }
+            },
+            EnrollmentSnapshot::addInto);
+        
+        List<DepartmentSemesterCount> rows = new ArrayList<>();
+        for (int d = 0; d < departments.length; d++) {
+            for (int semester = 0; semester < semesters; semester++) {
+                int cell = (d * semesters + semester) * 2;
+                if (cells[cell] > 0) {
+                    rows.add(new DepartmentSemesterCount(departments[d], semester, cells[cell], cells[cell + 1]));
+                }
+            }
+        }
+        rows.sort(Comparator.comparing(DepartmentSemesterCount::getDepartment,
+                Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingInt(DepartmentSemesterCount::getSemester));
+        return rows;
+    }
+    
+    // Courses by credit hours taught (enrollments times credits), highest first
+    public List<CourseCredits> creditsByCourse(String department, int limit) {
+        int only = departmentFilter(department);
+        if (only == -2) {
+            return List.of();
+        }
+        int[] enrollments;
+        if (only < 0) {
+            enrollments = new int[courseCount];
+            for (int c = 0; c < courseCount; c++) {
+                enrollments[c] = courseStart[c + 1] - courseStart[c];
+            }
+        } else {
+            enrollments = IntStream.range(0, studentCount).parallel()
+                .filter(s -> studentDepartment[s] == only)
+                .collect(() -> new int[courseCount], (counts, s) -> {
+                    for (int i = studentStart[s]; i < studentStart[s + 1]; i++) {
+                        counts[studentCourses[i]]++;
+                    }
+                }, EnrollmentSnapshot::addInto);
+        }
+        return IntStream.range(0, courseCount)
+            .filter(c -> enrollments[c] > 0)
+            .mapToObj(c -> new CourseCredits(courseCodes[c], courseNames[c], courseCredits[c], enrollments[c],
+                (long) enrollments[c] * courseCredits[c]))
+            .sorted(Comparator.comparingLong(CourseCredits::getCreditHours).reversed()
+                .thenComparing(CourseCredits::getCourseCode))
+            .limit(limit)
+            .toList();
+    }
+    
+    /**
+     * The course pairs taken together by the most students. Each course counts its co-enrollments with
+     * higher-numbered courses in parallel and keeps only its own top pairs, since any pair in the overall top
+     * {@code limit} is also among the top {@code limit} of its first course.
+     */
+    public List<CoursePair> popularCoursePairs(String department, int limit) {
+        int only = departmentFilter(department);
+        if (only == -2) {
+            return List.of();
+        }
+        ThreadLocal<PairCounts> workspaces = ThreadLocal.withInitial(() -> new PairCounts(courseCount));
+        return IntStream.range(0, courseCount).parallel()
+            .mapToObj(c -> topPairsOf(c, only, limit, workspaces.get()))
+            .flatMap(List::stream)
+            .sorted(PAIR_ORDER)
+            .limit(limit)
+            .map(pair -> new CoursePair(courseCodes[pair[0]], courseCodes[pair[1]], pair[2]))
+            .toList();
+    }
+    
+    private List<int[]> topPairsOf(int first, int only, int limit, PairCounts workspace) {
+        int[] counts = workspace.counts;
+        int[] touched = workspace.touched;
+        int touchedCount = 0;
+        for (int i = courseStart[first]; i < courseStart[first + 1]; i++) {
+            int s = courseStudents[i];
+            if (only >= 0 && studentDepartment[s] != only) {
+                continue;
+            }
+            // Each student's courses are sorted, so the ones after first are at the end of the row
+            for (int j = studentStart[s + 1] - 1; j >= studentStart[s] && studentCourses[j] > first; j--) {
+                if (counts[studentCourses[j]]++ == 0) {
+                    touched[touchedCount++] = studentCourses[j];
+                }
+            }
+        }
+        // Count in the high half, so larger means more students (then lower second course); the best limit of
+        // them are kept in ascending order, which is cheaper than sorting every pair
+        long[] best = new long[Math.min(limit, touchedCount)];
+        int kept = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int second = touched[i];
+            long ranked = ((long) counts[second] << 32) | (Integer.MAX_VALUE - second);
+            counts[second] = 0;
+            if (kept < best.length || ranked > best[0]) {
+                int at = kept < best.length ? kept++ : 0;
+                while (at > 0 && best[at - 1] > ranked) {
+                    best[at] = best[at - 1];
+                    at--;
+                }
+                while (at < kept - 1 && best[at + 1] < ranked) {
+                    best[at] = best[at + 1];
+                    at++;
+                }
+                best[at] = ranked;
+            }
+        }
+        List<int[]> pairs = new ArrayList<>(kept);
+        for (long ranked : best) {
+            pairs.add(new int[] {first, Integer.MAX_VALUE - (int) ranked, (int) (ranked >>> 32)});
+        }
+        return pairs;
+    }
+    
+    // -1 for no filter, -2 for a department nobody is in
+    private int departmentFilter(String department) {
+        if (department == null) {
+            return -1;
+        }
+        int index = Arrays.asList(departments).indexOf(department);
+        return index < 0 ? -2 : index;
+    }
+    
+    private static void addInto(long[] total, long[] part) {
+        for (int i = 0; i < total.length; i++) {
+            total[i] += part[i];
+        }
+    }
+    
+    private static void addInto(int[] total, int[] part) {
+        for (int i = 0; i < total.length; i++) {
+            total[i] += part[i];
+        }
+    }
+    
+    /**
+     * Collects students, courses and enrollments by database id, then builds a snapshot. After a build, the
+     * builder keeps the snapshot as its base, so later changes only add to it: build copies the small per-student
+     * and per-course columns and merges the changed enrollments into the base rows. Changes are idempotent and
+     * last-one-wins, so replaying changes the base already contains is harmless. Not thread-safe.
+     */
+    public static final class Builder {
+        
+        private final Map<Long, Integer> studentIndex = new HashMap<>();
+        private final Map<Long, Integer> courseIndex = new HashMap<>();
+        private final Map<String, Integer> departmentIndex = new HashMap<>();
+        private final List<String> departments = new ArrayList<>();
+        private int studentCount;
+        private int[] studentDepartment = new int[16];
+        private int[] studentSemester = new int[16];
+        private int courseCount;
+        private String[] courseCodes = new String[16];
+        private String[] courseNames = new String[16];
+        private int[] courseCredits = new int[16];
+        
+        private EnrollmentSnapshot base;
+        private int addedCount;
+        private int[] addedStudents = new int[16];
+        private int[] addedCourses = new int[16];
+        private final Set<Long> dropped = new HashSet<>();
+        private boolean changed = true;
+        
+        public void putStudent(long id, String department, Integer semester) {
+            Integer index = studentIndex.get(id);
+            if (index == null) {
+                index = studentCount++;
+                studentIndex.put(id, index);
+                studentDepartment = grow(studentDepartment, studentCount);
+                studentSemester = grow(studentSemester, studentCount);
+            }
+            studentDepartment[index] = departmentIndex.computeIfAbsent(department, key -> {
+                departments.add(key);
+                return departments.size() - 1;
+            });
+            studentSemester[index] = semester == null ? 0 : Math.max(semester, 0);
+            changed = true;
+        }
+        
+        // Deleted students keep their number, so no other row moves; they have no department and no enrollments
+        public void removeStudent(long id) {
+            Integer index = studentIndex.get(id);
+            if (index != null) {
+                studentDepartment[index] = -1;
+                changed = true;
+            }
+        }
+        
+        public void putCourse(long id, String code, String name, Integer credits) {
+            Integer index = courseIndex.get(id);
+            if (index == null) {
+                index = courseCount++;
+                courseIndex.put(id, index);
+                if (courseCount > courseCodes.length) {
+                    courseCodes = Arrays.copyOf(courseCodes, courseCount * 2);
+                    courseNames = Arrays.copyOf(courseNames, courseCount * 2);
+                }
+                courseCredits = grow(courseCredits, courseCount);
+            }
+            courseCodes[index] = code;
+            courseNames[index] = name;
+            courseCredits[index] = credits == null ? 0 : credits;
+            changed = true;
+        }
+        
+        public void removeCourse(long id) {
+            Integer index = courseIndex.get(id);
+            if (index != null) {
+                courseCodes[index] = null;
+                changed = true;
+            }
+        }
+        
+        // Ignored unless both the student and the course are known
+        public void addEnrollment(long studentId, long courseId) {
+            Integer student = studentIndex.get(studentId);
+            Integer course = courseIndex.get(courseId);
+            if (student == null || course == null) {
+                return;
+            }
+            dropped.remove(key(student, course));
+            addedCount++;
+            addedStudents = grow(addedStudents, addedCount);
+            addedCourses = grow(addedCourses, addedCount);
+            addedStudents[addedCount - 1] = student;
+            addedCourses[addedCount - 1] = course;
+            changed = true;
+        }
+        
+        public void dropEnrollment(long studentId, long courseId) {
+            Integer student = studentIndex.get(studentId);
+            Integer course = courseIndex.get(courseId);
+            if (student != null && course != null) {
+                dropped.add(key(student, course));
+                changed = true;
+            }
+        }
+        
+        public boolean hasChanges() {
+            return changed;
+        }
+        
+        public EnrollmentSnapshot build() {
+            int[] start = new int[studentCount + 1];
+            forEachLiveEnrollment((s, c) -> start[s + 1]++);
+            for (int s = 0; s < studentCount; s++) {
+                start[s + 1] += start[s];
+            }
+            int[] courses = new int[start[studentCount]];
+            int[] next = Arrays.copyOf(start, studentCount);
+            forEachLiveEnrollment((s, c) -> courses[next[s]++] = c);
+            
+            // Sort each student's row and drop enrollments that were both in the base and added again
+            int[] compactStart = new int[studentCount + 1];
+            int size = 0;
+            for (int s = 0; s < studentCount; s++) {
+                Arrays.sort(courses, start[s], start[s + 1]);
+                for (int i = start[s]; i < start[s + 1]; i++) {
+                    if (i == start[s] || courses[i] != courses[i - 1]) {
+                        courses[size++] = courses[i];
+                    }
+                }
+                compactStart[s + 1] = size;
+            }
+            
+            base = new EnrollmentSnapshot(departments.toArray(new String[0]),
+                Arrays.copyOf(studentDepartment, studentCount), Arrays.copyOf(studentSemester, studentCount),
+                Arrays.copyOf(courseCodes, courseCount), Arrays.copyOf(courseNames, courseCount),
+                Arrays.copyOf(courseCredits, courseCount), compactStart, Arrays.copyOf(courses, size));
+            addedCount = 0;
+            dropped.clear();
+            changed = false;
+            return base;
+        }
+        
+        private void forEachLiveEnrollment(EnrollmentConsumer consumer) {
+            if (base != null) {
+                for (int s = 0; s < base.studentCount; s++) {
+                    for (int i = base.studentStart[s]; i < base.studentStart[s + 1]; i++) {
+                        acceptIfLive(consumer, s, base.studentCourses[i]);
+                    }
+                }
+            }
+            for (int i = 0; i < addedCount; i++) {
+                acceptIfLive(consumer, addedStudents[i], addedCourses[i]);
+            }
+        }
+        
+        private void acceptIfLive(EnrollmentConsumer consumer, int student, int course) {
+            if (studentDepartment[student] >= 0 && courseCodes[course] != null
+                    && (dropped.isEmpty() || !dropped.contains(key(student, course)))) {
+                consumer.accept(student, course);
+            }
+        }
+        
+        private static long key(int student, int course) {
+            return ((long) student << 32) | course;
+        }
+        
+        private static int[] grow(int[] array, int size) {
+            return size > array.length ? Arrays.copyOf(array, size * 2) : array;
+        }
+    }
+    
+    // Per-thread scratch space for counting one course's pairs
+    private static final class PairCounts {
+        private final int[] counts;
+        private final int[] touched;
+        
+        private PairCounts(int courseCount) {
+            this.counts = new int[courseCount];
+            this.touched = new int[courseCount];
+        }
+    }
+    
+    private interface EnrollmentConsumer {
+        void accept(int student, int course);
+    }
+}
@@ -0,0 +1,19 @@
+package com.bitspilani.studentcourse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.analytics")
+public class AnalyticsProperties {
+    
+    // 0 refreshes only on demand
+    private long refreshIntervalMillis = 1000;
+    
+    // Getters and Setters
+    public long getRefreshIntervalMillis() {
+        return refreshIntervalMillis;
+    }
+    
+    public void setRefreshIntervalMillis(long refreshIntervalMillis) {
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+}
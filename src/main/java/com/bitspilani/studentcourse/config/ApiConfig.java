@@ -0,0 +1,37 @@
+package com.bitspilani.studentcourse.config;
+
+import com.bitspilani.studentcourse.controller.DataVersionEtagInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ApiConfig implements WebMvcConfigurer {
+    
+    @Autowired
+    private DataVersionEtagInterceptor dataVersionEtagInterceptor;
+    
+    // Students and courses are tagged by data version before the query runs
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(dataVersionEtagInterceptor)
+            .addPathPatterns("/api/v1/students", "/api/v1/students/**", "/api/v1/courses", "/api/v1/courses/**");
+    }
+    
+    // ETags for the other GET responses under /api (search, timetables, analytics, change events), hashed from
+    // the rendered body. Weak, because gzip (server.compression) changes the bytes on the wire but not the
+    // representation
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> apiEtagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setName("apiEtagFilter");
+        return registration;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bitspilani.studentcourse.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+// Ordered ahead of the transaction advice: cache hits never open a transaction,
+// and evictions run only after the write has committed
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+    
+    public static final String COURSE_CATALOG = "courseCatalog";
+    public static final String COURSE_PAGES = "coursePages";
+    public static final String COURSES = "courses";
+}
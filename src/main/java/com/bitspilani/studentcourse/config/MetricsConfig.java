@@ -0,0 +1,28 @@
+package com.bitspilani.studentcourse.config;
+
+import com.bitspilani.studentcourse.metrics.SqlStatementCounter;
+import com.bitspilani.studentcourse.metrics.SqlStatementMetricsInterceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+    
+    @Autowired
+    private SqlStatementMetricsInterceptor sqlStatementMetricsInterceptor;
+    
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlStatementMetricsInterceptor);
+    }
+}
@@ -0,0 +1,75 @@
+package com.bitspilani.studentcourse.config;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletRegistration;
+import org.apache.jasper.compiler.JspUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.servlet.ServletContextInitializer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maps every JSP that the build precompiled (mvn -Pprod package) straight to its servlet class, loaded at
+ * startup, so the first request for a view neither translates nor compiles it. Class names follow Jasper's own
+ * naming, which is what JspC generates. JSPs without a precompiled class are left to Jasper, which compiles them
+ * on first use as before; in a plain build that is all of them.
+ */
+@Component
+public class PrecompiledJspInitializer implements ServletContextInitializer {
+    
+    // Jasper's default for generated servlets, used by both JspC and runtime compilation
+    private static final String JSP_PACKAGE = "org.apache.jsp";
+    // After Spring Boot's JSP servlet (3), whose startup sets up the JSP runtime
+    private static final int LOAD_ON_STARTUP = 4;
+    private static final Logger log = LoggerFactory.getLogger(PrecompiledJspInitializer.class);
+    
+    @Override
+    public void onStartup(ServletContext servletContext) {
+        ClassLoader classLoader = servletContext.getClassLoader();
+        List<String> jsps = new ArrayList<>();
+        collectJsps(servletContext, "/", jsps);
+        int mapped = 0;
+        for (String jsp : jsps) {
+            String className = servletClassName(jsp);
+            if (ClassUtils.isPresent(className, classLoader)) {
+                ServletRegistration.Dynamic servlet = servletContext.addServlet(className, className);
+                servlet.addMapping(jsp);
+                servlet.setLoadOnStartup(LOAD_ON_STARTUP);
+                mapped++;
+            }
+        }
+        if (mapped > 0) {
+            log.info("Serving {} of {} JSPs from precompiled classes", mapped, jsps.size());
+        }
+    }
+    
+    private static void collectJsps(ServletContext servletContext, String directory, List<String> jsps) {
+        Set<String> paths = servletContext.getResourcePaths(directory);
+        if (paths == null) {
+            return;
+        }
+        for (String path : paths) {
+            if (path.endsWith("/")) {
+                if (!path.equals("/WEB-INF/lib/") && !path.equals("/WEB-INF/classes/")) {
+                    collectJsps(servletContext, path, jsps);
+                }
+            } else if (path.endsWith(".jsp")) {
+                jsps.add(path);
+            }
+        }
+    }
+    
+    // "/WEB-INF/jsp/students/with-courses.jsp" -> "org.apache.jsp.WEB_002dINF.jsp.students.with_002dcourses_jsp"
+    static String servletClassName(String jsp) {
+        int slash = jsp.lastIndexOf('/');
+        String directory = jsp.substring(1, slash);
+        String packageName = directory.isEmpty()
+            ? JSP_PACKAGE
+            : JSP_PACKAGE + "." + JspUtil.makeJavaPackage(directory);
+        return packageName + "." + JspUtil.makeJavaIdentifier(jsp.substring(slash + 1));
+    }
+}
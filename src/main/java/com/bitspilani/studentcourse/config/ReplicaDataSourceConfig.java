@@ -0,0 +1,89 @@
+package com.bitspilani.studentcourse.config;
+
+import com.bitspilani.studentcourse.datasource.ReadYourWrites;
+import com.bitspilani.studentcourse.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import javax.sql.DataSource;
+
+/**
+ * Opt-in read replica (app.datasource.replica.url). The primary keeps the spring.datasource settings and takes
+ * every write; transactions marked read-only read from the replica pool. Without a replica URL, none of this is
+ * created and Spring Boot's single datasource is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig implements WebMvcConfigurer {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSourceConfig.class);
+    
+    @Autowired
+    private ReplicaProperties replicaProperties;
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+    
+    @Bean
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(ReplicaRoutingDataSource.REPLICA);
+        dataSource.setJdbcUrl(replicaProperties.getUrl());
+        dataSource.setUsername(replicaProperties.getUsername());
+        dataSource.setPassword(replicaProperties.getPassword());
+        dataSource.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+    
+    @Bean
+    public ReadYourWrites readYourWrites() {
+        return new ReadYourWrites(replicaProperties.getReadYourWritesMillis());
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, readYourWrites, meterRegistry);
+        routing.afterPropertiesSet();
+        log.info("Read-only transactions use the replica at {}", replicaProperties.getUrl());
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+    
+    // Hibernate otherwise holds one connection for the whole request (open-in-view), so a write after a read
+    // would run on the replica connection; releasing it after each transaction lets every transaction be routed
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerTransactionCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(readYourWrites());
+    }
+}
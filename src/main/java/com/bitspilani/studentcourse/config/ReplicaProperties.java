@@ -0,0 +1,54 @@
+package com.bitspilani.studentcourse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaProperties {
+    
+    private String url;
+    private String username = "sa";
+    private String password = "";
+    private int maximumPoolSize = 10;
+    private long readYourWritesMillis = 5000;
+    
+    // Getters and Setters
+    public String getUrl() {
+        return url;
+    }
+    
+    public void setUrl(String url) {
+        this.url = url;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public String getPassword() {
+        return password;
+    }
+    
+    public void setPassword(String password) {
+        this.password = password;
+    }
+    
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+    
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+    
+    public long getReadYourWritesMillis() {
+        return readYourWritesMillis;
+    }
+    
+    public void setReadYourWritesMillis(long readYourWritesMillis) {
+        this.readYourWritesMillis = readYourWritesMillis;
+    }
+}
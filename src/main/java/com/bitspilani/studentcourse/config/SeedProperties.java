@@ -0,0 +1,81 @@
+package com.bitspilani.studentcourse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.seed")
+public class SeedProperties {
+    
+    private boolean enabled = true;
+    private int students = 10;
+    private int courses = 10;
+    private long randomSeed = 42L;
+    private int minCoursesPerStudent = 2;
+    private int maxCoursesPerStudent = 4;
+    private int chunkSize = 1000;
+    private int threads = 4;
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getStudents() {
+        return students;
+    }
+    
+    public void setStudents(int students) {
+        this.students = students;
+    }
+    
+    public int getCourses() {
+        return courses;
+    }
+    
+    public void setCourses(int courses) {
+        this.courses = courses;
+    }
+    
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+    
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+    
+    public int getMinCoursesPerStudent() {
+        return minCoursesPerStudent;
+    }
+    
+    public void setMinCoursesPerStudent(int minCoursesPerStudent) {
+        this.minCoursesPerStudent = minCoursesPerStudent;
+    }
+    
+    public int getMaxCoursesPerStudent() {
+        return maxCoursesPerStudent;
+    }
+    
+    public void setMaxCoursesPerStudent(int maxCoursesPerStudent) {
+        this.maxCoursesPerStudent = maxCoursesPerStudent;
+    }
+    
+    public int getChunkSize() {
+        return chunkSize;
+    }
+    
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+    
+    public int getThreads() {
+        return threads;
+    }
+    
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+}
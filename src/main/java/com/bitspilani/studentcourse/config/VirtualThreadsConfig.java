@@ -0,0 +1,44 @@
+package com.bitspilani.studentcourse.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Opt-in mode (app.virtual-threads.enabled=true, Java 21+) that runs every Tomcat request, and therefore every
+ * blocking JDBC call it makes, on its own virtual thread instead of the bounded platform-thread pool.
+ * The build still targets Java 17, so the virtual thread API is looked up reflectively.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+    
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor("tomcat-vt-");
+        log.info("Serving requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+    
+    static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("app.virtual-threads.enabled=true requires Java 21 or newer, "
+                + "but this JVM is " + Runtime.version(), e);
+        }
+    }
+}
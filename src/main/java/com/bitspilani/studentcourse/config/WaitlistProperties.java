@@ -0,0 +1,30 @@
+package com.bitspilani.studentcourse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.waitlist")
+public class WaitlistProperties {
+    
+    // 0 sweeps only once, at startup
+    private long sweepIntervalMillis = 60000;
+    
+    // How long shutdown waits for queued promotions to finish
+    private long shutdownTimeoutMillis = 10000;
+    
+    // Getters and Setters
+    public long getSweepIntervalMillis() {
+        return sweepIntervalMillis;
+    }
+    
+    public void setSweepIntervalMillis(long sweepIntervalMillis) {
+        this.sweepIntervalMillis = sweepIntervalMillis;
+    }
+    
+    public long getShutdownTimeoutMillis() {
+        return shutdownTimeoutMillis;
+    }
+    
+    public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+}
@@ -0,0 +1,45 @@
+package com.bitspilani.studentcourse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.write-behind")
+public class WriteBehindProperties {
+    
+    private boolean enabled = false;
+    private int maxBatchSize = 200;
+    private long flushIntervalMillis = 250;
+    private int maxPending = 10000;
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+    
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+    
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+    
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+    
+    public int getMaxPending() {
+        return maxPending;
+    }
+    
+    public void setMaxPending(int maxPending) {
+        this.maxPending = maxPending;
+    }
+}
@@ -0,0 +1,39 @@
+package com.bitspilani.studentcourse.controller;
+
+import com.bitspilani.studentcourse.dto.CourseCredits;
+import com.bitspilani.studentcourse.dto.CoursePair;
+import com.bitspilani.studentcourse.dto.DepartmentSemesterCount;
+import com.bitspilani.studentcourse.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.List;
+
+// Every breakdown can be narrowed to one department
+@RestController
+@RequestMapping("/api/v1/analytics")
+public class AnalyticsRestController {
+    
+    @Autowired
+    private AnalyticsService analyticsService;
+    
+    @GetMapping("/enrollments")
+    public List<DepartmentSemesterCount> enrollments(
+            @RequestParam(value = "department", required = false) String department) {
+        return analyticsService.enrollmentsByDepartmentAndSemester(department);
+    }
+    
+    @GetMapping("/credits")
+    public List<CourseCredits> credits(@RequestParam(value = "department", required = false) String department,
+                                       @RequestParam(value = "limit", required = false) Integer limit) {
+        return analyticsService.creditsByCourse(department, limit);
+    }
+    
+    @GetMapping("/course-pairs")
+    public List<CoursePair> coursePairs(@RequestParam(value = "department", required = false) String department,
+                                        @RequestParam(value = "limit", required = false) Integer limit) {
+        return analyticsService.popularCoursePairs(department, limit);
+    }
+}
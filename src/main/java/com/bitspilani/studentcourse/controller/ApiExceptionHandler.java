@@ -0,0 +1,58 @@
+package com.bitspilani.studentcourse.controller;
+
+import com.bitspilani.studentcourse.service.CourseFullException;
+import com.bitspilani.studentcourse.service.DuplicateValueException;
+import com.bitspilani.studentcourse.service.NotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Turns service exceptions from the REST API into RFC 7807 problem responses; the JSP controllers keep their own handling
+@RestControllerAdvice(assignableTypes = {
+    StudentRestController.class, CourseRestController.class, SearchRestController.class,
+    ChangeEventRestController.class, TimetableRestController.class, AnalyticsRestController.class})
+public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
+    
+    @Override
+    protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException e, HttpHeaders headers,
+                                                                  HttpStatusCode status, WebRequest request) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        e.getFieldErrors().forEach(error -> errors.putIfAbsent(error.getField(), error.getDefaultMessage()));
+        ProblemDetail problem = e.getBody();
+        problem.setProperty("errors", errors);
+        return handleExceptionInternal(e, problem, headers, status, request);
+    }
+    
+    @ExceptionHandler(NotFoundException.class)
+    public ProblemDetail handleNotFound(NotFoundException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+    
+    // Includes unknown ids inside a request body, such as a student's courseIds
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgument(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+    
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ProblemDetail handleConflict(DataIntegrityViolationException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, DuplicateValueException.messageFor(e));
+    }
+    
+    @ExceptionHandler(CourseFullException.class)
+    public ProblemDetail handleCourseFull(CourseFullException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+        problem.setProperty("courseCodes", e.getCourseCodes());
+        return problem;
+    }
+}
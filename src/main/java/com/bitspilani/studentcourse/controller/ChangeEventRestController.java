@@ -0,0 +1,24 @@
+package com.bitspilani.studentcourse.controller;
+
+import com.bitspilani.studentcourse.dto.ChangeEventBatch;
+import com.bitspilani.studentcourse.service.ChangeEventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/events")
+public class ChangeEventRestController {
+    
+    @Autowired
+    private ChangeEventService changeEventService;
+    
+    // Consumers keep their own offset: start from 0 and pass each batch's nextOffset back as after
+    @GetMapping
+    public ChangeEventBatch read(@RequestParam(value = "after", defaultValue = "0") long after,
+                                 @RequestParam(value = "limit", required = false) Integer limit) {
+        return changeEventService.read(after, limit);
+    }
+}
@@ -1,13 +1,17 @@
 package com.bitspilani.studentcourse.controller;
 
+import com.bitspilani.studentcourse.dto.CourseDTO;
+import com.bitspilani.studentcourse.dto.KeysetPage;
 import com.bitspilani.studentcourse.entity.Course;
 import com.bitspilani.studentcourse.service.CourseService;
+import com.bitspilani.studentcourse.service.DuplicateValueException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import jakarta.validation.Valid;
 
@@ -18,10 +22,34 @@ public class CourseController {
     @Autowired
     private CourseService courseService;
     
+    @Autowired
+    private RenderedPageCache renderedPages;
+    
     @GetMapping
-    public String listCourses(Model model) {
-        model.addAttribute("courses", courseService.getAllCourses());
-        return "courses/list";
+    public String listCourses(@RequestParam(value = "sort", defaultValue = "id") String sort,
+                              @RequestParam(value = "afterKey", required = false) String afterKey,
+                              @RequestParam(value = "afterId", required = false) Long afterId,
+                              @RequestParam(value = "size", required = false) Integer size,
+                              ServletWebRequest webRequest,
+                              Model model,
+                              RedirectAttributes redirectAttributes) {
+        if (renderedPages.checkNotModified(webRequest)) {
+            return null;
+        }
+        if (renderedPages.isRendered(webRequest)) {
+            return RenderedPageCache.view("courses/list");
+        }
+        try {
+            KeysetPage<CourseDTO> page = courseService.getCoursesPage(sort, afterKey, afterId, size);
+            model.addAttribute("courses", page.getItems());
+            model.addAttribute("enrolledCounts", courseService.getEnrolledCounts(
+                page.getItems().stream().map(CourseDTO::getId).toList()));
+            model.addAttribute("page", page);
+            return RenderedPageCache.view("courses/list");
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+            return "redirect:/courses";
+        }
     }
     
     @GetMapping("/new")
@@ -44,7 +72,7 @@ public class CourseController {
             redirectAttributes.addFlashAttribute("successMessage", "Course created successfully!");
             return "redirect:/courses";
         } catch (DataIntegrityViolationException e) {
-            model.addAttribute("errorMessage", "Course code already exists!");
+            model.addAttribute("errorMessage", DuplicateValueException.messageFor(e) + "!");
             return "courses/form";
         } catch (Exception e) {
             model.addAttribute("errorMessage", "An error occurred: " + e.getMessage());
@@ -78,6 +106,9 @@ public class CourseController {
             courseService.updateCourse(course);
             redirectAttributes.addFlashAttribute("successMessage", "Course updated successfully!");
             return "redirect:/courses";
+        } catch (DataIntegrityViolationException e) {
+            model.addAttribute("errorMessage", DuplicateValueException.messageFor(e) + "!");
+            return "courses/edit";
         } catch (Exception e) {
             model.addAttribute("errorMessage", "An error occurred: " + e.getMessage());
             return "courses/edit";
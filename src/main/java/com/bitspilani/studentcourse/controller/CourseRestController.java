@@ -0,0 +1,93 @@
+package com.bitspilani.studentcourse.controller;
+
+import com.bitspilani.studentcourse.dto.CourseDTO;
+import com.bitspilani.studentcourse.dto.CourseDetailsRequest;
+import com.bitspilani.studentcourse.dto.CourseRequest;
+import com.bitspilani.studentcourse.dto.KeysetPage;
+import com.bitspilani.studentcourse.dto.StudentDTO;
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.service.CourseService;
+import com.bitspilani.studentcourse.service.StudentService;
+import com.bitspilani.studentcourse.service.WriteBehindService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import jakarta.validation.Valid;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/courses")
+public class CourseRestController {
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private WriteBehindService writeBehindService;
+    
+    @GetMapping
+    public KeysetPage<CourseDTO> listCourses(@RequestParam(value = "sort", defaultValue = "id") String sort,
+                                             @RequestParam(value = "afterKey", required = false) String afterKey,
+                                             @RequestParam(value = "afterId", required = false) Long afterId,
+                                             @RequestParam(value = "size", required = false) Integer size) {
+        KeysetPage<CourseDTO> page = courseService.getCoursesPage(sort, afterKey, afterId, size);
+        Map<Long, Integer> enrolledCounts = courseService.getEnrolledCounts(
+            page.getItems().stream().map(CourseDTO::getId).toList());
+        return page.map(course -> course.withEnrolledCount(enrolledCounts.get(course.getId())));
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<CourseDTO> getCourse(@PathVariable Long id) {
+        return ResponseEntity.of(courseService.getCourseById(id)
+            .map(course -> course.withEnrolledCount(courseService.getEnrolledCount(id).orElse(null))));
+    }
+    
+    @PostMapping
+    public ResponseEntity<CourseDTO> createCourse(@Valid @RequestBody CourseRequest request) {
+        Course saved = courseService.saveCourse(request.toCourse());
+        return ResponseEntity
+            .created(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(saved.getId()).toUri())
+            .body(CourseDTO.from(saved));
+    }
+    
+    @PutMapping("/{id}")
+    public CourseDTO updateCourse(@PathVariable Long id, @Valid @RequestBody CourseRequest request) {
+        Course course = request.toCourse();
+        course.setId(id);
+        return CourseDTO.from(courseService.updateCourse(course));
+    }
+    
+    // Name and description only; 202 when the edit was queued for write-behind, 204 when it was written, 404 if there is no such course
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> updateCourseDetails(@PathVariable Long id,
+                                                    @Valid @RequestBody CourseDetailsRequest request) {
+        return writeBehindService.updateCourseDetails(request.toCourse(id))
+            ? ResponseEntity.accepted().build()
+            : ResponseEntity.noContent().build();
+    }
+    
+    // Creates or replaces the course with this code
+    @PutMapping("/by-code/{courseCode}")
+    public CourseDTO upsertCourse(@PathVariable String courseCode, @Valid @RequestBody CourseRequest request) {
+        request.setCourseCode(courseCode);
+        return CourseDTO.from(courseService.upsertCourse(request.toCourse()));
+    }
+    
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteCourse(@PathVariable Long id) {
+        courseService.deleteCourse(id);
+    }
+    
+    @GetMapping("/{id}/students")
+    public KeysetPage<StudentDTO> listEnrolledStudents(@PathVariable Long id,
+                                                       @RequestParam(value = "afterId", required = false) Long afterId,
+                                                       @RequestParam(value = "size", required = false) Integer size) {
+        return studentService.getStudentsEnrolledInCourse(id, afterId, size).map(StudentDTO::from);
+    }
+}
@@ -0,0 +1,36 @@
+package com.bitspilani.studentcourse.controller;
+
+import com.bitspilani.studentcourse.service.DataVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * ETags for the student and course API taken from {@link DataVersion} before the handler runs, so a conditional
+ * GET for the current version is answered with a 304 without a query or serialization. The version is read
+ * first, so a write that lands while the body is built only makes the tag older than the body, never newer.
+ * While a read replica may still be catching up, the response is left to {@link ShallowEtagHeaderFilter}.
+ */
+@Component
+public class DataVersionEtagInterceptor implements HandlerInterceptor {
+    
+    @Autowired
+    private DataVersion dataVersion;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) || !dataVersion.isSettled()) {
+            return true;
+        }
+        long version = dataVersion.get();
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // Weak for the same reason as the filter's: gzip changes the bytes but not the representation
+        return !new ServletWebRequest(request, response).checkNotModified("W/\"" + dataVersion.tag(version) + "\"");
+    }
+}
@@ -0,0 +1,72 @@
+package com.bitspilani.studentcourse.controller;
+
+import com.bitspilani.studentcourse.dto.KeysetPage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldsets for the REST API: {@code ?fields=id,name} trims every returned student or course (the items of
+ * a page, the elements of a list, or a single object) to those properties. Page metadata is always kept so the
+ * cursor still works. Without the parameter the DTOs are written directly, with no intermediate tree.
+ */
+@ControllerAdvice(assignableTypes = {
+    StudentRestController.class, CourseRestController.class, SearchRestController.class})
+public class FieldSelectionAdvice implements ResponseBodyAdvice<Object> {
+    
+    public static final String FIELDS_PARAM = "fields";
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+    
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        String fields = request instanceof ServletServerHttpRequest servletRequest
+            ? servletRequest.getServletRequest().getParameter(FIELDS_PARAM)
+            : null;
+        if (fields == null || fields.isBlank() || body == null || body instanceof ProblemDetail) {
+            return body;
+        }
+        Set<String> selected = Arrays.stream(fields.split(","))
+            .map(String::trim)
+            .filter(field -> !field.isEmpty())
+            .collect(Collectors.toSet());
+        JsonNode tree = objectMapper.valueToTree(body);
+        if (body instanceof KeysetPage<?>) {
+            tree.path("items").forEach(item -> retain(item, selected));
+        } else if (body instanceof Collection<?>) {
+            tree.forEach(item -> retain(item, selected));
+        } else {
+            retain(tree, selected);
+        }
+        return tree;
+    }
+    
+    private static void retain(JsonNode node, Set<String> fields) {
+        if (node instanceof ObjectNode object) {
+            object.retain(fields);
+        }
+    }
+}
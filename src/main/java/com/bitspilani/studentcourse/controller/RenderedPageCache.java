@@ -0,0 +1,176 @@
+package com.bitspilani.studentcourse.controller;
+
+import com.bitspilani.studentcourse.service.DataVersion;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.springframework.web.servlet.view.InternalResourceViewResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Rendered HTML of the list pages, kept per URL and {@link DataVersion}, so a repeated page load costs neither a
+ * query nor a render. A controller first calls {@link #checkNotModified}, which answers a conditional GET for the
+ * current version with a bodiless 304, then {@link #isRendered}, and loads its model only when that is false.
+ * Either way it returns {@link #view}, which writes the kept page or renders the JSP and keeps the result. Pages
+ * showing a flash message, and pages read while a replica may still be catching up, are neither tagged nor kept.
+ */
+@Component
+public class RenderedPageCache implements ViewResolver, Ordered {
+    
+    public static final String VIEW_PREFIX = "cached:";
+    public static final String METRIC_NAME = "app.page.cache";
+    
+    private static final int MAX_PAGES = 500;
+    private static final String VERSION_ATTRIBUTE = RenderedPageCache.class.getName() + ".version";
+    private static final String PAGE_ATTRIBUTE = RenderedPageCache.class.getName() + ".page";
+    
+    @Autowired
+    private DataVersion dataVersion;
+    
+    // Absent when the application runs without a web server
+    @Autowired
+    private ObjectProvider<InternalResourceViewResolver> jspViewResolver;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Cache<String, Page> pages = Caffeine.newBuilder().maximumSize(MAX_PAGES).build();
+    private Counter notModified;
+    private Counter hits;
+    private Counter misses;
+    
+    @PostConstruct
+    public void registerMetrics() {
+        notModified = counter("not_modified");
+        hits = counter("hit");
+        misses = counter("miss");
+    }
+    
+    public static String view(String viewName) {
+        return VIEW_PREFIX + viewName;
+    }
+    
+    // True if the client's copy is current and a 304 has been set; the handler then returns null
+    public boolean checkNotModified(ServletWebRequest request) {
+        long version = dataVersion.get();
+        if (!isCacheable(request)) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            return false;
+        }
+        request.setAttribute(VERSION_ATTRIBUTE, version, RequestAttributes.SCOPE_REQUEST);
+        // Any write can change the page, so browsers must ask again every time rather than guess a lifetime
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (request.checkNotModified("\"" + dataVersion.tag(version) + "\"", dataVersion.getChangedAt())) {
+            notModified.increment();
+            return true;
+        }
+        return false;
+    }
+    
+    // True if this page was rendered at the current version; the handler then skips loading its model
+    public boolean isRendered(ServletWebRequest request) {
+        Long version = (Long) request.getAttribute(VERSION_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        Page page = version == null ? null : pages.getIfPresent(key(request.getRequest()));
+        if (page == null || page.version() != version) {
+            misses.increment();
+            return false;
+        }
+        request.setAttribute(PAGE_ATTRIBUTE, page, RequestAttributes.SCOPE_REQUEST);
+        hits.increment();
+        return true;
+    }
+    
+    @Override
+    public View resolveViewName(String viewName, Locale locale) throws Exception {
+        if (!viewName.startsWith(VIEW_PREFIX)) {
+            return null;
+        }
+        View jsp = jspViewResolver.getObject().resolveViewName(viewName.substring(VIEW_PREFIX.length()), locale);
+        return jsp == null ? null : new CachingView(jsp);
+    }
+    
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+    
+    private boolean isCacheable(ServletWebRequest request) {
+        Map<String, ?> flash = RequestContextUtils.getInputFlashMap(request.getRequest());
+        return "GET".equals(request.getRequest().getMethod())
+            && (flash == null || flash.isEmpty())
+            && dataVersion.isSettled();
+    }
+    
+    private Counter counter(String result) {
+        return Counter.builder(METRIC_NAME)
+            .description("List page loads, by whether they were answered with a 304, from a kept page or rendered")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+    
+    private static String key(HttpServletRequest request) {
+        return request.getQueryString() == null
+            ? request.getRequestURI()
+            : request.getRequestURI() + "?" + request.getQueryString();
+    }
+    
+    private record Page(long version, String contentType, byte[] body) {
+    }
+    
+    private class CachingView implements View {
+        
+        private final View jsp;
+        
+        CachingView(View jsp) {
+            this.jsp = jsp;
+        }
+        
+        // Content negotiation only considers views that declare a content type
+        @Override
+        public String getContentType() {
+            return jsp.getContentType();
+        }
+        
+        @Override
+        public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response)
+                throws Exception {
+            if (request.getAttribute(PAGE_ATTRIBUTE) instanceof Page page) {
+                write(page, response);
+                return;
+            }
+            ContentCachingResponseWrapper rendered = new ContentCachingResponseWrapper(response);
+            jsp.render(model, request, rendered);
+            if (request.getAttribute(VERSION_ATTRIBUTE) instanceof Long version
+                    && rendered.getStatus() == HttpServletResponse.SC_OK && dataVersion.isSettled()) {
+                // A slower render of an older version never replaces a newer page
+                pages.asMap().merge(key(request),
+                    new Page(version, rendered.getContentType(), rendered.getContentAsByteArray()),
+                    (kept, fresh) -> fresh.version() >= kept.version() ? fresh : kept);
+            }
+            rendered.copyBodyToResponse();
+        }
+        
+        private void write(Page page, HttpServletResponse response) throws IOException {
+            response.setContentType(page.contentType());
+            response.setContentLength(page.body().length);
+            response.getOutputStream().write(page.body());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.bitspilani.studentcourse.controller;
+
+import com.bitspilani.studentcourse.dto.SearchHit;
+import com.bitspilani.studentcourse.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import java.util.List;
+
+@Controller
+public class SearchController {
+    
+    @Autowired
+    private SearchService searchService;
+    
+    @GetMapping("/search")
+    public String search(@RequestParam(value = "q", defaultValue = "") String query, Model model) {
+        List<SearchHit> hits = searchService.search(query, null, SearchService.MAX_LIMIT);
+        model.addAttribute("query", query);
+        model.addAttribute("students", hits.stream().filter(hit -> SearchService.TYPE_STUDENT.equals(hit.getType())).toList());
+        model.addAttribute("courses", hits.stream().filter(hit -> SearchService.TYPE_COURSE.equals(hit.getType())).toList());
+        return "search";
+    }
+}
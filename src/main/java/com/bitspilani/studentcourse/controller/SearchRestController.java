@@ -0,0 +1,26 @@
+package com.bitspilani.studentcourse.controller;
+
+import com.bitspilani.studentcourse.dto.SearchHit;
+import com.bitspilani.studentcourse.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/search")
+public class SearchRestController {
+    
+    @Autowired
+    private SearchService searchService;
+    
+    // Every term must prefix-match a word, so this also serves typeahead as the user types
+    @GetMapping
+    public List<SearchHit> search(@RequestParam("q") String query,
+                                  @RequestParam(value = "type", required = false) String type,
+                                  @RequestParam(value = "limit", required = false) Integer limit) {
+        return searchService.search(query, type, limit);
+    }
+}
@@ -1,33 +1,83 @@
 package com.bitspilani.studentcourse.controller;
 
+import com.bitspilani.studentcourse.dto.ImportReport;
+import com.bitspilani.studentcourse.dto.KeysetPage;
+import com.bitspilani.studentcourse.dto.StudentCourseDTO;
 import com.bitspilani.studentcourse.entity.Student;
 import com.bitspilani.studentcourse.entity.Course;
 import com.bitspilani.studentcourse.service.StudentService;
 import com.bitspilani.studentcourse.service.CourseService;
+import com.bitspilani.studentcourse.service.DuplicateValueException;
+import com.bitspilani.studentcourse.service.EnrollmentImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/students")
 public class StudentController {
     
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+    
     @Autowired
     private StudentService studentService;
     
     @Autowired
     private CourseService courseService;
     
+    @Autowired
+    private EnrollmentImportService enrollmentImportService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private RenderedPageCache renderedPages;
+    
     @GetMapping
-    public String listStudents(Model model) {
-        model.addAttribute("students", studentService.getAllStudents());
-        return "students/list";
+    public String listStudents(@RequestParam(value = "sort", defaultValue = "id") String sort,
+                               @RequestParam(value = "afterKey", required = false) String afterKey,
+                               @RequestParam(value = "afterId", required = false) Long afterId,
+                               @RequestParam(value = "size", required = false) Integer size,
+                               ServletWebRequest webRequest,
+                               Model model,
+                               RedirectAttributes redirectAttributes) {
+        if (renderedPages.checkNotModified(webRequest)) {
+            return null;
+        }
+        if (renderedPages.isRendered(webRequest)) {
+            return RenderedPageCache.view("students/list");
+        }
+        try {
+            KeysetPage<Student> page = studentService.getStudentsPage(sort, afterKey, afterId, size);
+            model.addAttribute("students", page.getItems());
+            model.addAttribute("page", page);
+            return RenderedPageCache.view("students/list");
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+            return "redirect:/students";
+        }
     }
     
     @GetMapping("/new")
@@ -50,17 +100,14 @@ public class StudentController {
         
         try {
             if (courseIds != null && !courseIds.isEmpty()) {
-                List<Course> courses = courseService.getAllCourses().stream()
-                    .filter(c -> courseIds.contains(c.getId()))
-                    .toList();
-                student.setCourses(courses);
+                student.setCourses(new LinkedHashSet<>(courseService.getCoursesByIds(courseIds)));
             }
             
             studentService.saveStudent(student);
             redirectAttributes.addFlashAttribute("successMessage", "Student created successfully!");
             return "redirect:/students";
         } catch (DataIntegrityViolationException e) {
-            model.addAttribute("errorMessage", "Email already exists!");
+            model.addAttribute("errorMessage", DuplicateValueException.messageFor(e) + "!");
             model.addAttribute("courses", courseService.getAllCourses());
             return "students/form";
         } catch (Exception e) {
@@ -72,9 +119,12 @@ public class StudentController {
     
     @GetMapping("/edit/{id}")
     public String showEditForm(@PathVariable Long id, Model model, RedirectAttributes redirectAttributes) {
-        return studentService.getStudentById(id)
+        return studentService.getStudentWithCoursesById(id)
             .map(student -> {
                 model.addAttribute("student", student);
+                model.addAttribute("selectedCourseIds", student.getCourses().stream()
+                    .map(Course::getId)
+                    .collect(Collectors.toSet()));
                 model.addAttribute("courses", courseService.getAllCourses());
                 return "students/edit";
             })
@@ -91,23 +141,27 @@ public class StudentController {
                                Model model,
                                RedirectAttributes redirectAttributes) {
         if (result.hasErrors()) {
+            model.addAttribute("selectedCourseIds", selectedCourseIds(courseIds));
             model.addAttribute("courses", courseService.getAllCourses());
             return "students/edit";
         }
         
         try {
             if (courseIds != null && !courseIds.isEmpty()) {
-                List<Course> courses = courseService.getAllCourses().stream()
-                    .filter(c -> courseIds.contains(c.getId()))
-                    .toList();
-                student.setCourses(courses);
+                student.setCourses(new LinkedHashSet<>(courseService.getCoursesByIds(courseIds)));
             }
             
             studentService.updateStudent(student);
             redirectAttributes.addFlashAttribute("successMessage", "Student updated successfully!");
             return "redirect:/students";
+        } catch (DataIntegrityViolationException e) {
+            model.addAttribute("errorMessage", DuplicateValueException.messageFor(e) + "!");
+            model.addAttribute("selectedCourseIds", selectedCourseIds(courseIds));
+            model.addAttribute("courses", courseService.getAllCourses());
+            return "students/edit";
         } catch (Exception e) {
             model.addAttribute("errorMessage", "An error occurred: " + e.getMessage());
+            model.addAttribute("selectedCourseIds", selectedCourseIds(courseIds));
             model.addAttribute("courses", courseService.getAllCourses());
             return "students/edit";
         }
@@ -124,9 +178,118 @@ public class StudentController {
         return "redirect:/students";
     }
     
+    @GetMapping("/import")
+    public String showImportForm() {
+        return "students/import";
+    }
+    
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public String importStudents(@RequestParam("file") MultipartFile file,
+                                 @RequestParam(value = "chunkSize", defaultValue = "500") int chunkSize,
+                                 Model model) {
+        if (file.isEmpty()) {
+            model.addAttribute("errorMessage", "Please choose a file to import.");
+            return "students/import";
+        }
+        String filename = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase();
+        EnrollmentImportService.Format format = filename.endsWith(".ndjson") || filename.endsWith(".jsonl")
+            ? EnrollmentImportService.Format.NDJSON
+            : EnrollmentImportService.Format.CSV;
+        try (InputStream input = file.getInputStream()) {
+            model.addAttribute("report", enrollmentImportService.importStudents(input, format, chunkSize));
+        } catch (IOException e) {
+            model.addAttribute("errorMessage", "Could not read the uploaded file: " + e.getMessage());
+        }
+        return "students/import";
+    }
+    
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @ResponseBody
+    public ImportReport importStudentsFromBody(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                               @RequestParam(value = "chunkSize", defaultValue = "500") int chunkSize,
+                                               HttpServletRequest request) throws IOException {
+        EnrollmentImportService.Format format = contentType.startsWith("application/x-ndjson")
+            ? EnrollmentImportService.Format.NDJSON
+            : EnrollmentImportService.Format.CSV;
+        return enrollmentImportService.importStudents(request.getInputStream(), format, chunkSize);
+    }
+    
     @GetMapping("/with-courses")
-    public String listStudentsWithCourses(Model model) {
-        model.addAttribute("studentCourses", studentService.getStudentsWithCourses());
-        return "students/with-courses";
+    public String listStudentsWithCourses(@RequestParam(value = "afterId", required = false) Long afterStudentId,
+                                          @RequestParam(value = "afterKey", required = false) Long afterCourseId,
+                                          @RequestParam(value = "size", required = false) Integer size,
+                                          ServletWebRequest webRequest,
+                                          Model model) {
+        if (renderedPages.checkNotModified(webRequest)) {
+            return null;
+        }
+        if (renderedPages.isRendered(webRequest)) {
+            return RenderedPageCache.view("students/with-courses");
+        }
+        KeysetPage<StudentCourseDTO> page = studentService.getStudentsWithCoursesPage(afterStudentId, afterCourseId, size);
+        model.addAttribute("studentCourses", page.getItems());
+        model.addAttribute("page", page);
+        return RenderedPageCache.view("students/with-courses");
+    }
+    
+    @GetMapping("/with-courses/export")
+    public void exportStudentsWithCourses(@RequestParam(value = "format", defaultValue = "csv") String format,
+                                          HttpServletResponse response) throws IOException {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType(ndjson ? "application/x-ndjson" : "text/csv");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"students-with-courses." + (ndjson ? "ndjson" : "csv") + "\"");
+        
+        PrintWriter writer = response.getWriter();
+        if (!ndjson) {
+            writer.println("studentId,studentName,studentEmail,studentDepartment,studentSemester,"
+                + "courseId,courseCode,courseName,courseCredits");
+        }
+        // Rows are written as they come off the database cursor and flushed in chunks,
+        // so neither the result set nor the response body is held in memory
+        int[] written = {0};
+        studentService.forEachStudentWithCourse(row -> {
+            writer.println(ndjson ? toJsonLine(row) : toCsvLine(row));
+            if (++written[0] % EXPORT_FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        });
+        writer.flush();
+    }
+    
+    private static Set<Long> selectedCourseIds(List<Long> courseIds) {
+        return courseIds == null ? Set.of() : new HashSet<>(courseIds);
+    }
+    
+    private String toJsonLine(StudentCourseDTO row) {
+        try {
+            return objectMapper.writeValueAsString(row);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise export row", e);
+        }
+    }
+    
+    private static String toCsvLine(StudentCourseDTO row) {
+        return String.join(",",
+            String.valueOf(row.getStudentId()),
+            csvField(row.getStudentName()),
+            csvField(row.getStudentEmail()),
+            csvField(row.getStudentDepartment()),
+            String.valueOf(row.getStudentSemester()),
+            String.valueOf(row.getCourseId()),
+            csvField(row.getCourseCode()),
+            csvField(row.getCourseName()),
+            String.valueOf(row.getCourseCredits()));
+    }
+    
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
     }
 }
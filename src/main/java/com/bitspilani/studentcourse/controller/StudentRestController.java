@@ -0,0 +1,136 @@
+package com.bitspilani.studentcourse.controller;
+
+import com.bitspilani.studentcourse.dto.CourseDTO;
+import com.bitspilani.studentcourse.dto.EnrollmentDTO;
+import com.bitspilani.studentcourse.dto.KeysetPage;
+import com.bitspilani.studentcourse.dto.StudentDTO;
+import com.bitspilani.studentcourse.dto.StudentProfileRequest;
+import com.bitspilani.studentcourse.dto.StudentRequest;
+import com.bitspilani.studentcourse.entity.Student;
+import com.bitspilani.studentcourse.service.CourseService;
+import com.bitspilani.studentcourse.service.StudentService;
+import com.bitspilani.studentcourse.service.StudentService.EnrollmentResult;
+import com.bitspilani.studentcourse.service.WriteBehindService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import jakarta.validation.Valid;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/students")
+public class StudentRestController {
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private WriteBehindService writeBehindService;
+    
+    // One keyset page; department or a semester range narrows it, otherwise sort picks the ordering
+    @GetMapping
+    public KeysetPage<StudentDTO> listStudents(@RequestParam(value = "department", required = false) String department,
+                                               @RequestParam(value = "semesterFrom", required = false) Integer semesterFrom,
+                                               @RequestParam(value = "semesterTo", required = false) Integer semesterTo,
+                                               @RequestParam(value = "sort", defaultValue = "id") String sort,
+                                               @RequestParam(value = "afterKey", required = false) String afterKey,
+                                               @RequestParam(value = "afterId", required = false) Long afterId,
+                                               @RequestParam(value = "size", required = false) Integer size) {
+        KeysetPage<Student> page;
+        if (department != null) {
+            page = studentService.getStudentsByDepartment(department, afterId, size);
+        } else if (semesterFrom != null || semesterTo != null) {
+            page = studentService.getStudentsBySemesterRange(semesterFrom, semesterTo, afterKey, afterId, size);
+        } else {
+            page = studentService.getStudentsPage(sort, afterKey, afterId, size);
+        }
+        return page.map(StudentDTO::from);
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<StudentDTO> getStudent(@PathVariable Long id) {
+        return ResponseEntity.of(studentService.getStudentWithCoursesById(id).map(StudentDTO::withCourses));
+    }
+    
+    @PostMapping
+    public ResponseEntity<StudentDTO> createStudent(@Valid @RequestBody StudentRequest request) {
+        Student saved = studentService.saveStudent(withCourses(request.toStudent(), request.getCourseIds()));
+        return ResponseEntity
+            .created(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(saved.getId()).toUri())
+            .body(StudentDTO.from(saved));
+    }
+    
+    // Full replacement: the student's enrollments become exactly courseIds (none if omitted)
+    @PutMapping("/{id}")
+    public StudentDTO updateStudent(@PathVariable Long id, @Valid @RequestBody StudentRequest request) {
+        Student student = withCourses(request.toStudent(), request.getCourseIds());
+        student.setId(id);
+        return StudentDTO.from(studentService.updateStudent(student));
+    }
+    
+    // Profile fields only; 202 when the edit was queued for write-behind, 204 when it was written, 404 if there is no such student
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> updateStudentProfile(@PathVariable Long id,
+                                                     @Valid @RequestBody StudentProfileRequest request) {
+        return writeBehindService.updateStudentProfile(request.toStudent(id))
+            ? ResponseEntity.accepted().build()
+            : ResponseEntity.noContent().build();
+    }
+    
+    // Creates or replaces the student with this email
+    @PutMapping("/by-email/{email}")
+    public StudentDTO upsertStudent(@PathVariable String email, @Valid @RequestBody StudentRequest request) {
+        request.setEmail(email);
+        return StudentDTO.from(studentService.upsertStudent(withCourses(request.toStudent(), request.getCourseIds())));
+    }
+    
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteStudent(@PathVariable Long id) {
+        studentService.deleteStudent(id);
+    }
+    
+    @GetMapping("/{id}/courses")
+    public ResponseEntity<List<CourseDTO>> getEnrolledCourses(@PathVariable Long id) {
+        return ResponseEntity.of(studentService.getStudentWithCoursesById(id)
+            .map(student -> student.getCourses().stream().map(CourseDTO::from).toList()));
+    }
+    
+    // 200 when enrolled (or already was), 202 when the course is full and the student was waitlisted
+    @PutMapping("/{id}/courses/{courseId}")
+    public ResponseEntity<EnrollmentDTO> enroll(@PathVariable Long id, @PathVariable Long courseId) {
+        EnrollmentResult result = studentService.enrollStudent(id, courseId);
+        if (result == EnrollmentResult.WAITLISTED) {
+            return ResponseEntity.accepted().body(new EnrollmentDTO(id, courseId, result.name(),
+                studentService.getWaitlistPosition(id, courseId).orElse(null)));
+        }
+        return ResponseEntity.ok(new EnrollmentDTO(id, courseId, result.name(), null));
+    }
+    
+    // Drops the course, or leaves its waitlist
+    @DeleteMapping("/{id}/courses/{courseId}")
+    public ResponseEntity<Void> drop(@PathVariable Long id, @PathVariable Long courseId) {
+        return studentService.dropCourse(id, courseId)
+            ? ResponseEntity.noContent().build()
+            : ResponseEntity.notFound().build();
+    }
+    
+    @GetMapping("/{id}/courses/{courseId}/waitlist")
+    public ResponseEntity<EnrollmentDTO> getWaitlistPosition(@PathVariable Long id, @PathVariable Long courseId) {
+        return ResponseEntity.of(studentService.getWaitlistPosition(id, courseId)
+            .map(position -> new EnrollmentDTO(id, courseId, EnrollmentResult.WAITLISTED.name(), position)));
+    }
+    
+    private Student withCourses(Student student, List<Long> courseIds) {
+        if (courseIds != null && !courseIds.isEmpty()) {
+            student.setCourses(new LinkedHashSet<>(courseService.getCoursesByIds(courseIds)));
+        }
+        return student;
+    }
+}
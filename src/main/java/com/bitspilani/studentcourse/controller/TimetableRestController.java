@@ -0,0 +1,22 @@
+package com.bitspilani.studentcourse.controller;
+
+import com.bitspilani.studentcourse.dto.Timetable;
+import com.bitspilani.studentcourse.service.TimetableService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/timetable")
+public class TimetableRestController {
+    
+    @Autowired
+    private TimetableService timetableService;
+    
+    // Built from the current enrollments on every call
+    @GetMapping
+    public Timetable timetable() {
+        return timetableService.buildTimetable();
+    }
+}
@@ -0,0 +1,102 @@
+package com.bitspilani.studentcourse.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Keeps a client on the primary for a while after it writes, so it never reads a replica that has not caught up
+ * with its own change yet. A committed write stamps the current thread and, during a request, sets a cookie
+ * carrying the time of the write; later requests with a recent enough cookie read from the primary too. The
+ * window should cover the replica's worst expected lag. Registered as an MVC interceptor to read the cookie.
+ */
+public class ReadYourWrites implements HandlerInterceptor {
+    
+    public static final String COOKIE_NAME = "last-write";
+    
+    private static final ThreadLocal<Long> lastWrite = new ThreadLocal<>();
+    
+    private final long windowMillis;
+    
+    public ReadYourWrites(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+    
+    // Called from inside a write transaction; takes effect once it commits
+    public void recordWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            wrote();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wrote();
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWrites.this);
+            }
+        });
+    }
+    
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+    
+    public boolean isPinnedToPrimary() {
+        Long writtenAt = lastWrite.get();
+        return writtenAt != null && System.currentTimeMillis() - writtenAt < windowMillis;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    try {
+                        lastWrite.set(Long.valueOf(cookie.getValue()));
+                    } catch (NumberFormatException e) {
+                        // Not one of ours; treated as no recent write
+                    }
+                }
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        clear();
+    }
+    
+    // Forgets this thread's last write, as at the end of a request
+    public void clear() {
+        lastWrite.remove();
+    }
+    
+    private void wrote() {
+        long now = System.currentTimeMillis();
+        lastWrite.set(now);
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && attributes.getResponse() != null) {
+            Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(now));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+            HttpServletResponse response = attributes.getResponse();
+            response.addCookie(cookie);
+        }
+    }
+}
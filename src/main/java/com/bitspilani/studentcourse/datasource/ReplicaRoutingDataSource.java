@@ -0,0 +1,51 @@
+package com.bitspilani.studentcourse.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary. A client that
+ * has just written reads from the primary as well (see {@link ReadYourWrites}). The routing decision needs the
+ * transaction's read-only flag, which Spring sets only after the transaction has begun, so this must sit behind a
+ * LazyConnectionDataSourceProxy that fetches the real connection on the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+    public static final String METRIC_NAME = "app.datasource.connections";
+    
+    private final ReadYourWrites readYourWrites;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWrites readYourWrites,
+                                    MeterRegistry meterRegistry) {
+        this.readYourWrites = readYourWrites;
+        this.primaryConnections = counter(meterRegistry, PRIMARY);
+        this.replicaConnections = counter(meterRegistry, REPLICA);
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !readYourWrites.isPinnedToPrimary()) {
+            replicaConnections.increment();
+            return REPLICA;
+        }
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+    
+    private static Counter counter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder(METRIC_NAME)
+            .description("Connections handed out, by the database they went to")
+            .tag("target", target)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.bitspilani.studentcourse.dto;
+
+import java.util.List;
+
+// One row whose maintained aggregate (course headcount or student credit total) disagrees with the join table
+public class AggregateMismatch {
+    private final Long id;
+    private final String key;
+    private final int stored;
+    private final int actual;
+    
+    public AggregateMismatch(Long id, String key, int stored, int actual) {
+        this.id = id;
+        this.key = key;
+        this.stored = stored;
+        this.actual = actual;
+    }
+    
+    // Rows are {id, key, stored, actual} as returned by the repositories' mismatch queries
+    public static List<AggregateMismatch> fromRows(List<Object[]> rows) {
+        return rows.stream()
+            .map(row -> new AggregateMismatch(((Number) row[0]).longValue(), (String) row[1],
+                ((Number) row[2]).intValue(), ((Number) row[3]).intValue()))
+            .toList();
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getKey() {
+        return key;
+    }
+    
+    public int getStored() {
+        return stored;
+    }
+    
+    public int getActual() {
+        return actual;
+    }
+    
+    @Override
+    public String toString() {
+        return key + " (id " + id + "): stored " + stored + ", actual " + actual;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bitspilani.studentcourse.dto;
+
+import java.util.List;
+
+// One read of the change stream: pass nextOffset back to continue after the last event
+public class ChangeEventBatch {
+    private final List<ChangeEventDTO> events;
+    private final long nextOffset;
+    private final boolean hasMore;
+    
+    public ChangeEventBatch(List<ChangeEventDTO> events, long nextOffset, boolean hasMore) {
+        this.events = events;
+        this.nextOffset = nextOffset;
+        this.hasMore = hasMore;
+    }
+    
+    // Getters
+    public List<ChangeEventDTO> getEvents() {
+        return events;
+    }
+    
+    public long getNextOffset() {
+        return nextOffset;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,56 @@
+package com.bitspilani.studentcourse.dto;
+
+import com.bitspilani.studentcourse.entity.ChangeEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.LocalDateTime;
+
+// A published change event; the payload is the JSON stored with it, passed through as is
+public class ChangeEventDTO {
+    private final long position;
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final String eventType;
+    private final String payload;
+    private final LocalDateTime occurredAt;
+    
+    public ChangeEventDTO(long position, String aggregateType, Long aggregateId, String eventType, String payload,
+                          LocalDateTime occurredAt) {
+        this.position = position;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.occurredAt = occurredAt;
+    }
+    
+    public static ChangeEventDTO from(ChangeEvent event) {
+        return new ChangeEventDTO(event.getPosition(), event.getAggregateType(), event.getAggregateId(),
+            event.getEventType(), event.getPayload(), event.getOccurredAt());
+    }
+    
+    // Getters
+    public long getPosition() {
+        return position;
+    }
+    
+    public String getAggregateType() {
+        return aggregateType;
+    }
+    
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    @JsonRawValue
+    public String getPayload() {
+        return payload;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,39 @@
+package com.bitspilani.studentcourse.dto;
+
+// Credit hours a course delivers: its enrollments times its credits
+public class CourseCredits {
+    private final String courseCode;
+    private final String courseName;
+    private final int credits;
+    private final int enrollments;
+    private final long creditHours;
+    
+    public CourseCredits(String courseCode, String courseName, int credits, int enrollments, long creditHours) {
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.credits = credits;
+        this.enrollments = enrollments;
+        this.creditHours = creditHours;
+    }
+    
+    // Getters
+    public String getCourseCode() {
+        return courseCode;
+    }
+    
+    public String getCourseName() {
+        return courseName;
+    }
+    
+    public int getCredits() {
+        return credits;
+    }
+    
+    public int getEnrollments() {
+        return enrollments;
+    }
+    
+    public long getCreditHours() {
+        return creditHours;
+    }
+}
@@ -0,0 +1,69 @@
+package com.bitspilani.studentcourse.dto;
+
+import com.bitspilani.studentcourse.entity.Course;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// API view of a course; null fields (no description, unlimited capacity, headcount not loaded) are left out
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CourseDTO {
+    private final Long id;
+    private final String courseCode;
+    private final String courseName;
+    private final Integer credits;
+    private final String description;
+    private final Integer capacity;
+    private final Integer enrolledCount;
+    
+    public CourseDTO(Long id, String courseCode, String courseName, Integer credits, String description,
+                     Integer capacity, Integer enrolledCount) {
+        this.id = id;
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.credits = credits;
+        this.description = description;
+        this.capacity = capacity;
+        this.enrolledCount = enrolledCount;
+    }
+    
+    public static CourseDTO from(Course course) {
+        return from(course, null);
+    }
+    
+    public static CourseDTO from(Course course, Integer enrolledCount) {
+        return new CourseDTO(course.getId(), course.getCourseCode(), course.getCourseName(), course.getCredits(),
+            course.getDescription(), course.getCapacity(), enrolledCount);
+    }
+    
+    public CourseDTO withEnrolledCount(Integer enrolledCount) {
+        return new CourseDTO(id, courseCode, courseName, credits, description, capacity, enrolledCount);
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public String getCourseCode() {
+        return courseCode;
+    }
+    
+    public String getCourseName() {
+        return courseName;
+    }
+    
+    public Integer getCredits() {
+        return credits;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public Integer getCapacity() {
+        return capacity;
+    }
+    
+    public Integer getEnrolledCount() {
+        return enrolledCount;
+    }
+}
@@ -0,0 +1,37 @@
+package com.bitspilani.studentcourse.dto;
+
+import com.bitspilani.studentcourse.entity.Course;
+import jakarta.validation.constraints.Size;
+
+// Body of the API's course name/description edit; omitted fields are left as they are
+public class CourseDetailsRequest {
+    
+    @Size(min = 2, max = 200, message = "Course name must be between 2 and 200 characters")
+    private String courseName;
+    
+    @Size(max = 500, message = "Description must be at most 500 characters")
+    private String description;
+    
+    public Course toCourse(Long id) {
+        Course course = new Course(null, courseName, null, description);
+        course.setId(id);
+        return course;
+    }
+    
+    // Getters and Setters
+    public String getCourseName() {
+        return courseName;
+    }
+    
+    public void setCourseName(String courseName) {
+        this.courseName = courseName;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,27 @@
+package com.bitspilani.studentcourse.dto;
+
+// Two courses and how many students take both
+public class CoursePair {
+    private final String firstCourseCode;
+    private final String secondCourseCode;
+    private final int students;
+    
+    public CoursePair(String firstCourseCode, String secondCourseCode, int students) {
+        this.firstCourseCode = firstCourseCode;
+        this.secondCourseCode = secondCourseCode;
+        this.students = students;
+    }
+    
+    // Getters
+    public String getFirstCourseCode() {
+        return firstCourseCode;
+    }
+    
+    public String getSecondCourseCode() {
+        return secondCourseCode;
+    }
+    
+    public int getStudents() {
+        return students;
+    }
+}
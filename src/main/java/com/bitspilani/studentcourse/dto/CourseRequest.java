@@ -0,0 +1,74 @@
+package com.bitspilani.studentcourse.dto;
+
+import com.bitspilani.studentcourse.entity.Course;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+// Body of the API's course create, update and upsert calls
+public class CourseRequest {
+    
+    @NotBlank(message = "Course code is required")
+    private String courseCode;
+    
+    @NotBlank(message = "Course name is required")
+    @Size(min = 2, max = 200, message = "Course name must be between 2 and 200 characters")
+    private String courseName;
+    
+    @NotNull(message = "Credits are required")
+    private Integer credits;
+    
+    @Size(max = 500, message = "Description must be at most 500 characters")
+    private String description;
+    
+    @Min(value = 1, message = "Capacity must be at least 1")
+    private Integer capacity;
+    
+    public Course toCourse() {
+        Course course = new Course(courseCode, courseName, credits, description);
+        course.setCapacity(capacity);
+        return course;
+    }
+    
+    // Getters and Setters
+    public String getCourseCode() {
+        return courseCode;
+    }
+    
+    public void setCourseCode(String courseCode) {
+        this.courseCode = courseCode;
+    }
+    
+    public String getCourseName() {
+        return courseName;
+    }
+    
+    public void setCourseName(String courseName) {
+        this.courseName = courseName;
+    }
+    
+    public Integer getCredits() {
+        return credits;
+    }
+    
+    public void setCredits(Integer credits) {
+        this.credits = credits;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Integer getCapacity() {
+        return capacity;
+    }
+    
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+}
@@ -0,0 +1,33 @@
+package com.bitspilani.studentcourse.dto;
+
+// Students of one department and semester, and how many enrollments they hold between them
+public class DepartmentSemesterCount {
+    private final String department;
+    private final int semester;
+    private final long students;
+    private final long enrollments;
+    
+    public DepartmentSemesterCount(String department, int semester, long students, long enrollments) {
+        this.department = department;
+        this.semester = semester;
+        this.students = students;
+        this.enrollments = enrollments;
+    }
+    
+    // Getters
+    public String getDepartment() {
+        return department;
+    }
+    
+    public int getSemester() {
+        return semester;
+    }
+    
+    public long getStudents() {
+        return students;
+    }
+    
+    public long getEnrollments() {
+        return enrollments;
+    }
+}
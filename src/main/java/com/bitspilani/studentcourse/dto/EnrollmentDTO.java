@@ -0,0 +1,36 @@
+package com.bitspilani.studentcourse.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Outcome of an API enrollment: status is ENROLLED, ALREADY_ENROLLED or WAITLISTED (with the queue position)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EnrollmentDTO {
+    private final Long studentId;
+    private final Long courseId;
+    private final String status;
+    private final Long waitlistPosition;
+    
+    public EnrollmentDTO(Long studentId, Long courseId, String status, Long waitlistPosition) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.status = status;
+        this.waitlistPosition = waitlistPosition;
+    }
+    
+    // Getters
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public Long getWaitlistPosition() {
+        return waitlistPosition;
+    }
+}
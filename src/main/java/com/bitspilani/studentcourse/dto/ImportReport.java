@@ -0,0 +1,121 @@
+package com.bitspilani.studentcourse.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+    
+    // Keeps the report itself bounded when a large file is mostly invalid
+    public static final int MAX_REPORTED_ERRORS = 1000;
+    
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private long elapsedMillis;
+    private final List<RowError> errors = new ArrayList<>();
+    private final List<ChunkProgress> chunks = new ArrayList<>();
+    
+    public void addError(long lineNumber, String message) {
+        failedRows++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(lineNumber, message));
+        }
+    }
+    
+    public void addChunk(ChunkProgress chunk) {
+        chunks.add(chunk);
+    }
+    
+    public void addImported(long rows) {
+        importedRows += rows;
+    }
+    
+    public void addTotal(long rows) {
+        totalRows += rows;
+    }
+    
+    public long getRowsPerSecond() {
+        return elapsedMillis == 0 ? importedRows : importedRows * 1000 / elapsedMillis;
+    }
+    
+    public boolean isErrorsTruncated() {
+        return failedRows > errors.size();
+    }
+    
+    // Getters and Setters
+    public long getTotalRows() {
+        return totalRows;
+    }
+    
+    public long getImportedRows() {
+        return importedRows;
+    }
+    
+    public long getFailedRows() {
+        return failedRows;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public List<RowError> getErrors() {
+        return errors;
+    }
+    
+    public List<ChunkProgress> getChunks() {
+        return chunks;
+    }
+    
+    public static class RowError {
+        private final long lineNumber;
+        private final String message;
+        
+        public RowError(long lineNumber, String message) {
+            this.lineNumber = lineNumber;
+            this.message = message;
+        }
+        
+        public long getLineNumber() {
+            return lineNumber;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+    }
+    
+    public static class ChunkProgress {
+        private final int chunkNumber;
+        private final int rows;
+        private final int imported;
+        private final long elapsedMillis;
+        
+        public ChunkProgress(int chunkNumber, int rows, int imported, long elapsedMillis) {
+            this.chunkNumber = chunkNumber;
+            this.rows = rows;
+            this.imported = imported;
+            this.elapsedMillis = elapsedMillis;
+        }
+        
+        public int getChunkNumber() {
+            return chunkNumber;
+        }
+        
+        public int getRows() {
+            return rows;
+        }
+        
+        public int getImported() {
+            return imported;
+        }
+        
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
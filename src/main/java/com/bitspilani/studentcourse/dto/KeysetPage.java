@@ -0,0 +1,85 @@
+package com.bitspilani.studentcourse.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import java.util.function.Function;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KeysetPage<T> {
+    
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    
+    private final List<T> items;
+    private final String sort;
+    private final int size;
+    private final boolean firstPage;
+    private final boolean hasNext;
+    private final String nextAfterKey;
+    private final Long nextAfterId;
+    
+    public KeysetPage(List<T> items, String sort, int size, boolean firstPage,
+                      boolean hasNext, String nextAfterKey, Long nextAfterId) {
+        this.items = items;
+        this.sort = sort;
+        this.size = size;
+        this.firstPage = firstPage;
+        this.hasNext = hasNext;
+        this.nextAfterKey = nextAfterKey;
+        this.nextAfterId = nextAfterId;
+    }
+    
+    public static int clampSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+    
+    public static <T> KeysetPage<T> of(List<T> rows, String sort, int size, boolean firstPage,
+                                       Function<T, String> keyOf, Function<T, Long> idOf) {
+        // Callers fetch size + 1 rows so the extra row tells us whether a next page exists
+        boolean hasNext = rows.size() > size;
+        List<T> items = hasNext ? rows.subList(0, size) : rows;
+        if (items.isEmpty()) {
+            return new KeysetPage<>(items, sort, size, firstPage, false, null, null);
+        }
+        T last = items.get(items.size() - 1);
+        return new KeysetPage<>(items, sort, size, firstPage, hasNext, keyOf.apply(last), idOf.apply(last));
+    }
+    
+    // Same page and cursor with the items converted, e.g. entities to API DTOs
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(items.stream().map(mapper).toList(), sort, size, firstPage,
+            hasNext, nextAfterKey, nextAfterId);
+    }
+    
+    // Getters
+    public List<T> getItems() {
+        return items;
+    }
+    
+    public String getSort() {
+        return sort;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public boolean isFirstPage() {
+        return firstPage;
+    }
+    
+    public boolean isHasNext() {
+        return hasNext;
+    }
+    
+    public String getNextAfterKey() {
+        return nextAfterKey;
+    }
+    
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+}
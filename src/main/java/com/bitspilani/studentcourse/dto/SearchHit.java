@@ -0,0 +1,33 @@
+package com.bitspilani.studentcourse.dto;
+
+// One search result: enough to label a typeahead suggestion and link to the student or course
+public class SearchHit {
+    private final String type;
+    private final Long id;
+    private final String title;
+    private final String detail;
+    
+    public SearchHit(String type, Long id, String title, String detail) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.detail = detail;
+    }
+    
+    // Getters
+    public String getType() {
+        return type;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getDetail() {
+        return detail;
+    }
+}
@@ -0,0 +1,69 @@
+package com.bitspilani.studentcourse.dto;
+
+import com.bitspilani.studentcourse.entity.Student;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+// API view of a student; courses are included only when they were fetched with the student
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentDTO {
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String department;
+    private final Integer semester;
+    private final Integer totalCredits;
+    private final List<CourseDTO> courses;
+    
+    public StudentDTO(Long id, String name, String email, String department, Integer semester,
+                      Integer totalCredits, List<CourseDTO> courses) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.department = department;
+        this.semester = semester;
+        this.totalCredits = totalCredits;
+        this.courses = courses;
+    }
+    
+    // Never touches the lazy course collection
+    public static StudentDTO from(Student student) {
+        return new StudentDTO(student.getId(), student.getName(), student.getEmail(), student.getDepartment(),
+            student.getSemester(), student.getTotalCredits(), null);
+    }
+    
+    public static StudentDTO withCourses(Student student) {
+        return new StudentDTO(student.getId(), student.getName(), student.getEmail(), student.getDepartment(),
+            student.getSemester(), student.getTotalCredits(),
+            student.getCourses().stream().map(CourseDTO::from).toList());
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public String getDepartment() {
+        return department;
+    }
+    
+    public Integer getSemester() {
+        return semester;
+    }
+    
+    public Integer getTotalCredits() {
+        return totalCredits;
+    }
+    
+    public List<CourseDTO> getCourses() {
+        return courses;
+    }
+}
@@ -0,0 +1,49 @@
+package com.bitspilani.studentcourse.dto;
+
+import com.bitspilani.studentcourse.entity.Student;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+// Body of the API's student profile edit; omitted fields are left as they are
+public class StudentProfileRequest {
+    
+    @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
+    private String name;
+    
+    @Size(min = 1, max = 255, message = "Department must not be empty")
+    private String department;
+    
+    @Min(value = 1, message = "Semester must be a positive number")
+    private Integer semester;
+    
+    public Student toStudent(Long id) {
+        Student student = new Student(name, null, department, semester);
+        student.setId(id);
+        return student;
+    }
+    
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getDepartment() {
+        return department;
+    }
+    
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+    
+    public Integer getSemester() {
+        return semester;
+    }
+    
+    public void setSemester(Integer semester) {
+        this.semester = semester;
+    }
+}
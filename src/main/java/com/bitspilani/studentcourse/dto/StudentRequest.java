@@ -0,0 +1,73 @@
+package com.bitspilani.studentcourse.dto;
+
+import com.bitspilani.studentcourse.entity.Student;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+// Body of the API's student create, update and upsert calls; courseIds replaces the student's enrollments
+public class StudentRequest {
+    
+    @NotBlank(message = "Name is required")
+    @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
+    private String name;
+    
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    private String email;
+    
+    @NotBlank(message = "Department is required")
+    private String department;
+    
+    @NotNull(message = "Semester is required")
+    private Integer semester;
+    
+    private List<Long> courseIds;
+    
+    public Student toStudent() {
+        return new Student(name, email, department, semester);
+    }
+    
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getDepartment() {
+        return department;
+    }
+    
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+    
+    public Integer getSemester() {
+        return semester;
+    }
+    
+    public void setSemester(Integer semester) {
+        this.semester = semester;
+    }
+    
+    public List<Long> getCourseIds() {
+        return courseIds;
+    }
+    
+    public void setCourseIds(List<Long> courseIds) {
+        this.courseIds = courseIds;
+    }
+}
@@ -0,0 +1,57 @@
+package com.bitspilani.studentcourse.dto;
+
+import java.util.List;
+
+// Courses grouped into slots so that no student has two courses in the same slot
+public class Timetable {
+    private final int courseCount;
+    private final long conflictCount;
+    private final long elapsedMillis;
+    private final List<Slot> slots;
+    
+    public Timetable(int courseCount, long conflictCount, long elapsedMillis, List<Slot> slots) {
+        this.courseCount = courseCount;
+        this.conflictCount = conflictCount;
+        this.elapsedMillis = elapsedMillis;
+        this.slots = slots;
+    }
+    
+    // Getters
+    public int getSlotCount() {
+        return slots.size();
+    }
+    
+    public int getCourseCount() {
+        return courseCount;
+    }
+    
+    public long getConflictCount() {
+        return conflictCount;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public List<Slot> getSlots() {
+        return slots;
+    }
+    
+    public static class Slot {
+        private final int slot;
+        private final List<String> courseCodes;
+        
+        public Slot(int slot, List<String> courseCodes) {
+            this.slot = slot;
+            this.courseCodes = courseCodes;
+        }
+        
+        public int getSlot() {
+            return slot;
+        }
+        
+        public List<String> getCourseCodes() {
+            return courseCodes;
+        }
+    }
+}
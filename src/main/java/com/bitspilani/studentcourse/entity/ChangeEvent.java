@@ -0,0 +1,76 @@
+package com.bitspilani.studentcourse.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One outbox row: what changed (type and id of the student or course) and its state as JSON
+@Entity
+@Table(name = "change_events")
+public class ChangeEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_event_seq")
+    @SequenceGenerator(name = "change_event_seq", sequenceName = "change_event_seq", allocationSize = 50)
+    private Long id;
+    
+    // Assigned by ChangeEventService when the event is published; null until then
+    private Long position;
+    
+    @Column(name = "aggregate_type", nullable = false)
+    private String aggregateType;
+    
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+    
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+    
+    @Column(nullable = false)
+    private String payload;
+    
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+    
+    public ChangeEvent() {
+    }
+    
+    public ChangeEvent(String aggregateType, Long aggregateId, String eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.occurredAt = LocalDateTime.now();
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getPosition() {
+        return position;
+    }
+    
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+    
+    public String getAggregateType() {
+        return aggregateType;
+    }
+    
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -1,18 +1,21 @@
 package com.bitspilani.studentcourse.entity;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
 @Table(name = "courses")
 public class Course {
     
+    // Pooled sequence (rather than IDENTITY) so Hibernate can hand out ids in memory and batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_seq")
+    @SequenceGenerator(name = "course_seq", sequenceName = "course_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Course code is required")
@@ -30,9 +33,14 @@ public class Course {
     @Column(length = 500)
     private String description;
     
+    // Seat limit; null means unlimited
+    @Min(value = 1, message = "Capacity must be at least 1")
+    private Integer capacity;
+    
+    // Inverse side, read-only in practice: enrollments are changed through Student.addCourse/removeCourse
     @ManyToMany(mappedBy = "courses", fetch = FetchType.LAZY)
     @JsonIgnore
-    private List<Student> students = new ArrayList<>();
+    private Set<Student> students = new HashSet<>();
     
     public Course() {
     }
@@ -85,11 +93,38 @@ public class Course {
         this.description = description;
     }
     
-    public List<Student> getStudents() {
+    public Integer getCapacity() {
+        return capacity;
+    }
+    
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+    
+    public Set<Student> getStudents() {
         return students;
     }
     
-    public void setStudents(List<Student> students) {
+    public void setStudents(Set<Student> students) {
         this.students = students;
     }
+    
+    // Same identity rule as Student: by id, final so getReference proxies are never initialised to hash
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Course other)) {
+            return false;
+        }
+        Long id = getId();
+        return id != null && id.equals(other.getId());
+    }
+    
+    @Override
+    public final int hashCode() {
+        Long id = getId();
+        return id != null ? id.hashCode() : System.identityHashCode(this);
+    }
 }
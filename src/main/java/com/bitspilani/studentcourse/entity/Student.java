@@ -4,15 +4,17 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 @Entity
 @Table(name = "students")
 public class Student {
     
+    // Pooled sequence (rather than IDENTITY) so Hibernate can hand out ids in memory and batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_seq")
+    @SequenceGenerator(name = "student_seq", sequenceName = "student_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Name is required")
@@ -31,13 +33,19 @@ public class Student {
     @Column(nullable = false)
     private Integer semester;
     
+    // Sum of enrolled course credits, maintained by the enrollment write paths in StudentService and CourseService
+    @Column(name = "total_credits", nullable = false, insertable = false, updatable = false)
+    private Integer totalCredits = 0;
+    
+    // A Set (not a bag) lets Hibernate insert or delete just the one join row that changed
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "student_course",
         joinColumns = @JoinColumn(name = "student_id"),
         inverseJoinColumns = @JoinColumn(name = "course_id")
     )
-    private List<Course> courses = new ArrayList<>();
+    @OrderBy("courseCode")
+    private Set<Course> courses = new LinkedHashSet<>();
     
     public Student() {
     }
@@ -90,21 +98,44 @@ public class Student {
         this.semester = semester;
     }
     
-    public List<Course> getCourses() {
+    public Integer getTotalCredits() {
+        return totalCredits;
+    }
+    
+    public Set<Course> getCourses() {
         return courses;
     }
     
-    public void setCourses(List<Course> courses) {
+    public void setCourses(Set<Course> courses) {
         this.courses = courses;
     }
     
-    public void addCourse(Course course) {
-        this.courses.add(course);
-        course.getStudents().add(this);
+    // Only the owning side is updated: touching Course.students would load every enrollment of that course
+    public boolean addCourse(Course course) {
+        return this.courses.add(course);
+    }
+    
+    public boolean removeCourse(Course course) {
+        return this.courses.remove(course);
+    }
+    
+    // Identity is the database id. Final and read through getId(), so Hibernate proxies (getReference)
+    // are hashed and compared without being initialised
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Student other)) {
+            return false;
+        }
+        Long id = getId();
+        return id != null && id.equals(other.getId());
     }
     
-    public void removeCourse(Course course) {
-        this.courses.remove(course);
-        course.getStudents().remove(this);
+    @Override
+    public final int hashCode() {
+        Long id = getId();
+        return id != null ? id.hashCode() : System.identityHashCode(this);
     }
 }
@@ -0,0 +1,39 @@
+package com.bitspilani.studentcourse.entity;
+
+import jakarta.persistence.*;
+
+// A student queued for a full course; the smallest id for a course is next in line
+@Entity
+@Table(name = "course_waitlist")
+public class WaitlistEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+    
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+    
+    public WaitlistEntry() {
+    }
+    
+    public WaitlistEntry(Long courseId, Long studentId) {
+        this.courseId = courseId;
+        this.studentId = studentId;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+}
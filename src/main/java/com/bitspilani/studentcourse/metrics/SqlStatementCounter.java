@@ -0,0 +1,34 @@
+package com.bitspilani.studentcourse.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start()} and {@link #stop()}.
+ * Registered as the session factory's statement inspector, so every statement is seen, including lazy loads
+ * triggered while a view renders.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+    
+    private final ThreadLocal<long[]> count = new ThreadLocal<>();
+    
+    @Override
+    public String inspect(String sql) {
+        long[] current = count.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+    
+    public void start() {
+        count.set(new long[1]);
+    }
+    
+    public long stop() {
+        long[] current = count.get();
+        count.remove();
+        return current != null ? current[0] : 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.bitspilani.studentcourse.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Records how many SQL statements each request issued, tagged like http.server.requests
+@Component
+public class SqlStatementMetricsInterceptor implements HandlerInterceptor {
+    
+    public static final String METRIC_NAME = "app.http.sql.statements";
+    
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        sqlStatementCounter.start();
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        long statements = sqlStatementCounter.stop();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC_NAME)
+            .description("SQL statements issued per request")
+            .baseUnit("statements")
+            .tag("method", request.getMethod())
+            .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+            .register(meterRegistry)
+            .record(statements);
+    }
+}
@@ -0,0 +1,27 @@
+package com.bitspilani.studentcourse.repository;
+
+import com.bitspilani.studentcourse.entity.ChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+    
+    // Committed events still waiting for a position, oldest first
+    List<ChangeEvent> findByPositionIsNullOrderByIdAsc(Pageable pageable);
+    
+    // Held until the publishing transaction ends; other publishers, in this instance or another, wait on it
+    @Query(value = "SELECT id FROM change_event_publisher WHERE id = 1 FOR UPDATE", nativeQuery = true)
+    Integer lockPublisher();
+    
+    @Query("SELECT COALESCE(MAX(e.position), 0) FROM ChangeEvent e")
+    long findMaxPosition();
+    
+    // Served by the unique index on position
+    @Query("SELECT e FROM ChangeEvent e WHERE e.position > :after ORDER BY e.position")
+    List<ChangeEvent> findPublishedAfter(@Param("after") long after, Pageable pageable);
+}
@@ -1,10 +1,131 @@
 package com.bitspilani.studentcourse.repository;
 
 import com.bitspilani.studentcourse.entity.Course;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     boolean existsByCourseCode(String courseCode);
+    
+    // Locks the row for the update that follows, so the credits it returns are the ones being replaced
+    @Query(value = "SELECT credits FROM courses WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Integer findCreditsForUpdate(@Param("id") Long id);
+    
+    // Single-statement write: uniqueness is enforced by uk_courses_course_code
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Course c SET c.courseCode = :courseCode, c.courseName = :courseName, c.credits = :credits, " +
+           "c.description = :description, c.capacity = :capacity WHERE c.id = :id")
+    int updateDetails(@Param("id") Long id,
+                      @Param("courseCode") String courseCode,
+                      @Param("courseName") String courseName,
+                      @Param("credits") Integer credits,
+                      @Param("description") String description,
+                      @Param("capacity") Integer capacity);
+    
+    // Inserts the course or updates the row with the same code; read the id back with findIdByCourseCode
+    @Modifying
+    @Query(value = "MERGE INTO courses c " +
+           "USING (VALUES (CAST(:courseCode AS VARCHAR(255)), CAST(:courseName AS VARCHAR(200)), " +
+           "CAST(:credits AS INTEGER), CAST(:description AS VARCHAR(500)), CAST(:capacity AS INTEGER))) " +
+           "v (course_code, course_name, credits, description, capacity) " +
+           "ON c.course_code = v.course_code " +
+           "WHEN MATCHED THEN UPDATE SET course_name = v.course_name, credits = v.credits, " +
+           "description = v.description, capacity = v.capacity " +
+           "WHEN NOT MATCHED THEN INSERT (id, course_code, course_name, credits, description, capacity) " +
+           "VALUES (NEXT VALUE FOR course_seq, v.course_code, v.course_name, v.credits, v.description, v.capacity)",
+           nativeQuery = true)
+    int upsertByCourseCode(@Param("courseCode") String courseCode,
+                           @Param("courseName") String courseName,
+                           @Param("credits") Integer credits,
+                           @Param("description") String description,
+                           @Param("capacity") Integer capacity);
+    
+    @Query("SELECT c.id FROM Course c WHERE c.courseCode = :courseCode")
+    Optional<Long> findIdByCourseCode(@Param("courseCode") String courseCode);
+    
+    // Enrollment headcounts live in courses.enrolled_count, kept out of the (cached) Course entity
+    @Query(value = "SELECT enrolled_count FROM courses WHERE id = :id", nativeQuery = true)
+    Integer findEnrolledCount(@Param("id") Long id);
+    
+    // Each row is {id, enrolledCount}
+    @Query(value = "SELECT id, enrolled_count FROM courses WHERE id IN (:ids)", nativeQuery = true)
+    List<Object[]> findEnrolledCounts(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query(value = "UPDATE courses SET enrolled_count = enrolled_count + :delta WHERE id IN (:courseIds)",
+           nativeQuery = true)
+    int adjustEnrolledCount(@Param("courseIds") Collection<Long> courseIds, @Param("delta") int delta);
+    
+    // Seat claims: each is one atomic check-and-increment on the course row. Direct claims also give way to
+    // students already queued for the course; claimWaitlistedSeat is how the queue itself is served
+    @Modifying
+    @Query(value = "UPDATE courses c SET enrolled_count = enrolled_count + 1 " +
+           "WHERE c.id = :courseId AND (c.capacity IS NULL OR c.enrolled_count < c.capacity) " +
+           "AND NOT EXISTS (SELECT 1 FROM course_waitlist w WHERE w.course_id = c.id)",
+           nativeQuery = true)
+    int claimSeat(@Param("courseId") Long courseId);
+    
+    @Modifying
+    @Query(value = "UPDATE courses SET enrolled_count = enrolled_count + 1 " +
+           "WHERE id = :courseId AND (capacity IS NULL OR enrolled_count < capacity)",
+           nativeQuery = true)
+    int claimWaitlistedSeat(@Param("courseId") Long courseId);
+    
+    // Rows are {id, courseCode, capacity, enrolledCount}; the courses stay locked, taken in id order, until commit
+    @Query(value = "SELECT id, course_code, capacity, enrolled_count FROM courses WHERE id IN (:courseIds) " +
+           "ORDER BY id FOR UPDATE",
+           nativeQuery = true)
+    List<Object[]> findSeatsForUpdate(@Param("courseIds") Collection<Long> courseIds);
+    
+    // Free seats with students still queued: what a promotion lost to a failure, a crash or a shutdown leaves
+    @Query(value = "SELECT c.id FROM courses c WHERE (c.capacity IS NULL OR c.enrolled_count < c.capacity) " +
+           "AND EXISTS (SELECT 1 FROM course_waitlist w WHERE w.course_id = c.id) ORDER BY c.id",
+           nativeQuery = true)
+    List<Long> findCoursesWithSeatsForWaitlist();
+    
+    @Query("SELECT c.courseCode FROM Course c WHERE c.id IN :ids ORDER BY c.courseCode")
+    List<String> findCourseCodes(@Param("ids") Collection<Long> ids);
+    
+    // Rebuild and consistency check against the join table; the rebuild only rewrites rows that drifted
+    @Modifying
+    @Query(value = "UPDATE courses c SET enrolled_count = (" +
+           "SELECT COUNT(*) FROM student_course sc WHERE sc.course_id = c.id) " +
+           "WHERE enrolled_count <> (SELECT COUNT(*) FROM student_course sc WHERE sc.course_id = c.id)",
+           nativeQuery = true)
+    int rebuildEnrolledCounts();
+    
+    // Each row is {id, courseCode, storedCount, actualCount}
+    @Query(value = "SELECT c.id, c.course_code, c.enrolled_count, COUNT(sc.student_id) FROM courses c " +
+           "LEFT JOIN student_course sc ON sc.course_id = c.id " +
+           "GROUP BY c.id, c.course_code, c.enrolled_count " +
+           "HAVING c.enrolled_count <> COUNT(sc.student_id) ORDER BY c.id",
+           nativeQuery = true)
+    List<Object[]> findEnrolledCountMismatches();
+    
+    // Each row is {courseCode, id}; lets bulk loaders resolve codes without loading Course entities
+    @Query("SELECT c.courseCode, c.id FROM Course c")
+    List<Object[]> findAllCodesAndIds();
+    
+    // Keyset (seek) pagination: callers pass the last row of the previous page as the cursor
+    @Query("SELECT c FROM Course c WHERE c.id > :afterId ORDER BY c.id")
+    List<Course> findPageOrderById(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT c FROM Course c WHERE c.courseCode > :afterCode ORDER BY c.courseCode")
+    List<Course> findPageOrderByCourseCode(@Param("afterCode") String afterCode, Pageable pageable);
+    
+    @Query("SELECT c FROM Course c " +
+           "WHERE c.credits > :afterCredits " +
+           "OR (c.credits = :afterCredits AND c.id > :afterId) " +
+           "ORDER BY c.credits, c.id")
+    List<Course> findPageOrderByCredits(@Param("afterCredits") Integer afterCredits,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
 }
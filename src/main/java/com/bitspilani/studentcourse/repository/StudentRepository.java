@@ -2,10 +2,22 @@ package com.bitspilani.studentcourse.repository;
 
 import com.bitspilani.studentcourse.entity.Student;
 import com.bitspilani.studentcourse.dto.StudentCourseDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
@@ -17,5 +29,188 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
            "INNER JOIN s.courses c")
     List<StudentCourseDTO> findAllStudentsWithCourses();
     
+    // Must be consumed inside a transaction and closed; rows are pulled from the JDBC cursor in fetch-size chunks
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.bitspilani.studentcourse.dto.StudentCourseDTO(" +
+           "s.id, s.name, s.email, s.department, s.semester, " +
+           "c.id, c.courseCode, c.courseName, c.credits) " +
+           "FROM Student s " +
+           "INNER JOIN s.courses c " +
+           "ORDER BY s.id, c.id")
+    Stream<StudentCourseDTO> streamAllStudentsWithCourses();
+    
+    // Each row is {studentId, courseId}, grouped by student; same streaming rules as above
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "SELECT student_id, course_id FROM student_course ORDER BY student_id", nativeQuery = true)
+    Stream<Object[]> streamEnrollmentPairs();
+    
+    @Query("SELECT new com.bitspilani.studentcourse.dto.StudentCourseDTO(" +
+           "s.id, s.name, s.email, s.department, s.semester, " +
+           "c.id, c.courseCode, c.courseName, c.credits) " +
+           "FROM Student s " +
+           "INNER JOIN s.courses c " +
+           "WHERE s.id > :afterStudentId " +
+           "OR (s.id = :afterStudentId AND c.id > :afterCourseId) " +
+           "ORDER BY s.id, c.id")
+    List<StudentCourseDTO> findStudentsWithCoursesPage(@Param("afterStudentId") Long afterStudentId,
+                                                       @Param("afterCourseId") Long afterCourseId,
+                                                       Pageable pageable);
+    
     boolean existsByEmail(String email);
+    
+    @Query("SELECT s.email FROM Student s WHERE s.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    // Fetch plan for the edit form, which renders the student's enrollments
+    @EntityGraph(attributePaths = "courses")
+    Optional<Student> findWithCoursesById(Long id);
+    
+    // Serializes enrollment changes per student, so aggregate deltas are applied exactly once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Student s WHERE s.id = :id")
+    Optional<Student> findLockedById(@Param("id") Long id);
+    
+    // Single-statement writes: uniqueness is enforced by uk_students_email, not by a prior existsByEmail round trip
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Student s SET s.name = :name, s.email = :email, s.department = :department, " +
+           "s.semester = :semester WHERE s.id = :id")
+    int updateDetails(@Param("id") Long id,
+                      @Param("name") String name,
+                      @Param("email") String email,
+                      @Param("department") String department,
+                      @Param("semester") Integer semester);
+    
+    // Inserts the student or updates the row with the same email; read the id back with findIdByEmail
+    @Modifying
+    @Query(value = "MERGE INTO students s " +
+           "USING (VALUES (CAST(:email AS VARCHAR(255)), CAST(:name AS VARCHAR(100)), " +
+           "CAST(:department AS VARCHAR(255)), CAST(:semester AS INTEGER))) v (email, name, department, semester) " +
+           "ON s.email = v.email " +
+           "WHEN MATCHED THEN UPDATE SET name = v.name, department = v.department, semester = v.semester " +
+           "WHEN NOT MATCHED THEN INSERT (id, name, email, department, semester) " +
+           "VALUES (NEXT VALUE FOR student_seq, v.name, v.email, v.department, v.semester)",
+           nativeQuery = true)
+    int upsertByEmail(@Param("name") String name,
+                      @Param("email") String email,
+                      @Param("department") String department,
+                      @Param("semester") Integer semester);
+    
+    @Query("SELECT s.id FROM Student s WHERE s.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+    
+    // Enrollment sync for updates and upserts, which diff against findEnrolledCourseIds first
+    @Modifying
+    @Query(value = "DELETE FROM student_course WHERE student_id = :studentId AND course_id IN (:courseIds)",
+           nativeQuery = true)
+    int deleteEnrollments(@Param("studentId") Long studentId, @Param("courseIds") Collection<Long> courseIds);
+    
+    @Modifying
+    @Query(value = "INSERT INTO student_course (student_id, course_id) " +
+           "SELECT :studentId, id FROM courses WHERE id IN (:courseIds)",
+           nativeQuery = true)
+    int insertEnrollments(@Param("studentId") Long studentId, @Param("courseIds") Collection<Long> courseIds);
+    
+    @Modifying
+    @Query(value = "INSERT INTO student_course (student_id, course_id) VALUES (:studentId, :courseId)",
+           nativeQuery = true)
+    int insertEnrollment(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+    
+    @Query(value = "SELECT course_id FROM student_course WHERE student_id = :studentId", nativeQuery = true)
+    List<Long> findEnrolledCourseIds(@Param("studentId") Long studentId);
+    
+    @Query("SELECT COUNT(c) > 0 FROM Student s JOIN s.courses c WHERE s.id = :studentId AND c.id = :courseId")
+    boolean isEnrolled(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+    
+    // Credit totals are recomputed from the student's own enrollments, which is cheap and self-correcting
+    @Modifying
+    @Query(value = "UPDATE students s SET total_credits = COALESCE((" +
+           "SELECT SUM(c.credits) FROM student_course sc JOIN courses c ON c.id = sc.course_id " +
+           "WHERE sc.student_id = s.id), 0) WHERE s.id IN (:studentIds)",
+           nativeQuery = true)
+    int recalculateTotalCredits(@Param("studentIds") Collection<Long> studentIds);
+    
+    @Modifying
+    @Query(value = "UPDATE students s SET total_credits = COALESCE((" +
+           "SELECT SUM(c.credits) FROM student_course sc JOIN courses c ON c.id = sc.course_id " +
+           "WHERE sc.student_id = s.id), 0) " +
+           "WHERE s.id IN (SELECT student_id FROM student_course WHERE course_id = :courseId)",
+           nativeQuery = true)
+    int recalculateTotalCreditsForCourse(@Param("courseId") Long courseId);
+    
+    @Modifying
+    @Query(value = "UPDATE students s SET total_credits = COALESCE((" +
+           "SELECT SUM(c.credits) FROM student_course sc JOIN courses c ON c.id = sc.course_id " +
+           "WHERE sc.student_id = s.id), 0) " +
+           "WHERE total_credits <> COALESCE((" +
+           "SELECT SUM(c.credits) FROM student_course sc JOIN courses c ON c.id = sc.course_id " +
+           "WHERE sc.student_id = s.id), 0)",
+           nativeQuery = true)
+    int rebuildTotalCredits();
+    
+    // Each row is {id, email, storedCredits, actualCredits}
+    @Query(value = "SELECT s.id, s.email, s.total_credits, COALESCE(SUM(c.credits), 0) FROM students s " +
+           "LEFT JOIN student_course sc ON sc.student_id = s.id LEFT JOIN courses c ON c.id = sc.course_id " +
+           "GROUP BY s.id, s.email, s.total_credits " +
+           "HAVING s.total_credits <> COALESCE(SUM(c.credits), 0) ORDER BY s.id",
+           nativeQuery = true)
+    List<Object[]> findTotalCreditMismatches();
+    
+    // Filters below are backed by the (department, id), (semester, id) and (course_id, student_id) indexes
+    @Query("SELECT s FROM Student s WHERE s.department = :department AND s.id > :afterId ORDER BY s.id")
+    List<Student> findByDepartment(@Param("department") String department,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+    
+    @Query("SELECT s FROM Student s " +
+           "WHERE s.semester BETWEEN :fromSemester AND :toSemester " +
+           "AND (s.semester > :afterSemester OR (s.semester = :afterSemester AND s.id > :afterId)) " +
+           "ORDER BY s.semester, s.id")
+    List<Student> findBySemesterRange(@Param("fromSemester") Integer fromSemester,
+                                      @Param("toSemester") Integer toSemester,
+                                      @Param("afterSemester") Integer afterSemester,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+    
+    @Query("SELECT s FROM Student s JOIN s.courses c WHERE c.id = :courseId AND s.id > :afterId ORDER BY s.id")
+    List<Student> findEnrolledInCourse(@Param("courseId") Long courseId,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+    
+    // Rows are {id, name, email, department}, keyset-paged by id; feeds the search index without loading entities
+    @Query("SELECT s.id, s.name, s.email, s.department FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    List<Object[]> findSearchFieldsPage(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Rows are {id, department, semester}; feeds the analytics snapshot, streamed like streamEnrollmentPairs
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.id, s.department, s.semester FROM Student s")
+    Stream<Object[]> streamAnalyticsFields();
+    
+    // Keyset (seek) pagination: callers pass the last row of the previous page as the cursor
+    @Query("SELECT s FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    List<Student> findPageOrderById(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT s FROM Student s " +
+           "WHERE s.department > :afterDepartment " +
+           "OR (s.department = :afterDepartment AND s.id > :afterId) " +
+           "ORDER BY s.department, s.id")
+    List<Student> findPageOrderByDepartment(@Param("afterDepartment") String afterDepartment,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
+    
+    @Query("SELECT s FROM Student s " +
+           "WHERE s.semester > :afterSemester " +
+           "OR (s.semester = :afterSemester AND s.id > :afterId) " +
+           "ORDER BY s.semester, s.id")
+    List<Student> findPageOrderBySemester(@Param("afterSemester") Integer afterSemester,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
 }
@@ -0,0 +1,37 @@
+package com.bitspilani.studentcourse.repository;
+
+import com.bitspilani.studentcourse.entity.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+    
+    Optional<WaitlistEntry> findByCourseIdAndStudentId(Long courseId, Long studentId);
+    
+    // Head of the queue, served through idx_course_waitlist_course_id
+    Optional<WaitlistEntry> findFirstByCourseIdOrderByIdAsc(Long courseId);
+    
+    long countByCourseId(Long courseId);
+    
+    @Query("SELECT DISTINCT w.courseId FROM WaitlistEntry w WHERE w.courseId IN :courseIds")
+    List<Long> findQueuedCourseIds(@Param("courseIds") Collection<Long> courseIds);
+    
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.courseId = :courseId AND w.id <= :id")
+    long findPosition(@Param("courseId") Long courseId, @Param("id") Long id);
+    
+    // Returns 0 when a concurrent promotion already took this entry
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.id = :id")
+    int deleteEntry(@Param("id") Long id);
+    
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.courseId = :courseId AND w.studentId = :studentId")
+    int deleteByCourseIdAndStudentId(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+}
@@ -0,0 +1,77 @@
+package com.bitspilani.studentcourse.schedule;
+
+/**
+ * Undirected graph over courses numbered 0..n-1, where an edge means at least one student takes both courses.
+ * Each course's neighbors are one row of a bit matrix (n * n bits: about 3 MB for 5,000 courses), so adding a
+ * student's courses is a few bit sets and finding a neighbor is a single word test. Not thread-safe while
+ * being built; read-only afterwards.
+ */
+public class ConflictGraph {
+    
+    private final int size;
+    private final int words;
+    private final long[][] adjacency;
+    
+    public ConflictGraph(int size) {
+        this.size = size;
+        this.words = (size + 63) >>> 6;
+        this.adjacency = new long[size][words];
+    }
+    
+    // Every pair of the given courses (one student's enrollments) conflicts
+    public void addClique(int[] vertices, int count) {
+        for (int i = 0; i < count; i++) {
+            long[] row = adjacency[vertices[i]];
+            for (int j = 0; j < count; j++) {
+                int other = vertices[j];
+                if (other != vertices[i]) {
+                    row[other >>> 6] |= 1L << other;
+                }
+            }
+        }
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isAdjacent(int a, int b) {
+        return (adjacency[a][b >>> 6] & (1L << b)) != 0;
+    }
+    
+    public int degree(int vertex) {
+        int degree = 0;
+        for (long word : adjacency[vertex]) {
+            degree += Long.bitCount(word);
+        }
+        return degree;
+    }
+    
+    public long edgeCount() {
+        long ends = 0;
+        for (int v = 0; v < size; v++) {
+            ends += degree(v);
+        }
+        return ends / 2;
+    }
+    
+    // Neighbors of the vertex in ascending order, -1 terminated: next(v, -1) is the first, next(v, u) follows u
+    public int nextNeighbor(int vertex, int after) {
+        int from = after + 1;
+        if (from >= size) {
+            return -1;
+        }
+        long[] row = adjacency[vertex];
+        int index = from >>> 6;
+        long word = row[index] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (index << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == words) {
+                return -1;
+            }
+            word = row[index];
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.bitspilani.studentcourse.schedule;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Parallel greedy coloring (Jones-Plassmann, largest degree first). Each round, every uncolored vertex that
+ * outranks all of its uncolored neighbors (higher degree, then lower number) takes the smallest color none of
+ * its colored neighbors has. Vertices picked in the same round are never adjacent, so each round runs as one
+ * fork/join pass with no locking, and the result matches what a sequential largest-degree-first greedy pass
+ * would usually give.
+ */
+public final class GraphColoring {
+    
+    private static final int SPLIT_THRESHOLD = 64;
+    
+    private GraphColoring() {
+    }
+    
+    // Returns each vertex's color, numbered from 0; adjacent vertices never share one
+    public static int[] color(ConflictGraph graph, ForkJoinPool pool) {
+        int size = graph.size();
+        int[] degrees = new int[size];
+        parallelFor(pool, 0, size, v -> degrees[v] = graph.degree(v));
+        int[] colors = new int[size];
+        Arrays.fill(colors, -1);
+        boolean[] picked = new boolean[size];
+        
+        int[] pending = new int[size];
+        for (int v = 0; v < size; v++) {
+            pending[v] = v;
+        }
+        int pendingCount = size;
+        while (pendingCount > 0) {
+            int[] round = pending;
+            // Two passes so a vertex only ever sees colors from earlier rounds
+            parallelFor(pool, 0, pendingCount, i -> picked[round[i]] = outranksUncoloredNeighbors(
+                graph, degrees, colors, round[i]));
+            parallelFor(pool, 0, pendingCount, i -> {
+                if (picked[round[i]]) {
+                    colors[round[i]] = smallestFreeColor(graph, colors, round[i], degrees[round[i]]);
+                }
+            });
+            int remaining = 0;
+            for (int i = 0; i < pendingCount; i++) {
+                if (colors[round[i]] < 0) {
+                    pending[remaining++] = round[i];
+                }
+            }
+            pendingCount = remaining;
+        }
+        return colors;
+    }
+    
+    private static boolean outranksUncoloredNeighbors(ConflictGraph graph, int[] degrees, int[] colors, int vertex) {
+        for (int u = graph.nextNeighbor(vertex, -1); u >= 0; u = graph.nextNeighbor(vertex, u)) {
+            if (colors[u] < 0 && (degrees[u] > degrees[vertex] || (degrees[u] == degrees[vertex] && u < vertex))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // degree + 1 colors always leave one free
+    private static int smallestFreeColor(ConflictGraph graph, int[] colors, int vertex, int degree) {
+        boolean[] used = new boolean[degree + 1];
+        for (int u = graph.nextNeighbor(vertex, -1); u >= 0; u = graph.nextNeighbor(vertex, u)) {
+            if (colors[u] >= 0 && colors[u] <= degree) {
+                used[colors[u]] = true;
+            }
+        }
+        int color = 0;
+        while (used[color]) {
+            color++;
+        }
+        return color;
+    }
+    
+    private static void parallelFor(ForkJoinPool pool, int from, int to, IntConsumer body) {
+        pool.invoke(new RangeAction(from, to, body));
+    }
+    
+    private static final class RangeAction extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+        
+        private RangeAction(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    body.accept(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeAction(from, middle, body), new RangeAction(middle, to, body));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.bitspilani.studentcourse.search;
+
+import com.bitspilani.studentcourse.dto.SearchHit;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over a few text fields per document. Tokens are kept in a sorted map, so every token
+ * starting with a prefix is one contiguous range; scanning that range does the job of walking a trie. A query
+ * matches documents that have every query term as a token prefix. Results come in typeahead order: whole-word
+ * matches first, then longer completions alphabetically, then by id. Because that order follows the map, a search
+ * stops as soon as it has {@code limit} hits instead of ranking every match. Readers share a lock, and writers
+ * replace one document at a time.
+ */
+public class InvertedIndex {
+    
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern LETTER_DIGIT_BOUNDARY = Pattern.compile("(?<=\\p{L})(?=\\p{N})|(?<=\\p{N})(?=\\p{L})");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    
+    private static final int ESTIMATE_CAP = 1000;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Set<Long>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    
+    // Adds the document, or replaces the tokens and labels it was indexed with before
+    public void put(SearchHit hit, String... fields) {
+        List<String> tokens = new ArrayList<>();
+        for (String field : fields) {
+            tokens.addAll(tokenize(field));
+        }
+        Document document = new Document(hit, tokens.stream().distinct().toArray(String[]::new));
+        lock.writeLock().lock();
+        try {
+            removeLocked(hit.getId());
+            documents.put(hit.getId(), document);
+            for (String token : document.tokens) {
+                postings.computeIfAbsent(token, key -> new TreeSet<>()).add(hit.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public List<SearchHit> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(tokenize(query));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // Walk the narrowest term's range (the longer term when both are too broad to count); the other
+            // terms only filter what it yields
+            String driver = terms.stream()
+                .min(Comparator.comparingInt(this::estimateMatches)
+                    .thenComparing(Comparator.comparingInt(String::length).reversed()))
+                .orElseThrow();
+            terms.remove(driver);
+            List<SearchHit> hits = new ArrayList<>(limit);
+            Set<Long> seen = new HashSet<>();
+            for (Set<Long> ids : prefixRange(driver).values()) {
+                for (Long id : ids) {
+                    Document document = documents.get(id);
+                    if (seen.add(id) && document.matchesAll(terms)) {
+                        hits.add(document.hit);
+                        if (hits.size() == limit) {
+                            return hits;
+                        }
+                    }
+                }
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Lower-cased, accent-free words of the text. Letter/digit runs inside a word are added as tokens of their
+     * own, so "CS101" is also found by "cs" and "101".
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+            .replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        for (String word : NON_WORD.split(normalized)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            tokens.add(word);
+            for (String part : LETTER_DIGIT_BOUNDARY.split(word)) {
+                tokens.add(part);
+            }
+        }
+        return tokens;
+    }
+    
+    private NavigableMap<String, Set<Long>> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+    
+    // Documents matching the prefix, counted only up to a cap so a one-letter term costs no more than a long one
+    private int estimateMatches(String prefix) {
+        int matches = 0;
+        for (Set<Long> ids : prefixRange(prefix).values()) {
+            matches += ids.size();
+            if (matches >= ESTIMATE_CAP) {
+                return ESTIMATE_CAP;
+            }
+        }
+        return matches;
+    }
+    
+    private void removeLocked(Long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.tokens) {
+            Set<Long> ids = postings.get(token);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+    
+    private static final class Document {
+        private final SearchHit hit;
+        private final String[] tokens;
+        
+        private Document(SearchHit hit, String[] tokens) {
+            this.hit = hit;
+            this.tokens = tokens;
+        }
+        
+        private boolean matchesAll(List<String> terms) {
+            for (String term : terms) {
+                if (!hasPrefix(term)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private boolean hasPrefix(String term) {
+            for (String token : tokens) {
+                if (token.startsWith(term)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
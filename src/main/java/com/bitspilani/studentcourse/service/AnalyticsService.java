@@ -0,0 +1,190 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.analytics.EnrollmentSnapshot;
+import com.bitspilani.studentcourse.config.AnalyticsProperties;
+import com.bitspilani.studentcourse.dto.ChangeEventDTO;
+import com.bitspilani.studentcourse.dto.CourseCredits;
+import com.bitspilani.studentcourse.dto.CoursePair;
+import com.bitspilani.studentcourse.dto.DepartmentSemesterCount;
+import com.bitspilani.studentcourse.repository.CourseRepository;
+import com.bitspilani.studentcourse.repository.StudentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Department breakdowns answered from an in-memory {@link EnrollmentSnapshot} instead of the live tables. The
+ * snapshot is loaded once the application is ready, remembering the change event offset it was loaded at. After
+ * that it is refreshed from the change event stream every app.analytics.refresh-interval-millis, so answers
+ * trail the database by up to one interval and a refresh costs as much as the changes since the last one.
+ */
+@Service
+@EnableConfigurationProperties(AnalyticsProperties.class)
+public class AnalyticsService {
+    
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+    
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsService.class);
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private ChangeEventService changeEventService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private AnalyticsProperties properties;
+    
+    private final EnrollmentSnapshot.Builder builder = new EnrollmentSnapshot.Builder();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "analytics-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile EnrollmentSnapshot snapshot = new EnrollmentSnapshot.Builder().build();
+    private long offset;
+    
+    public List<DepartmentSemesterCount> enrollmentsByDepartmentAndSemester(String department) {
+        return snapshot.enrollmentsByDepartmentAndSemester(department);
+    }
+    
+    public List<CourseCredits> creditsByCourse(String department, Integer limit) {
+        return snapshot.creditsByCourse(department, clamp(limit));
+    }
+    
+    public List<CoursePair> popularCoursePairs(String department, Integer limit) {
+        return snapshot.popularCoursePairs(department, clamp(limit));
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        load();
+        if (properties.getRefreshIntervalMillis() > 0) {
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, properties.getRefreshIntervalMillis(),
+                properties.getRefreshIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Applies every change event since the last refresh; a no-op apart from one query when nothing changed.
+     * Refreshes and the initial load take turns on a lock, since both mutate the builder and the offset.
+     */
+    public void refresh() {
+        lock.lock();
+        try {
+            offset = changeEventService.consume(offset, ChangeEventService.MAX_BATCH_SIZE,
+                events -> events.forEach(this::apply));
+            if (builder.hasChanges()) {
+                long start = System.currentTimeMillis();
+                snapshot = builder.build();
+                log.debug("Analytics snapshot rebuilt at offset {} in {} ms", offset,
+                    System.currentTimeMillis() - start);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+    
+    /**
+     * The offset is taken before the tables are read, so any change the load might have missed comes back in the
+     * next refresh. Changes the load already saw are replayed too, which leaves the snapshot as it was. The tables
+     * are read on the primary like the offset: a replica that has not caught up with it would lose those changes
+     * for good.
+     */
+    private void load() {
+        lock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            offset = changeEventService.latestOffset();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try (Stream<Object[]> students = studentRepository.streamAnalyticsFields()) {
+                    students.forEach(row -> builder.putStudent((Long) row[0], (String) row[1], (Integer) row[2]));
+                }
+                courseRepository.findAll().forEach(course -> builder.putCourse(course.getId(),
+                    course.getCourseCode(), course.getCourseName(), course.getCredits()));
+                try (Stream<Object[]> pairs = studentRepository.streamEnrollmentPairs()) {
+                    pairs.forEach(pair -> builder.addEnrollment(((Number) pair[0]).longValue(),
+                        ((Number) pair[1]).longValue()));
+                }
+            });
+            snapshot = builder.build();
+            log.info("Analytics snapshot loaded: {} enrollments in {} ms", snapshot.getEnrollmentCount(),
+                System.currentTimeMillis() - start);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.error("Analytics refresh failed", e);
+        }
+    }
+    
+    private void apply(ChangeEventDTO event) {
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(event.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable change event at position " + event.getPosition(), e);
+        }
+        String type = event.getEventType();
+        if (ChangeEventService.STUDENT_SAVED.equals(type)) {
+            builder.putStudent(payload.get("id").asLong(), text(payload, "department"),
+                payload.hasNonNull("semester") ? payload.get("semester").asInt() : null);
+        } else if (ChangeEventService.STUDENT_DELETED.equals(type)) {
+            builder.removeStudent(event.getAggregateId());
+        } else if (ChangeEventService.COURSE_SAVED.equals(type)) {
+            builder.putCourse(payload.get("id").asLong(), text(payload, "courseCode"), text(payload, "courseName"),
+                payload.hasNonNull("credits") ? payload.get("credits").asInt() : null);
+        } else if (ChangeEventService.COURSE_DELETED.equals(type)) {
+            builder.removeCourse(event.getAggregateId());
+        } else if (ChangeEventService.ENROLLMENT_ADDED.equals(type)) {
+            builder.addEnrollment(payload.get("studentId").asLong(), payload.get("courseId").asLong());
+        } else if (ChangeEventService.ENROLLMENT_DROPPED.equals(type)) {
+            builder.dropEnrollment(payload.get("studentId").asLong(), payload.get("courseId").asLong());
+        }
+    }
+    
+    private static String text(JsonNode payload, String field) {
+        return payload.hasNonNull(field) ? payload.get(field).asText() : null;
+    }
+    
+    private static int clamp(Integer limit) {
+        return limit == null || limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+    }
+}
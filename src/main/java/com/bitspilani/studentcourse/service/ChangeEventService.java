@@ -0,0 +1,204 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.dto.ChangeEventBatch;
+import com.bitspilani.studentcourse.dto.ChangeEventDTO;
+import com.bitspilani.studentcourse.dto.CourseDTO;
+import com.bitspilani.studentcourse.dto.StudentDTO;
+import com.bitspilani.studentcourse.datasource.ReadYourWrites;
+import com.bitspilani.studentcourse.entity.ChangeEvent;
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import com.bitspilani.studentcourse.repository.ChangeEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Append-only outbox of student, course and enrollment changes. Events are inserted by the write paths in the
+ * same transaction as the change, so they exist exactly when the change was committed. Consumers read by
+ * offset: before each read, committed events without a position are numbered in id order by one publisher at a
+ * time, so positions only ever appear in increasing order and a consumer that resumes from its last offset
+ * never skips an event that committed late. Enrollment and waitlist events belong to the student, so events for
+ * one student (whose writes are serialized on its row) arrive in commit order.
+ */
+@Service
+public class ChangeEventService {
+    
+    public static final String AGGREGATE_STUDENT = "STUDENT";
+    public static final String AGGREGATE_COURSE = "COURSE";
+    
+    public static final String STUDENT_SAVED = "STUDENT_SAVED";
+    public static final String STUDENT_DELETED = "STUDENT_DELETED";
+    public static final String COURSE_SAVED = "COURSE_SAVED";
+    public static final String COURSE_DELETED = "COURSE_DELETED";
+    public static final String ENROLLMENT_ADDED = "ENROLLMENT_ADDED";
+    public static final String ENROLLMENT_DROPPED = "ENROLLMENT_DROPPED";
+    public static final String WAITLIST_JOINED = "WAITLIST_JOINED";
+    public static final String WAITLIST_LEFT = "WAITLIST_LEFT";
+    
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 1000;
+    
+    private static final int PUBLISH_BATCH_SIZE = 1000;
+    
+    private final ReentrantLock publishLock = new ReentrantLock();
+    
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private DataVersion dataVersion;
+    
+    // Present only with a read replica; every recorded change counts as a write the client must be able to read
+    @Autowired(required = false)
+    private ReadYourWrites readYourWrites;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void studentSaved(Student student) {
+        record(AGGREGATE_STUDENT, student.getId(), STUDENT_SAVED, new StudentDTO(student.getId(), student.getName(),
+            student.getEmail(), student.getDepartment(), student.getSemester(), null, null));
+    }
+    
+    // Deleting a student also ends its enrollments and waitlist entries; they get no events of their own
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void studentDeleted(Long studentId) {
+        record(AGGREGATE_STUDENT, studentId, STUDENT_DELETED, Map.of("id", studentId));
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void courseSaved(Course course) {
+        record(AGGREGATE_COURSE, course.getId(), COURSE_SAVED, CourseDTO.from(course));
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void courseDeleted(Long courseId) {
+        record(AGGREGATE_COURSE, courseId, COURSE_DELETED, Map.of("id", courseId));
+    }
+    
+    // Also sent when a waitlisted student is given a seat, which ends their waitlist entry
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enrollmentsAdded(Long studentId, Collection<Long> courseIds) {
+        courseIds.forEach(courseId -> recordEnrollment(studentId, courseId, ENROLLMENT_ADDED));
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enrollmentsDropped(Long studentId, Collection<Long> courseIds) {
+        courseIds.forEach(courseId -> recordEnrollment(studentId, courseId, ENROLLMENT_DROPPED));
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void waitlistJoined(Long studentId, Long courseId) {
+        recordEnrollment(studentId, courseId, WAITLIST_JOINED);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void waitlistLeft(Long studentId, Long courseId) {
+        recordEnrollment(studentId, courseId, WAITLIST_LEFT);
+    }
+    
+    /**
+     * Up to limit events after the offset (0 reads from the start), oldest first. Nothing is held between reads:
+     * the consumer decides when to ask for more.
+     */
+    public ChangeEventBatch read(long afterOffset, Integer limit) {
+        int size = limit == null || limit < 1 ? DEFAULT_BATCH_SIZE : Math.min(limit, MAX_BATCH_SIZE);
+        publishPending();
+        List<ChangeEvent> rows = changeEventRepository.findPublishedAfter(afterOffset, PageRequest.of(0, size + 1));
+        boolean hasMore = rows.size() > size;
+        List<ChangeEventDTO> events = (hasMore ? rows.subList(0, size) : rows).stream()
+            .map(ChangeEventDTO::from)
+            .toList();
+        long nextOffset = events.isEmpty() ? afterOffset : events.get(events.size() - 1).getPosition();
+        return new ChangeEventBatch(events, nextOffset, hasMore);
+    }
+    
+    // Position of the newest published event; a consumer that starts here sees only changes made from now on
+    public long latestOffset() {
+        publishPending();
+        return changeEventRepository.findMaxPosition();
+    }
+    
+    /**
+     * Hands every event after the offset to the handler, one batch at a time, and returns the offset to resume
+     * from. The next batch is read only once the handler returns, so a slow consumer just slows the loop down
+     * and never holds more than one batch. If the handler throws, the batch it was given is not counted as read.
+     */
+    public long consume(long afterOffset, int batchSize, Consumer<List<ChangeEventDTO>> handler) {
+        long offset = afterOffset;
+        ChangeEventBatch batch;
+        do {
+            batch = read(offset, batchSize);
+            if (!batch.getEvents().isEmpty()) {
+                handler.accept(batch.getEvents());
+                offset = batch.getNextOffset();
+            }
+        } while (batch.isHasMore());
+        return offset;
+    }
+    
+    /**
+     * One publisher at a time, since each numbers its batch on from the highest position so far: threads of this
+     * instance queue on a lock, and instances sharing the database queue on the publisher row.
+     */
+    private void publishPending() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        publishLock.lock();
+        try {
+            Integer published;
+            do {
+                published = transaction.execute(status -> {
+                    changeEventRepository.lockPublisher();
+                    List<ChangeEvent> pending = changeEventRepository.findByPositionIsNullOrderByIdAsc(
+                        PageRequest.of(0, PUBLISH_BATCH_SIZE));
+                    long position = pending.isEmpty() ? 0 : changeEventRepository.findMaxPosition();
+                    for (ChangeEvent event : pending) {
+                        event.setPosition(++position);
+                    }
+                    return pending.size();
+                });
+            } while (published == PUBLISH_BATCH_SIZE);
+        } finally {
+            publishLock.unlock();
+        }
+    }
+    
+    private void recordEnrollment(Long studentId, Long courseId, String eventType) {
+        Map<String, Long> payload = new LinkedHashMap<>();
+        payload.put("studentId", studentId);
+        payload.put("courseId", courseId);
+        record(AGGREGATE_STUDENT, studentId, eventType, payload);
+    }
+    
+    private void record(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        try {
+            changeEventRepository.save(new ChangeEvent(aggregateType, aggregateId, eventType,
+                objectMapper.writeValueAsString(payload)));
+            dataVersion.changed();
+            if (readYourWrites != null) {
+                readYourWrites.recordWrite();
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " event", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.bitspilani.studentcourse.service;
+
+import java.util.List;
+
+// Thrown when an enrollment would take a course past its capacity; the surrounding transaction rolls back
+public class CourseFullException extends RuntimeException {
+    
+    private final List<String> courseCodes;
+    
+    public CourseFullException(List<String> courseCodes) {
+        super("Course is full: " + String.join(", ", courseCodes));
+        this.courseCodes = courseCodes;
+    }
+    
+    public List<String> getCourseCodes() {
+        return courseCodes;
+    }
+}
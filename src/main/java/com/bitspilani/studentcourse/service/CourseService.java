@@ -1,44 +1,259 @@
 package com.bitspilani.studentcourse.service;
 
+import com.bitspilani.studentcourse.config.CacheConfig;
+import com.bitspilani.studentcourse.dto.AggregateMismatch;
+import com.bitspilani.studentcourse.dto.CourseDTO;
+import com.bitspilani.studentcourse.dto.KeysetPage;
 import com.bitspilani.studentcourse.entity.Course;
 import com.bitspilani.studentcourse.repository.CourseRepository;
+import com.bitspilani.studentcourse.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
+// The caches hold immutable CourseDTOs rather than entities, which would be shared by every request and outlive
+// their session. The cached reads stay in read-write transactions, which always use the primary: a cache fill
+// from a lagging read replica would keep serving the stale row long after the replica caught up
 @Service
 @Transactional
 public class CourseService {
     
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_CODE = "code";
+    public static final String SORT_BY_CREDITS = "credits";
+    
     @Autowired
     private CourseRepository courseRepository;
     
-    public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private SeatAllocator seatAllocator;
+    
+    @Autowired
+    private SearchService searchService;
+    
+    @Autowired
+    private ChangeEventService changeEventService;
+    
+    @Autowired
+    private DataVersion dataVersion;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Cacheable(cacheNames = CacheConfig.COURSE_CATALOG, key = "'all'")
+    public List<CourseDTO> getAllCourses() {
+        return courseRepository.findAll().stream().map(CourseDTO::from).toList();
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.COURSE_PAGES, key = "{#sort, #afterKey, #afterId, #size}")
+    public KeysetPage<CourseDTO> getCoursesPage(String sort, String afterKey, Long afterId, Integer size) {
+        int pageSize = KeysetPage.clampSize(size);
+        boolean firstPage = afterId == null;
+        Long cursorId = firstPage ? 0L : afterId;
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        
+        if (SORT_BY_CODE.equals(sort)) {
+            // Course codes are unique, so the code alone is a stable cursor
+            String cursorCode = firstPage || afterKey == null ? "" : afterKey;
+            List<Course> rows = courseRepository.findPageOrderByCourseCode(cursorCode, limit);
+            return KeysetPage.of(rows, SORT_BY_CODE, pageSize, firstPage, Course::getCourseCode, Course::getId)
+                .map(CourseDTO::from);
+        }
+        if (SORT_BY_CREDITS.equals(sort)) {
+            Integer cursorCredits = firstPage ? Integer.MIN_VALUE : parseIntKey(afterKey);
+            List<Course> rows = courseRepository.findPageOrderByCredits(cursorCredits, cursorId, limit);
+            return KeysetPage.of(rows, SORT_BY_CREDITS, pageSize, firstPage,
+                c -> String.valueOf(c.getCredits()), Course::getId).map(CourseDTO::from);
+        }
+        List<Course> rows = courseRepository.findPageOrderById(cursorId, limit);
+        return KeysetPage.of(rows, SORT_BY_ID, pageSize, firstPage, c -> null, Course::getId).map(CourseDTO::from);
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.COURSES, key = "#id")
+    public Optional<CourseDTO> getCourseById(Long id) {
+        return courseRepository.findById(id).map(CourseDTO::from);
     }
     
-    public Optional<Course> getCourseById(Long id) {
-        return courseRepository.findById(id);
+    public List<Course> getCoursesByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        long[] distinctIds = ids.stream()
+            .filter(Objects::nonNull)
+            .mapToLong(Long::longValue)
+            .distinct()
+            .sorted()
+            .toArray();
+        // One WHERE id IN (...) query, regardless of how big the catalogue is
+        List<Course> courses = courseRepository.findAllById(
+            Arrays.stream(distinctIds).boxed().toList());
+        if (courses.size() != distinctIds.length) {
+            long[] foundIds = courses.stream().mapToLong(Course::getId).sorted().toArray();
+            long missingId = Arrays.stream(distinctIds)
+                .filter(id -> Arrays.binarySearch(foundIds, id) < 0)
+                .findFirst()
+                .orElseThrow();
+            throw new IllegalArgumentException("Course not found with id: " + missingId);
+        }
+        return courses;
     }
     
+    @CacheEvict(cacheNames = {CacheConfig.COURSE_CATALOG, CacheConfig.COURSE_PAGES, CacheConfig.COURSES}, allEntries = true)
     public Course saveCourse(Course course) {
-        if (course.getId() == null && courseRepository.existsByCourseCode(course.getCourseCode())) {
-            throw new DataIntegrityViolationException("Course code already exists");
+        try {
+            Course saved = courseRepository.saveAndFlush(course);
+            changeEventService.courseSaved(saved);
+            searchService.indexCourse(saved);
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraints.translate(e, UniqueConstraints.COURSE_CODE, "Course code already exists");
         }
-        return courseRepository.save(course);
     }
     
+    @CacheEvict(cacheNames = {CacheConfig.COURSE_CATALOG, CacheConfig.COURSE_PAGES, CacheConfig.COURSES}, allEntries = true)
     public Course updateCourse(Course course) {
-        if (!courseRepository.existsById(course.getId())) {
-            throw new IllegalArgumentException("Course not found with id: " + course.getId());
+        Integer previousCredits = courseRepository.findCreditsForUpdate(course.getId());
+        if (previousCredits == null) {
+            throw new NotFoundException("Course not found with id: " + course.getId());
+        }
+        try {
+            courseRepository.updateDetails(course.getId(), course.getCourseCode(), course.getCourseName(),
+                course.getCredits(), course.getDescription(), course.getCapacity());
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraints.translate(e, UniqueConstraints.COURSE_CODE, "Course code already exists");
         }
-        return courseRepository.save(course);
+        changeEventService.courseSaved(course);
+        if (!previousCredits.equals(course.getCredits())) {
+            studentRepository.recalculateTotalCreditsForCourse(course.getId());
+        }
+        // The capacity may have grown
+        seatAllocator.promoteAfterCommit(List.of(course.getId()));
+        searchService.indexCourse(course);
+        return course;
+    }
+    
+    // Batched name and description edits (null leaves a field as it is) for WriteBehindService; see
+    // StudentService.updateStudentProfiles. Code, credits and capacity still go through updateCourse.
+    @CacheEvict(cacheNames = {CacheConfig.COURSE_CATALOG, CacheConfig.COURSE_PAGES, CacheConfig.COURSES}, allEntries = true)
+    public int updateCourseDetails(Collection<Course> details) {
+        if (details.isEmpty()) {
+            return 0;
+        }
+        List<Course> rows = List.copyOf(details);
+        jdbcTemplate.batchUpdate("UPDATE courses SET course_name = COALESCE(?, course_name), "
+                + "description = COALESCE(?, description) WHERE id = ?",
+            rows, rows.size(), (statement, course) -> {
+                statement.setString(1, course.getCourseName());
+                statement.setString(2, course.getDescription());
+                statement.setLong(3, course.getId());
+            });
+        List<Course> updated = courseRepository.findAllById(rows.stream().map(Course::getId).toList());
+        for (Course course : updated) {
+            changeEventService.courseSaved(course);
+            searchService.indexCourse(course);
+        }
+        return updated.size();
+    }
+    
+    // Creates the course or updates the one with the same code; see StudentService.upsertStudent for the retry
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(cacheNames = {CacheConfig.COURSE_CATALOG, CacheConfig.COURSE_PAGES, CacheConfig.COURSES}, allEntries = true)
+    public Course upsertCourse(Course course) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            course.setId(transaction.execute(status -> upsertByCourseCode(course)));
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueConstraints.isViolated(e, UniqueConstraints.COURSE_CODE)) {
+                throw e;
+            }
+            course.setId(transaction.execute(status -> upsertByCourseCode(course)));
+        }
+        seatAllocator.promoteWaitlisted(List.of(course.getId()));
+        searchService.indexCourse(course);
+        return course;
+    }
+    
+    private Long upsertByCourseCode(Course course) {
+        courseRepository.upsertByCourseCode(course.getCourseCode(), course.getCourseName(), course.getCredits(),
+            course.getDescription(), course.getCapacity());
+        Long id = courseRepository.findIdByCourseCode(course.getCourseCode()).orElseThrow();
+        // The merge does not report the old credits, so refresh the totals of anyone enrolled (none for a new course)
+        studentRepository.recalculateTotalCreditsForCourse(id);
+        course.setId(id);
+        changeEventService.courseSaved(course);
+        return id;
     }
     
+    @CacheEvict(cacheNames = {CacheConfig.COURSE_CATALOG, CacheConfig.COURSE_PAGES, CacheConfig.COURSES}, allEntries = true)
     public void deleteCourse(Long id) {
-        courseRepository.deleteById(id);
+        // Unknown ids are a no-op, with no change event to publish
+        courseRepository.findById(id).ifPresent(course -> {
+            courseRepository.delete(course);
+            changeEventService.courseDeleted(id);
+            searchService.removeCourse(id);
+        });
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Integer> getEnrolledCount(Long courseId) {
+        return Optional.ofNullable(courseRepository.findEnrolledCount(courseId));
+    }
+    
+    // Headcounts for one page of courses in a single query; not cached, since they change with every enrollment
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> getEnrolledCounts(Collection<Long> courseIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (courseIds == null || courseIds.isEmpty()) {
+            return counts;
+        }
+        for (Object[] row : courseRepository.findEnrolledCounts(courseIds)) {
+            counts.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+        }
+        return counts;
+    }
+    
+    // Recomputes every course headcount from the join table; returns how many had drifted
+    public int rebuildEnrolledCounts() {
+        int rebuilt = courseRepository.rebuildEnrolledCounts();
+        if (rebuilt > 0) {
+            dataVersion.changed();
+        }
+        return rebuilt;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<AggregateMismatch> findEnrolledCountMismatches() {
+        return AggregateMismatch.fromRows(courseRepository.findEnrolledCountMismatches());
+    }
+    
+    private static Integer parseIntKey(String key) {
+        try {
+            return key == null ? Integer.MIN_VALUE : Integer.valueOf(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + key);
+        }
     }
 }
@@ -0,0 +1,73 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.datasource.ReadYourWrites;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter of committed writes to students, courses and enrollments, used to tell whether a rendered page is
+ * still current. Every write that records a change event bumps it once its transaction commits, so a page read
+ * at version n reflects at least the first n writes. The counter lives in memory: it restarts with the
+ * application (the start time is part of the tag) and only counts this instance's writes.
+ */
+@Component
+public class DataVersion {
+    
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+    private volatile long changedAt = startedAt;
+    
+    // Present only with a read replica, whose reads may trail the latest writes for up to its window
+    @Autowired(required = false)
+    private ReadYourWrites readYourWrites;
+    
+    // Called from inside a write transaction; takes effect once it commits
+    public void changed() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump();
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DataVersion.this);
+            }
+        });
+    }
+    
+    public long get() {
+        return version.get();
+    }
+    
+    // Unique across restarts, for use as an ETag
+    public String tag(long version) {
+        return Long.toString(startedAt, 36) + "-" + version;
+    }
+    
+    public long getChangedAt() {
+        return changedAt;
+    }
+    
+    // False while a read replica may not have caught up with the latest write yet
+    public boolean isSettled() {
+        return readYourWrites == null
+            || System.currentTimeMillis() - changedAt >= readYourWrites.getWindowMillis();
+    }
+    
+    private void bump() {
+        changedAt = System.currentTimeMillis();
+        version.incrementAndGet();
+    }
+}
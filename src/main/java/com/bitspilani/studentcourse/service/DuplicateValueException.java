@@ -0,0 +1,17 @@
+package com.bitspilani.studentcourse.service;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+// A unique value (an email, a course code) is already taken; unlike other integrity violations, the message is
+// written for users and safe to show
+public class DuplicateValueException extends DataIntegrityViolationException {
+    
+    public DuplicateValueException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    
+    // What to tell users about a failed write: a duplicate's own message, never another violation's SQL
+    public static String messageFor(DataIntegrityViolationException e) {
+        return e instanceof DuplicateValueException ? e.getMessage() : "Conflicts with existing data";
+    }
+}
@@ -0,0 +1,352 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.dto.ImportReport;
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import com.bitspilani.studentcourse.repository.CourseRepository;
+import com.bitspilani.studentcourse.repository.StudentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class EnrollmentImportService {
+    
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+    public static final int MAX_CHUNK_SIZE = 5000;
+    
+    public enum Format { CSV, NDJSON }
+    
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentImportService.class);
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private SeatAllocator seatAllocator;
+    
+    @Autowired
+    private SearchService searchService;
+    
+    @Autowired
+    private ChangeEventService changeEventService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Reads students and their course codes line by line and inserts them in chunks, one transaction per chunk.
+     * CSV columns are name,email,department,semester,courseCodes (codes separated by ';'); an optional header
+     * row is skipped. NDJSON lines carry the same fields, with courseCodes as an array.
+     */
+    public ImportReport importStudents(InputStream input, Format format, int chunkSize) throws IOException {
+        int size = Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE));
+        long start = System.currentTimeMillis();
+        ImportReport report = new ImportReport();
+        Map<String, Long> courseIdsByCode = loadCourseIdsByCode();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            List<ImportRow> chunk = new ArrayList<>(size);
+            long lineNumber = 0;
+            int chunkNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && format == Format.CSV && isHeader(line))) {
+                    continue;
+                }
+                chunk.add(parseRow(line, lineNumber, format));
+                if (chunk.size() == size) {
+                    importChunk(++chunkNumber, chunk, courseIdsByCode, transaction, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(++chunkNumber, chunk, courseIdsByCode, transaction, report);
+            }
+        }
+        
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        log.info("Bulk import finished: {} rows, {} imported, {} failed in {} ms ({} rows/s)",
+            report.getTotalRows(), report.getImportedRows(), report.getFailedRows(),
+            report.getElapsedMillis(), report.getRowsPerSecond());
+        return report;
+    }
+    
+    private void importChunk(int chunkNumber, List<ImportRow> rows, Map<String, Long> courseIdsByCode,
+                             TransactionTemplate transaction, ImportReport report) {
+        long chunkStart = System.currentTimeMillis();
+        report.addTotal(rows.size());
+        
+        List<ImportRow> valid = validate(rows, courseIdsByCode, report);
+        int imported = 0;
+        if (!valid.isEmpty()) {
+            try {
+                imported = write(valid, transaction);
+            } catch (DataIntegrityViolationException e) {
+                // Typically a concurrent registration with one of the emails: retry row by row so only it fails
+                log.debug("Import chunk {} rolled back, retrying row by row", chunkNumber, e);
+                imported = writeOneByOne(valid, transaction);
+            } catch (DataAccessException e) {
+                log.error("Import chunk {} rolled back", chunkNumber, e);
+                for (ImportRow row : valid) {
+                    row.error = "Chunk " + chunkNumber + " rolled back: could not write to the database";
+                }
+            }
+            for (ImportRow row : valid) {
+                if (row.error != null) {
+                    report.addError(row.lineNumber, row.error);
+                }
+            }
+        }
+        
+        report.addImported(imported);
+        ImportReport.ChunkProgress progress = new ImportReport.ChunkProgress(
+            chunkNumber, rows.size(), imported, System.currentTimeMillis() - chunkStart);
+        report.addChunk(progress);
+        log.debug("Import chunk {}: {}/{} rows imported in {} ms",
+            chunkNumber, imported, rows.size(), progress.getElapsedMillis());
+    }
+    
+    // Rows whose courses are full are left out with row.error set; returns how many rows were written
+    private int write(List<ImportRow> rows, TransactionTemplate transaction) {
+        return transaction.execute(status -> {
+            List<List<String>> fullCourses = seatAllocator.allocateSeats(
+                rows.stream().map(row -> row.courseIds).toList());
+            List<Student> students = new ArrayList<>();
+            List<Long> enrolledIds = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                ImportRow row = rows.get(i);
+                if (!fullCourses.get(i).isEmpty()) {
+                    row.error = new CourseFullException(fullCourses.get(i)).getMessage();
+                    continue;
+                }
+                row.error = null;
+                Student student = new Student(row.name, row.email, row.department, row.semester);
+                // References avoid loading Course rows (and their lazy student lists) just to write join rows
+                for (Long courseId : row.courseIds) {
+                    student.getCourses().add(entityManager.getReference(Course.class, courseId));
+                }
+                entityManager.persist(student);
+                students.add(student);
+                changeEventService.studentSaved(student);
+                changeEventService.enrollmentsAdded(student.getId(), row.courseIds);
+                if (!row.courseIds.isEmpty()) {
+                    enrolledIds.add(student.getId());
+                }
+            }
+            // Through the repository so a constraint violation comes back translated
+            studentRepository.flush();
+            if (!enrolledIds.isEmpty()) {
+                studentRepository.recalculateTotalCredits(enrolledIds);
+            }
+            searchService.indexStudents(students);
+            entityManager.clear();
+            return students.size();
+        });
+    }
+    
+    private int writeOneByOne(List<ImportRow> rows, TransactionTemplate transaction) {
+        int imported = 0;
+        for (ImportRow row : rows) {
+            try {
+                imported += write(List.of(row), transaction);
+            } catch (DataIntegrityViolationException e) {
+                row.error = UniqueConstraints.isViolated(e, UniqueConstraints.STUDENT_EMAIL)
+                    ? "Email already exists: " + row.email
+                    : DuplicateValueException.messageFor(e);
+            } catch (DataAccessException e) {
+                log.error("Import of line {} failed", row.lineNumber, e);
+                row.error = "Could not write to the database";
+            }
+        }
+        return imported;
+    }
+    
+    private List<ImportRow> validate(List<ImportRow> rows, Map<String, Long> courseIdsByCode, ImportReport report) {
+        Set<String> emails = new HashSet<>();
+        for (ImportRow row : rows) {
+            if (row.error == null && row.email != null) {
+                emails.add(row.email);
+            }
+        }
+        // One IN query per chunk instead of an existsByEmail round trip per row
+        Set<String> existing = emails.isEmpty()
+            ? Set.of()
+            : new HashSet<>(studentRepository.findExistingEmails(emails));
+        
+        Set<String> seenInChunk = new HashSet<>();
+        List<ImportRow> valid = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            String error = row.error != null ? row.error : validateRow(row, courseIdsByCode);
+            if (error == null && existing.contains(row.email)) {
+                error = "Email already exists: " + row.email;
+            }
+            if (error == null && !seenInChunk.add(row.email)) {
+                error = "Duplicate email in file: " + row.email;
+            }
+            if (error != null) {
+                report.addError(row.lineNumber, error);
+            } else {
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+    
+    private String validateRow(ImportRow row, Map<String, Long> courseIdsByCode) {
+        Student candidate = new Student(row.name, row.email, row.department, row.semester);
+        Set<ConstraintViolation<Student>> violations = validator.validate(candidate);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (row.department == null || row.department.isBlank()) {
+            return "Department is required";
+        }
+        if (row.semester == null || row.semester < 1) {
+            return "Semester must be a positive number";
+        }
+        for (String code : row.courseCodes) {
+            Long courseId = courseIdsByCode.get(code);
+            if (courseId == null) {
+                return "Unknown course code: " + code;
+            }
+            row.courseIds.add(courseId);
+        }
+        return null;
+    }
+    
+    private Map<String, Long> loadCourseIdsByCode() {
+        Map<String, Long> courseIdsByCode = new HashMap<>();
+        for (Object[] row : courseRepository.findAllCodesAndIds()) {
+            courseIdsByCode.put((String) row[0], (Long) row[1]);
+        }
+        return courseIdsByCode;
+    }
+    
+    private ImportRow parseRow(String line, long lineNumber, Format format) {
+        ImportRow row = new ImportRow(lineNumber);
+        try {
+            if (format == Format.NDJSON) {
+                JsonNode node = objectMapper.readTree(line);
+                row.name = text(node, "name");
+                row.email = text(node, "email");
+                row.department = text(node, "department");
+                row.semester = node.hasNonNull("semester") ? node.get("semester").asInt() : null;
+                for (JsonNode code : node.path("courseCodes")) {
+                    row.courseCodes.add(code.asText().trim());
+                }
+            } else {
+                List<String> fields = parseCsvLine(line);
+                if (fields.size() < 4) {
+                    row.error = "Expected at least 4 columns but found " + fields.size();
+                    return row;
+                }
+                row.name = fields.get(0).trim();
+                row.email = fields.get(1).trim();
+                row.department = fields.get(2).trim();
+                row.semester = Integer.valueOf(fields.get(3).trim());
+                if (fields.size() > 4 && !fields.get(4).isBlank()) {
+                    Arrays.stream(fields.get(4).split(";"))
+                        .map(String::trim)
+                        .filter(code -> !code.isEmpty())
+                        .forEach(row.courseCodes::add);
+                }
+            }
+        } catch (NumberFormatException e) {
+            row.error = "Semester must be a number";
+        } catch (JsonProcessingException e) {
+            row.error = "Malformed JSON: " + e.getOriginalMessage();
+        }
+        return row;
+    }
+    
+    private static String text(JsonNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asText().trim() : null;
+    }
+    
+    private static boolean isHeader(String line) {
+        return line.trim().toLowerCase().startsWith("name,");
+    }
+    
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    current.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(ch);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+    
+    private static class ImportRow {
+        private final long lineNumber;
+        private String name;
+        private String email;
+        private String department;
+        private Integer semester;
+        private final List<String> courseCodes = new ArrayList<>();
+        private final Set<Long> courseIds = new LinkedHashSet<>();
+        private String error;
+        
+        private ImportRow(long lineNumber) {
+            this.lineNumber = lineNumber;
+        }
+    }
+}
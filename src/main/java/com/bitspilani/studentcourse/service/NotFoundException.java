@@ -0,0 +1,9 @@
+package com.bitspilani.studentcourse.service;
+
+// The student or course a request is addressed to does not exist; an unknown id elsewhere is a bad argument
+public class NotFoundException extends IllegalArgumentException {
+    
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
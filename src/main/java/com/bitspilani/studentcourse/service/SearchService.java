@@ -0,0 +1,191 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.dto.SearchHit;
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import com.bitspilani.studentcourse.repository.CourseRepository;
+import com.bitspilani.studentcourse.repository.StudentRepository;
+import com.bitspilani.studentcourse.search.InvertedIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Typeahead and keyword search over students (name, email, department) and courses (code, name, description),
+ * answered from in-memory inverted indexes without touching the database. The indexes are loaded once the
+ * application is ready and then follow the service write paths: each change is applied after its transaction
+ * commits, so rolled-back writes never show up in results. Writes keep coming while a rebuild reads the
+ * tables, so the changes committed meanwhile are replayed onto the new indexes before they are swapped in.
+ */
+@Service
+public class SearchService {
+    
+    public static final String TYPE_STUDENT = "student";
+    public static final String TYPE_COURSE = "course";
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+    
+    private static final int REBUILD_BATCH_SIZE = 5000;
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    private volatile InvertedIndex studentIndex = new InvertedIndex();
+    private volatile InvertedIndex courseIndex = new InvertedIndex();
+    
+    // Guards the swap against changes being applied; replay is non-null while a rebuild runs
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<Runnable> replay;
+    
+    // At most limit hits: students first, then courses fill what is left; type narrows the search to one of them
+    public List<SearchHit> search(String query, String type, Integer limit) {
+        int max = limit == null || limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        List<SearchHit> hits = new ArrayList<>(max);
+        if (type == null || TYPE_STUDENT.equals(type)) {
+            hits.addAll(studentIndex.search(query, max));
+        }
+        if (type == null || TYPE_COURSE.equals(type)) {
+            hits.addAll(courseIndex.search(query, max - hits.size()));
+        }
+        return hits;
+    }
+    
+    /**
+     * Loads both indexes from the database and swaps them in whole, so searches never see a half-built index.
+     * Changes committed during the load may be missing from pages already read, so they are recorded and applied
+     * again to the new indexes; replaying one the load already saw leaves the entry as it was.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        InvertedIndex students = new InvertedIndex();
+        InvertedIndex courses = new InvertedIndex();
+        boolean loaded = false;
+        int replayed = 0;
+        try {
+            load(students, courses);
+            loaded = true;
+        } finally {
+            lock.lock();
+            try {
+                // A failed load leaves the old indexes, which the changes already reached, in place
+                if (loaded) {
+                    studentIndex = students;
+                    courseIndex = courses;
+                    // The changes read the index fields when they run, so now they land in the new indexes
+                    replay.forEach(Runnable::run);
+                    replayed = replay.size();
+                }
+                replay = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+        log.info("Search index built with {} students and {} courses in {} ms ({} changes replayed)",
+            students.size(), courses.size(), System.currentTimeMillis() - start, replayed);
+    }
+    
+    private void load(InvertedIndex students, InvertedIndex courses) {
+        Long afterId = 0L;
+        List<Object[]> rows;
+        do {
+            rows = studentRepository.findSearchFieldsPage(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Object[] row : rows) {
+                putStudent(students, (Long) row[0], (String) row[1], (String) row[2], (String) row[3]);
+            }
+            afterId = rows.isEmpty() ? afterId : (Long) rows.get(rows.size() - 1)[0];
+        } while (rows.size() == REBUILD_BATCH_SIZE);
+        courseRepository.findAll().forEach(course -> putCourse(courses, course));
+    }
+    
+    public void indexStudent(Student student) {
+        indexStudents(List.of(student));
+    }
+    
+    public void indexStudents(Collection<Student> students) {
+        // Copied now: the entities may be detached or changed again by the time the transaction commits
+        List<Object[]> rows = students.stream()
+            .map(s -> new Object[] {s.getId(), s.getName(), s.getEmail(), s.getDepartment()})
+            .toList();
+        afterCommit(() -> rows.forEach(row ->
+            putStudent(studentIndex, (Long) row[0], (String) row[1], (String) row[2], (String) row[3])));
+    }
+    
+    public void removeStudent(Long id) {
+        afterCommit(() -> studentIndex.remove(id));
+    }
+    
+    public void indexCourse(Course course) {
+        Course copy = new Course(course.getCourseCode(), course.getCourseName(), course.getCredits(),
+            course.getDescription());
+        copy.setId(course.getId());
+        afterCommit(() -> putCourse(courseIndex, copy));
+    }
+    
+    public void removeCourse(Long id) {
+        afterCommit(() -> courseIndex.remove(id));
+    }
+    
+    public int getIndexedStudents() {
+        return studentIndex.size();
+    }
+    
+    public int getIndexedCourses() {
+        return courseIndex.size();
+    }
+    
+    private static void putStudent(InvertedIndex index, Long id, String name, String email, String department) {
+        index.put(new SearchHit(TYPE_STUDENT, id, name, email + ", " + department), name, email, department);
+    }
+    
+    private static void putCourse(InvertedIndex index, Course course) {
+        index.put(new SearchHit(TYPE_COURSE, course.getId(), course.getCourseCode() + " " + course.getCourseName(),
+                course.getCredits() + " credits"),
+            course.getCourseCode(), course.getCourseName(), course.getDescription());
+    }
+    
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+    
+    private void apply(Runnable change) {
+        lock.lock();
+        try {
+            change.run();
+            if (replay != null) {
+                replay.add(change);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
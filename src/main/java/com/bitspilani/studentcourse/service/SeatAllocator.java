@@ -0,0 +1,313 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.config.WaitlistProperties;
+import com.bitspilani.studentcourse.entity.WaitlistEntry;
+import com.bitspilani.studentcourse.repository.CourseRepository;
+import com.bitspilani.studentcourse.repository.StudentRepository;
+import com.bitspilani.studentcourse.repository.WaitlistRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces course capacity. A seat is taken with one conditional UPDATE on that course's row
+ * ({@code enrolled_count < capacity}), so the check and the increment are atomic and only enrollments in the
+ * same course contend, for as long as the enrolling transaction lasts. Students who find a course full are
+ * queued; seats released by drops, deletions or a capacity increase go to the head of the queue after the
+ * releasing transaction commits, on a single background thread so the releasing request never holds two
+ * pooled connections at once. A promotion that never ran (it failed, or the process stopped first) is made up
+ * by a sweep at startup and every app.waitlist.sweep-interval-millis.
+ */
+@Service
+@Transactional
+@EnableConfigurationProperties(WaitlistProperties.class)
+public class SeatAllocator {
+    
+    private static final Logger log = LoggerFactory.getLogger(SeatAllocator.class);
+    
+    private final ScheduledExecutorService promoter = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "waitlist-promoter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private ChangeEventService changeEventService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private WaitlistProperties properties;
+    
+    // Takes one seat unless the course is full or students are already queued for it
+    public boolean claimSeat(Long courseId) {
+        return courseRepository.claimSeat(courseId) == 1;
+    }
+    
+    /**
+     * All-or-nothing: takes one seat in each course, or throws and lets the caller's transaction roll back. Each
+     * claim is its own conditional update, so the courses that were full are known exactly; they are claimed in
+     * id order so that two students joining overlapping courses lock the rows in the same order.
+     */
+    public void claimSeats(Collection<Long> courseIds) {
+        moveSeats(List.of(), courseIds);
+    }
+    
+    /**
+     * Gives back one seat in each dropped course and claims one in each added course, all-or-nothing like
+     * claimSeats. Both sets are walked together in id order, the same order as claimSeats and findSeatsForUpdate,
+     * so a student swapping A for B and another swapping B for A never lock the two rows in opposite orders.
+     */
+    public void moveSeats(Collection<Long> dropped, Collection<Long> added) {
+        Set<Long> courseIds = new TreeSet<>(dropped);
+        courseIds.addAll(added);
+        List<Long> full = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            if (dropped.contains(courseId)) {
+                courseRepository.adjustEnrolledCount(List.of(courseId), -1);
+            } else if (!claimSeat(courseId)) {
+                full.add(courseId);
+            }
+        }
+        if (!full.isEmpty()) {
+            throw new CourseFullException(courseRepository.findCourseCodes(full));
+        }
+        if (!dropped.isEmpty()) {
+            promoteAfterCommit(dropped);
+        }
+    }
+    
+    /**
+     * Seats for a bulk load, granted in request order: each request gets a seat in every course it lists or in
+     * none, and the granted seats are added to the headcounts. The courses stay locked until the caller commits,
+     * and a course with students queued for it has no seats to give, so a load never goes ahead of the waitlist.
+     * Returns, per request, the codes of the courses that were full; an empty list means it was granted.
+     */
+    public List<List<String>> allocateSeats(List<? extends Collection<Long>> requests) {
+        Set<Long> courseIds = new HashSet<>();
+        requests.forEach(courseIds::addAll);
+        Map<Long, Long> freeSeats = new HashMap<>();
+        Map<Long, String> codes = new HashMap<>();
+        if (!courseIds.isEmpty()) {
+            for (Object[] row : courseRepository.findSeatsForUpdate(courseIds)) {
+                Long courseId = ((Number) row[0]).longValue();
+                codes.put(courseId, (String) row[1]);
+                freeSeats.put(courseId, row[2] == null
+                    ? Long.MAX_VALUE
+                    : ((Number) row[2]).longValue() - ((Number) row[3]).longValue());
+            }
+            waitlistRepository.findQueuedCourseIds(courseIds).forEach(courseId -> freeSeats.put(courseId, 0L));
+        }
+        
+        List<List<String>> refusals = new ArrayList<>(requests.size());
+        Map<Long, Integer> granted = new TreeMap<>();
+        for (Collection<Long> request : requests) {
+            List<String> full = new ArrayList<>();
+            for (Long courseId : request) {
+                Long seats = freeSeats.get(courseId);
+                if (seats != null && seats < 1) {
+                    full.add(codes.get(courseId));
+                }
+            }
+            if (full.isEmpty()) {
+                for (Long courseId : request) {
+                    freeSeats.computeIfPresent(courseId, (id, seats) -> seats - 1);
+                    granted.merge(courseId, 1, Integer::sum);
+                }
+            }
+            Collections.sort(full);
+            refusals.add(full);
+        }
+        granted.forEach((courseId, seats) -> courseRepository.adjustEnrolledCount(List.of(courseId), seats));
+        return refusals;
+    }
+    
+    public void releaseSeats(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return;
+        }
+        courseRepository.adjustEnrolledCount(courseIds, -1);
+        promoteAfterCommit(courseIds);
+    }
+    
+    // Queues the student (once) and returns their 1-based position
+    public long joinWaitlist(Long studentId, Long courseId) {
+        WaitlistEntry entry = waitlistRepository.findByCourseIdAndStudentId(courseId, studentId)
+            .orElseGet(() -> {
+                changeEventService.waitlistJoined(studentId, courseId);
+                return waitlistRepository.save(new WaitlistEntry(courseId, studentId));
+            });
+        return waitlistRepository.findPosition(courseId, entry.getId());
+    }
+    
+    public boolean leaveWaitlist(Long studentId, Long courseId) {
+        if (waitlistRepository.deleteByCourseIdAndStudentId(courseId, studentId) == 0) {
+            return false;
+        }
+        changeEventService.waitlistLeft(studentId, courseId);
+        return true;
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Long> getWaitlistPosition(Long studentId, Long courseId) {
+        return waitlistRepository.findByCourseIdAndStudentId(courseId, studentId)
+            .map(entry -> waitlistRepository.findPosition(courseId, entry.getId()));
+    }
+    
+    // Seats freed inside a transaction only exist once it commits, so promotion waits for that
+    public void promoteAfterCommit(Collection<Long> courseIds) {
+        List<Long> ids = List.copyOf(courseIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            promote(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    promoter.execute(() -> {
+                        try {
+                            promote(ids);
+                        } catch (RuntimeException e) {
+                            log.error("Waitlist promotion failed for courses {}; the next sweep retries it", ids, e);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    log.warn("Shutting down; waitlist promotion for courses {} is left to the next sweep", ids);
+                }
+            }
+        });
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void start() {
+        if (properties.getSweepIntervalMillis() > 0) {
+            promoter.scheduleWithFixedDelay(this::sweepQuietly, 0, properties.getSweepIntervalMillis(),
+                TimeUnit.MILLISECONDS);
+        } else {
+            promoter.execute(this::sweepQuietly);
+        }
+    }
+    
+    // Promotions already queued still run; the periodic sweep is cancelled
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        promoter.shutdown();
+        if (!promoter.awaitTermination(properties.getShutdownTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Waitlist promotions still running after {} ms; the next startup sweep finishes them",
+                properties.getShutdownTimeoutMillis());
+            promoter.shutdownNow();
+        }
+    }
+    
+    // Serves every course that has both free seats and a queue; returns how many students moved
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int sweep() {
+        List<Long> courseIds = courseRepository.findCoursesWithSeatsForWaitlist();
+        return courseIds.isEmpty() ? 0 : promote(courseIds);
+    }
+    
+    // Moves waitlisted students into free seats, one short transaction per student; returns how many moved
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int promoteWaitlisted(Collection<Long> courseIds) {
+        return promote(courseIds);
+    }
+    
+    private void sweepQuietly() {
+        try {
+            int promoted = sweep();
+            if (promoted > 0) {
+                log.info("Waitlist sweep promoted {} students", promoted);
+            }
+        } catch (RuntimeException e) {
+            log.error("Waitlist sweep failed", e);
+        }
+    }
+    
+    private int promote(Collection<Long> courseIds) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        int promoted = 0;
+        for (Long courseId : courseIds) {
+            Promotion outcome;
+            do {
+                outcome = transaction.execute(status -> promoteHead(courseId, status));
+                if (outcome == Promotion.PROMOTED) {
+                    promoted++;
+                }
+            } while (outcome != Promotion.DONE);
+        }
+        return promoted;
+    }
+    
+    private enum Promotion { PROMOTED, SKIPPED, DONE }
+    
+    private Promotion promoteHead(Long courseId, TransactionStatus status) {
+        Optional<WaitlistEntry> head = waitlistRepository.findFirstByCourseIdOrderByIdAsc(courseId);
+        if (head.isEmpty()) {
+            return Promotion.DONE;
+        }
+        Long studentId = head.get().getStudentId();
+        // Same lock order as StudentService.enrollStudent and dropCourse: the student row first, then the
+        // waitlist entry and the course row
+        if (studentRepository.findLockedById(studentId).isEmpty()) {
+            // Deleted, which took the entry with it
+            return Promotion.SKIPPED;
+        }
+        if (waitlistRepository.deleteEntry(head.get().getId()) == 0) {
+            // The student left the queue, or a concurrent promotion already took this entry
+            return Promotion.SKIPPED;
+        }
+        if (studentRepository.isEnrolled(studentId, courseId)) {
+            changeEventService.waitlistLeft(studentId, courseId);
+            return Promotion.SKIPPED;
+        }
+        if (courseRepository.claimWaitlistedSeat(courseId) == 0) {
+            status.setRollbackOnly();
+            return Promotion.DONE;
+        }
+        studentRepository.insertEnrollment(studentId, courseId);
+        studentRepository.recalculateTotalCredits(List.of(studentId));
+        changeEventService.enrollmentsAdded(studentId, List.of(courseId));
+        return Promotion.PROMOTED;
+    }
+}
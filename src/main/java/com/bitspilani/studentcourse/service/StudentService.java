@@ -1,49 +1,354 @@
 package com.bitspilani.studentcourse.service;
 
+import com.bitspilani.studentcourse.entity.Course;
 import com.bitspilani.studentcourse.entity.Student;
+import com.bitspilani.studentcourse.dto.AggregateMismatch;
+import com.bitspilani.studentcourse.dto.KeysetPage;
 import com.bitspilani.studentcourse.dto.StudentCourseDTO;
+import com.bitspilani.studentcourse.repository.CourseRepository;
 import com.bitspilani.studentcourse.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+// Reads are marked read-only, so with a read replica configured they are served by the replica
 @Service
 @Transactional
 public class StudentService {
     
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_DEPARTMENT = "department";
+    public static final String SORT_BY_SEMESTER = "semester";
+    
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private SeatAllocator seatAllocator;
+    
+    @Autowired
+    private SearchService searchService;
+    
+    @Autowired
+    private ChangeEventService changeEventService;
+    
+    @Autowired
+    private DataVersion dataVersion;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Transactional(readOnly = true)
     public List<Student> getAllStudents() {
         return studentRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
+    public KeysetPage<Student> getStudentsPage(String sort, String afterKey, Long afterId, Integer size) {
+        int pageSize = KeysetPage.clampSize(size);
+        boolean firstPage = afterId == null;
+        Long cursorId = firstPage ? 0L : afterId;
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        
+        if (SORT_BY_DEPARTMENT.equals(sort)) {
+            String cursorDepartment = firstPage || afterKey == null ? "" : afterKey;
+            List<Student> rows = studentRepository.findPageOrderByDepartment(cursorDepartment, cursorId, limit);
+            return KeysetPage.of(rows, SORT_BY_DEPARTMENT, pageSize, firstPage, Student::getDepartment, Student::getId);
+        }
+        if (SORT_BY_SEMESTER.equals(sort)) {
+            Integer cursorSemester = firstPage ? Integer.MIN_VALUE : parseIntKey(afterKey);
+            List<Student> rows = studentRepository.findPageOrderBySemester(cursorSemester, cursorId, limit);
+            return KeysetPage.of(rows, SORT_BY_SEMESTER, pageSize, firstPage,
+                s -> String.valueOf(s.getSemester()), Student::getId);
+        }
+        List<Student> rows = studentRepository.findPageOrderById(cursorId, limit);
+        return KeysetPage.of(rows, SORT_BY_ID, pageSize, firstPage, s -> null, Student::getId);
+    }
+    
+    @Transactional(readOnly = true)
+    public KeysetPage<Student> getStudentsByDepartment(String department, Long afterId, Integer size) {
+        int pageSize = KeysetPage.clampSize(size);
+        List<Student> rows = studentRepository.findByDepartment(
+            department, afterId == null ? 0L : afterId, PageRequest.of(0, pageSize + 1));
+        return KeysetPage.of(rows, SORT_BY_ID, pageSize, afterId == null, s -> null, Student::getId);
+    }
+    
+    @Transactional(readOnly = true)
+    public KeysetPage<Student> getStudentsBySemesterRange(Integer fromSemester, Integer toSemester,
+                                                          String afterKey, Long afterId, Integer size) {
+        int pageSize = KeysetPage.clampSize(size);
+        boolean firstPage = afterId == null;
+        List<Student> rows = studentRepository.findBySemesterRange(
+            fromSemester == null ? Integer.MIN_VALUE : fromSemester,
+            toSemester == null ? Integer.MAX_VALUE : toSemester,
+            firstPage ? Integer.MIN_VALUE : parseIntKey(afterKey),
+            firstPage ? 0L : afterId,
+            PageRequest.of(0, pageSize + 1));
+        return KeysetPage.of(rows, SORT_BY_SEMESTER, pageSize, firstPage,
+            s -> String.valueOf(s.getSemester()), Student::getId);
+    }
+    
+    @Transactional(readOnly = true)
+    public KeysetPage<Student> getStudentsEnrolledInCourse(Long courseId, Long afterId, Integer size) {
+        int pageSize = KeysetPage.clampSize(size);
+        List<Student> rows = studentRepository.findEnrolledInCourse(
+            courseId, afterId == null ? 0L : afterId, PageRequest.of(0, pageSize + 1));
+        return KeysetPage.of(rows, SORT_BY_ID, pageSize, afterId == null, s -> null, Student::getId);
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<Student> getStudentById(Long id) {
         return studentRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
+    public boolean existsById(Long id) {
+        return studentRepository.existsById(id);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Student> getStudentWithCoursesById(Long id) {
+        return studentRepository.findWithCoursesById(id);
+    }
+    
     public Student saveStudent(Student student) {
-        if (student.getId() == null && studentRepository.existsByEmail(student.getEmail())) {
-            throw new DataIntegrityViolationException("Email already exists");
+        try {
+            // Flushed here so a duplicate email surfaces from this call, not from the commit
+            Student saved = studentRepository.saveAndFlush(student);
+            changeEventService.studentSaved(saved);
+            if (!saved.getCourses().isEmpty()) {
+                List<Long> courseIds = saved.getCourses().stream().map(Course::getId).toList();
+                seatAllocator.claimSeats(courseIds);
+                studentRepository.recalculateTotalCredits(List.of(saved.getId()));
+                changeEventService.enrollmentsAdded(saved.getId(), courseIds);
+            }
+            searchService.indexStudent(saved);
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraints.translate(e, UniqueConstraints.STUDENT_EMAIL, "Email already exists");
         }
-        return studentRepository.save(student);
     }
     
     public Student updateStudent(Student student) {
-        if (!studentRepository.existsById(student.getId())) {
-            throw new IllegalArgumentException("Student not found with id: " + student.getId());
+        int updated;
+        try {
+            updated = studentRepository.updateDetails(student.getId(), student.getName(), student.getEmail(),
+                student.getDepartment(), student.getSemester());
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraints.translate(e, UniqueConstraints.STUDENT_EMAIL, "Email already exists");
+        }
+        if (updated == 0) {
+            throw new NotFoundException("Student not found with id: " + student.getId());
+        }
+        changeEventService.studentSaved(student);
+        replaceEnrollments(student.getId(), student.getCourses());
+        searchService.indexStudent(student);
+        return student;
+    }
+    
+    /**
+     * Applies profile edits (name, department, semester; null leaves a field as it is) to many students in one
+     * JDBC batch. Email and enrollments are not touched, so no constraint or aggregate work is involved. Used by
+     * WriteBehindService; returns the number of students that still existed.
+     */
+    public int updateStudentProfiles(Collection<Student> profiles) {
+        if (profiles.isEmpty()) {
+            return 0;
         }
-        return studentRepository.save(student);
+        List<Student> rows = List.copyOf(profiles);
+        jdbcTemplate.batchUpdate("UPDATE students SET name = COALESCE(?, name), "
+                + "department = COALESCE(?, department), semester = COALESCE(?, semester) WHERE id = ?",
+            rows, rows.size(), (statement, profile) -> {
+                statement.setString(1, profile.getName());
+                statement.setString(2, profile.getDepartment());
+                statement.setObject(3, profile.getSemester());
+                statement.setLong(4, profile.getId());
+            });
+        List<Student> updated = studentRepository.findAllById(rows.stream().map(Student::getId).toList());
+        updated.forEach(changeEventService::studentSaved);
+        searchService.indexStudents(updated);
+        return updated.size();
+    }
+    
+    /**
+     * Creates the student, or updates the existing student with the same email, and replaces its enrollments
+     * with the given courses. Concurrent upserts of one email all succeed against a single row: the loser of
+     * the insert race hits the unique constraint and is retried once in a fresh transaction, where it updates.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Student upsertStudent(Student student) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            return transaction.execute(status -> doUpsert(student));
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueConstraints.isViolated(e, UniqueConstraints.STUDENT_EMAIL)) {
+                throw e;
+            }
+            return transaction.execute(status -> doUpsert(student));
+        }
+    }
+    
+    private Student doUpsert(Student student) {
+        studentRepository.upsertByEmail(student.getName(), student.getEmail(), student.getDepartment(),
+            student.getSemester());
+        Long id = studentRepository.findIdByEmail(student.getEmail()).orElseThrow();
+        student.setId(id);
+        changeEventService.studentSaved(student);
+        replaceEnrollments(id, student.getCourses());
+        searchService.indexStudent(student);
+        return student;
+    }
+    
+    /**
+     * Join rows are synced with set-based statements; seats move only for courses actually joined or dropped.
+     * Callers have already written the student's row, which stays locked until they commit, so the enrollments
+     * read here cannot change before the sync is applied. All seats move before any join row is written, so
+     * every course row is locked in one id-ordered pass.
+     */
+    private void replaceEnrollments(Long studentId, Collection<Course> courses) {
+        List<Long> courseIds = courses == null
+            ? List.of()
+            : courses.stream().map(Course::getId).distinct().toList();
+        List<Long> current = studentRepository.findEnrolledCourseIds(studentId);
+        List<Long> dropped = current.stream().filter(id -> !courseIds.contains(id)).toList();
+        List<Long> added = courseIds.stream().filter(id -> !current.contains(id)).toList();
+        seatAllocator.moveSeats(dropped, added);
+        if (!dropped.isEmpty()) {
+            studentRepository.deleteEnrollments(studentId, dropped);
+            changeEventService.enrollmentsDropped(studentId, dropped);
+        }
+        if (!added.isEmpty()) {
+            studentRepository.insertEnrollments(studentId, added);
+            changeEventService.enrollmentsAdded(studentId, added);
+        }
+        studentRepository.recalculateTotalCredits(List.of(studentId));
+    }
+    
+    public enum EnrollmentResult { ENROLLED, ALREADY_ENROLLED, WAITLISTED }
+    
+    /**
+     * Adds one course to the student's enrollments if it has a free seat, inserting exactly one join row;
+     * otherwise the student joins the course's waitlist (once) and is enrolled when a seat frees up.
+     */
+    public EnrollmentResult enrollStudent(Long studentId, Long courseId) {
+        Student student = findLocked(studentId);
+        Course course = courseRepository.findById(courseId)
+            .orElseThrow(() -> new NotFoundException("Course not found with id: " + courseId));
+        if (student.getCourses().contains(course)) {
+            return EnrollmentResult.ALREADY_ENROLLED;
+        }
+        if (!seatAllocator.claimSeat(courseId)) {
+            seatAllocator.joinWaitlist(studentId, courseId);
+            return EnrollmentResult.WAITLISTED;
+        }
+        student.addCourse(course);
+        studentRepository.flush();
+        studentRepository.recalculateTotalCredits(List.of(studentId));
+        changeEventService.enrollmentsAdded(studentId, List.of(courseId));
+        return EnrollmentResult.ENROLLED;
+    }
+    
+    /**
+     * Removes one course from the student's enrollments (deleting exactly one join row and handing the seat to
+     * the waitlist), or takes the student off that course's waitlist. Returns false if neither applied.
+     */
+    public boolean dropCourse(Long studentId, Long courseId) {
+        Student student = findLocked(studentId);
+        if (!student.removeCourse(courseRepository.getReferenceById(courseId))) {
+            return seatAllocator.leaveWaitlist(studentId, courseId);
+        }
+        studentRepository.flush();
+        seatAllocator.releaseSeats(List.of(courseId));
+        studentRepository.recalculateTotalCredits(List.of(studentId));
+        changeEventService.enrollmentsDropped(studentId, List.of(courseId));
+        return true;
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Long> getWaitlistPosition(Long studentId, Long courseId) {
+        return seatAllocator.getWaitlistPosition(studentId, courseId);
+    }
+    
+    private Student findLocked(Long studentId) {
+        return studentRepository.findLockedById(studentId)
+            .orElseThrow(() -> new NotFoundException("Student not found with id: " + studentId));
     }
     
     public void deleteStudent(Long id) {
-        studentRepository.deleteById(id);
+        studentRepository.findLockedById(id).ifPresent(student -> {
+            seatAllocator.releaseSeats(studentRepository.findEnrolledCourseIds(id));
+            studentRepository.delete(student);
+            changeEventService.studentDeleted(id);
+            searchService.removeStudent(id);
+        });
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Integer> getTotalCredits(Long studentId) {
+        return studentRepository.findById(studentId).map(Student::getTotalCredits);
+    }
+    
+    // Recomputes every student's credit total from the join table; returns how many had drifted
+    public int rebuildTotalCredits() {
+        int rebuilt = studentRepository.rebuildTotalCredits();
+        if (rebuilt > 0) {
+            dataVersion.changed();
+        }
+        return rebuilt;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<AggregateMismatch> findTotalCreditMismatches() {
+        return AggregateMismatch.fromRows(studentRepository.findTotalCreditMismatches());
     }
     
+    @Transactional(readOnly = true)
     public List<StudentCourseDTO> getStudentsWithCourses() {
         return studentRepository.findAllStudentsWithCourses();
     }
+    
+    @Transactional(readOnly = true)
+    public KeysetPage<StudentCourseDTO> getStudentsWithCoursesPage(Long afterStudentId, Long afterCourseId, Integer size) {
+        int pageSize = KeysetPage.clampSize(size);
+        boolean firstPage = afterStudentId == null;
+        List<StudentCourseDTO> rows = studentRepository.findStudentsWithCoursesPage(
+            firstPage ? 0L : afterStudentId,
+            firstPage || afterCourseId == null ? 0L : afterCourseId,
+            PageRequest.of(0, pageSize + 1));
+        return KeysetPage.of(rows, null, pageSize, firstPage,
+            row -> String.valueOf(row.getCourseId()), StudentCourseDTO::getStudentId);
+    }
+    
+    @Transactional(readOnly = true)
+    public void forEachStudentWithCourse(Consumer<StudentCourseDTO> action) {
+        try (Stream<StudentCourseDTO> rows = studentRepository.streamAllStudentsWithCourses()) {
+            rows.forEach(action);
+        }
+    }
+    
+    private static Integer parseIntKey(String key) {
+        try {
+            return key == null ? Integer.MIN_VALUE : Integer.valueOf(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + key);
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.dto.Timetable;
+import com.bitspilani.studentcourse.repository.CourseRepository;
+import com.bitspilani.studentcourse.repository.StudentRepository;
+import com.bitspilani.studentcourse.schedule.ConflictGraph;
+import com.bitspilani.studentcourse.schedule.GraphColoring;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Builds a conflict-free timetable: two courses conflict when some student takes both, and courses are put
+ * into as few slots as the coloring finds, with no conflicting pair in the same slot. The conflict graph is
+ * built from one streamed pass over the enrollment join table and colored in parallel on the common pool.
+ */
+@Service
+public class TimetableService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TimetableService.class);
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Transactional(readOnly = true)
+    public Timetable buildTimetable() {
+        long start = System.currentTimeMillis();
+        List<Object[]> courses = courseRepository.findAllCodesAndIds();
+        String[] codes = new String[courses.size()];
+        Map<Long, Integer> indexById = new HashMap<>(courses.size() * 2);
+        for (int i = 0; i < courses.size(); i++) {
+            codes[i] = (String) courses.get(i)[0];
+            indexById.put((Long) courses.get(i)[1], i);
+        }
+        
+        ConflictGraph graph = new ConflictGraph(codes.length);
+        int[] enrolled = new int[16];
+        int count = 0;
+        long currentStudent = -1;
+        try (Stream<Object[]> pairs = studentRepository.streamEnrollmentPairs()) {
+            for (Object[] pair : (Iterable<Object[]>) pairs::iterator) {
+                long studentId = ((Number) pair[0]).longValue();
+                // Read-committed: a course created (and joined) after the course list was read is left out
+                Integer course = indexById.get(((Number) pair[1]).longValue());
+                if (course == null) {
+                    continue;
+                }
+                if (studentId != currentStudent) {
+                    graph.addClique(enrolled, count);
+                    currentStudent = studentId;
+                    count = 0;
+                }
+                if (count == enrolled.length) {
+                    enrolled = Arrays.copyOf(enrolled, count * 2);
+                }
+                enrolled[count++] = course;
+            }
+        }
+        graph.addClique(enrolled, count);
+        
+        int[] colors = GraphColoring.color(graph, ForkJoinPool.commonPool());
+        List<Timetable.Slot> slots = new ArrayList<>();
+        for (int course = 0; course < colors.length; course++) {
+            while (slots.size() <= colors[course]) {
+                slots.add(new Timetable.Slot(slots.size() + 1, new ArrayList<>()));
+            }
+            slots.get(colors[course]).getCourseCodes().add(codes[course]);
+        }
+        slots.forEach(slot -> slot.getCourseCodes().sort(null));
+        
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Scheduled {} courses into {} slots in {} ms", codes.length, slots.size(), elapsed);
+        return new Timetable(codes.length, graph.edgeCount(), elapsed, slots);
+    }
+}
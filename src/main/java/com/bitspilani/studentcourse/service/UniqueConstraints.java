@@ -0,0 +1,49 @@
+package com.bitspilani.studentcourse.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import java.util.Locale;
+
+// Names match the constraints declared in db/migration/V1__create_students_and_courses.sql
+final class UniqueConstraints {
+    
+    static final String STUDENT_EMAIL = "uk_students_email";
+    static final String COURSE_CODE = "uk_courses_course_code";
+    
+    // SQL standard "unique violation" (H2, PostgreSQL, DB2)
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String H2_INDEX_SUFFIX = "_INDEX_";
+    
+    private UniqueConstraints() {
+    }
+    
+    // Decided by the SQLState and the constraint name Hibernate's dialect extracted, not by the message text
+    static boolean isViolated(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return UNIQUE_VIOLATION.equals(violation.getSQLState())
+                    && constraint.equalsIgnoreCase(constraintName(violation.getConstraintName()));
+            }
+        }
+        return false;
+    }
+    
+    static DataIntegrityViolationException translate(DataIntegrityViolationException e, String constraint,
+                                                     String message) {
+        return isViolated(e, constraint) ? new DuplicateValueException(message, e) : e;
+    }
+    
+    /**
+     * Reduces what the dialect reports to the bare constraint name. H2 names the index behind the constraint
+     * instead, followed by the rest of its message: {@code "PUBLIC.UK_STUDENTS_EMAIL_INDEX_C ON PUBLIC.STUDENTS(...)"}.
+     */
+    static String constraintName(String reported) {
+        if (reported == null) {
+            return null;
+        }
+        String name = reported.replace("\"", "").trim().split("\\s", 2)[0];
+        name = name.substring(name.lastIndexOf('.') + 1);
+        int index = name.toUpperCase(Locale.ROOT).indexOf(H2_INDEX_SUFFIX);
+        return index < 0 ? name : name.substring(0, index);
+    }
+}
@@ -0,0 +1,260 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.config.WriteBehindProperties;
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Optional write-behind for edits nothing else waits on: student profiles (name, department, semester) and
+ * course names and descriptions. With app.write-behind.enabled=true an edit is queued and the request returns
+ * at once. Queued edits to the same student or course are merged (later fields win), and a background thread
+ * writes them in batches, one transaction per batch, when max-batch-size edits are waiting or every
+ * flush-interval-millis. Everything still queued is written on shutdown. If more than max-pending edits are
+ * waiting, the submitting thread writes them itself, which slows callers down instead of growing the queue.
+ * Reads may miss a queued edit until it is flushed, and a queued edit is applied over any synchronous update
+ * of the same fields made in the meantime. Disabled, every edit is written on the calling thread.
+ */
+@Service
+@EnableConfigurationProperties(WriteBehindProperties.class)
+public class WriteBehindService {
+    
+    public static final String METRIC_PREFIX = "app.write.behind";
+    
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindService.class);
+    
+    @Autowired
+    private WriteBehindProperties properties;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<Long, Student> pendingStudents = new ConcurrentHashMap<>();
+    private final Map<Long, Course> pendingCourses = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "write-behind-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private Timer flushTimer;
+    private Counter coalesced;
+    private Counter written;
+    private Counter failed;
+    
+    @PostConstruct
+    public void start() {
+        Gauge.builder(METRIC_PREFIX + ".pending", this, WriteBehindService::getPendingCount)
+            .description("Edits queued for write-behind")
+            .register(meterRegistry);
+        flushTimer = Timer.builder(METRIC_PREFIX + ".flush")
+            .description("Time to write one write-behind batch")
+            .register(meterRegistry);
+        coalesced = Counter.builder(METRIC_PREFIX + ".coalesced")
+            .description("Queued edits merged into an edit already waiting for the same record")
+            .register(meterRegistry);
+        written = Counter.builder(METRIC_PREFIX + ".written").register(meterRegistry);
+        failed = Counter.builder(METRIC_PREFIX + ".failed").register(meterRegistry);
+        if (properties.isEnabled()) {
+            flusher.scheduleWithFixedDelay(this::flushQuietly, properties.getFlushIntervalMillis(),
+                properties.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+            log.info("Write-behind enabled: batches of {} every {} ms", properties.getMaxBatchSize(),
+                properties.getFlushIntervalMillis());
+        }
+    }
+    
+    /**
+     * Returns true if the edit was queued, false if it has already been written. Throws NotFoundException for a
+     * student that does not exist, checked before queuing so the edit is not silently lost at flush time.
+     */
+    public boolean updateStudentProfile(Student profile) {
+        Student copy = new Student(profile.getName(), null, profile.getDepartment(), profile.getSemester());
+        copy.setId(profile.getId());
+        if (!properties.isEnabled()) {
+            if (studentService.updateStudentProfiles(List.of(copy)) == 0) {
+                throw studentNotFound(copy.getId());
+            }
+            return false;
+        }
+        // A queued edit was checked when it arrived
+        if (!pendingStudents.containsKey(copy.getId()) && !studentService.existsById(copy.getId())) {
+            throw studentNotFound(copy.getId());
+        }
+        pendingStudents.merge(copy.getId(), copy, (queued, next) -> {
+            coalesced.increment();
+            return mergeStudents(queued, next);
+        });
+        afterSubmit();
+        return true;
+    }
+    
+    public boolean updateCourseDetails(Course details) {
+        Course copy = new Course(null, details.getCourseName(), null, details.getDescription());
+        copy.setId(details.getId());
+        if (!properties.isEnabled()) {
+            if (courseService.updateCourseDetails(List.of(copy)) == 0) {
+                throw courseNotFound(copy.getId());
+            }
+            return false;
+        }
+        if (!pendingCourses.containsKey(copy.getId()) && courseService.getCourseById(copy.getId()).isEmpty()) {
+            throw courseNotFound(copy.getId());
+        }
+        pendingCourses.merge(copy.getId(), copy, (queued, next) -> {
+            coalesced.increment();
+            return mergeCourses(queued, next);
+        });
+        afterSubmit();
+        return true;
+    }
+    
+    public int getPendingCount() {
+        return pendingStudents.size() + pendingCourses.size();
+    }
+    
+    /**
+     * Writes everything queued so far. Flushes run one at a time, so an edit is never overtaken by an older
+     * edit to the same record: each batch takes the latest queued value of a record out of the queue. Both the
+     * flusher thread and request threads that find the queue full flush, so they queue on a lock.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            drain(pendingStudents, Student::getId, WriteBehindService::mergeStudents,
+                studentService::updateStudentProfiles);
+            drain(pendingCourses, Course::getId, WriteBehindService::mergeCourses, courseService::updateCourseDetails);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+        log.info("Write-behind stopped; queue drained");
+    }
+    
+    private void afterSubmit() {
+        int pending = getPendingCount();
+        if (pending >= properties.getMaxPending()) {
+            flush();
+        } else if (pending >= properties.getMaxBatchSize() && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+    
+    private void flushQuietly() {
+        flushScheduled.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Write-behind flush failed", e);
+        }
+    }
+    
+    private <T> void drain(Map<Long, T> pending, Function<T, Long> idOf, BinaryOperator<T> merge,
+                           Function<Collection<T>, Integer> write) {
+        while (!pending.isEmpty()) {
+            List<T> batch = new ArrayList<>(properties.getMaxBatchSize());
+            for (Long id : pending.keySet()) {
+                T update = pending.remove(id);
+                if (update != null) {
+                    batch.add(update);
+                }
+                if (batch.size() == properties.getMaxBatchSize()) {
+                    break;
+                }
+            }
+            try {
+                writeBatch(batch, idOf, write);
+            } catch (RuntimeException e) {
+                // Typically the database is unavailable: put the edits back under any queued since, and try
+                // again on the next flush
+                for (T update : batch) {
+                    pending.merge(idOf.apply(update), update, (newer, older) -> merge.apply(older, newer));
+                }
+                throw e;
+            }
+        }
+    }
+    
+    private <T> void writeBatch(List<T> batch, Function<T, Long> idOf, Function<Collection<T>, Integer> write) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            write.apply(batch);
+            sample.stop(flushTimer);
+            written.increment(batch.size());
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                // A value the column rejects would fail on every retry, so this edit is dropped
+                failed.increment();
+                log.error("Dropping write-behind edit for id {}", idOf.apply(batch.get(0)), e);
+                return;
+            }
+            // Write the batch one edit at a time so only the bad edit is lost
+            for (T update : batch) {
+                writeBatch(List.of(update), idOf, write);
+            }
+        }
+    }
+    
+    private static NotFoundException studentNotFound(Long id) {
+        return new NotFoundException("Student not found with id: " + id);
+    }
+    
+    private static NotFoundException courseNotFound(Long id) {
+        return new NotFoundException("Course not found with id: " + id);
+    }
+    
+    private static Student mergeStudents(Student queued, Student next) {
+        Student merged = new Student(firstNonNull(next.getName(), queued.getName()), null,
+            firstNonNull(next.getDepartment(), queued.getDepartment()),
+            firstNonNull(next.getSemester(), queued.getSemester()));
+        merged.setId(queued.getId());
+        return merged;
+    }
+    
+    private static Course mergeCourses(Course queued, Course next) {
+        Course merged = new Course(null, firstNonNull(next.getCourseName(), queued.getCourseName()), null,
+            firstNonNull(next.getDescription(), queued.getDescription()));
+        merged.setId(queued.getId());
+        return merged;
+    }
+    
+    private static <T> T firstNonNull(T preferred, T fallback) {
+        return preferred != null ? preferred : fallback;
+    }
+}
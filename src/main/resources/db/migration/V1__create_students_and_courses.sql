@@ -0,0 +1,32 @@
+-- Baseline schema matching the Student and Course entities (previously generated by Hibernate create-drop)
+
+create sequence student_seq start with 1 increment by 50;
+
+create sequence course_seq start with 1 increment by 50;
+
+create table courses (
+    id bigint not null,
+    course_code varchar(255) not null,
+    course_name varchar(200) not null,
+    credits integer not null,
+    description varchar(500),
+    constraint pk_courses primary key (id),
+    constraint uk_courses_course_code unique (course_code)
+);
+
+create table students (
+    id bigint not null,
+    name varchar(100) not null,
+    email varchar(255) not null,
+    department varchar(255) not null,
+    semester integer not null,
+    constraint pk_students primary key (id),
+    constraint uk_students_email unique (email)
+);
+
+create table student_course (
+    student_id bigint not null,
+    course_id bigint not null,
+    constraint fk_student_course_student foreign key (student_id) references students (id),
+    constraint fk_student_course_course foreign key (course_id) references courses (id)
+);
@@ -0,0 +1,16 @@
+-- Department and semester filters (and keyset pages sorted by them) seek on (column, id) instead of scanning
+create index idx_students_department_id on students (department, id);
+
+create index idx_students_semester_id on students (semester, id);
+
+-- The join table had no key: drop any duplicate enrollments, then key it by (student_id, course_id)
+delete from student_course d
+where exists (
+    select 1 from student_course k
+    where k.student_id = d.student_id and k.course_id = d.course_id and k._rowid_ < d._rowid_
+);
+
+alter table student_course add constraint pk_student_course primary key (student_id, course_id);
+
+-- Reverse lookup: who is enrolled in course X
+create index idx_student_course_course_student on student_course (course_id, student_id);
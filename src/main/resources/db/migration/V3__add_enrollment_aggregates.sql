@@ -0,0 +1,14 @@
+-- Maintained enrollment aggregates, so list views read a column instead of counting join rows per row
+alter table courses add column enrolled_count integer default 0 not null;
+
+alter table students add column total_credits integer default 0 not null;
+
+-- Backfill from the existing enrollments
+update courses c set enrolled_count = (
+    select count(*) from student_course sc where sc.course_id = c.id
+);
+
+update students s set total_credits = coalesce((
+    select sum(c.credits) from student_course sc join courses c on c.id = sc.course_id
+    where sc.student_id = s.id
+), 0);
@@ -0,0 +1,15 @@
+-- Optional seat limit per course (null means unlimited), enforced against courses.enrolled_count
+alter table courses add column capacity integer;
+
+-- Students queued for a full course, served in id order as seats free up
+create table course_waitlist (
+    id bigint generated by default as identity,
+    course_id bigint not null,
+    student_id bigint not null,
+    constraint pk_course_waitlist primary key (id),
+    constraint uk_course_waitlist_course_student unique (course_id, student_id),
+    constraint fk_course_waitlist_course foreign key (course_id) references courses (id) on delete cascade,
+    constraint fk_course_waitlist_student foreign key (student_id) references students (id) on delete cascade
+);
+
+create index idx_course_waitlist_course_id on course_waitlist (course_id, id);
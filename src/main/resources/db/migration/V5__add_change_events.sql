@@ -0,0 +1,16 @@
+-- Transactional outbox: one row per student, course or enrollment change, written in the changing transaction
+create sequence change_event_seq start with 1 increment by 50;
+
+-- position is the consumer offset. It stays null until the row is committed and published, then counts up
+-- without gaps in the order events became visible
+create table change_events (
+    id bigint not null,
+    position bigint,
+    aggregate_type varchar(20) not null,
+    aggregate_id bigint not null,
+    event_type varchar(40) not null,
+    payload varchar(2000) not null,
+    occurred_at timestamp not null,
+    constraint pk_change_events primary key (id),
+    constraint uk_change_events_position unique (position)
+);
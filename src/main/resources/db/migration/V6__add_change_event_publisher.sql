@@ -0,0 +1,8 @@
+-- One row that a publisher locks (SELECT ... FOR UPDATE) while it numbers change events, so instances sharing
+-- the database hand out positions one at a time instead of racing for the same ones
+create table change_event_publisher (
+    id integer not null,
+    constraint pk_change_event_publisher primary key (id)
+);
+
+insert into change_event_publisher (id) values (1);
@@ -140,6 +140,11 @@
                 <input type="number" id="credits" name="credits" value="${course.credits}" min="1" max="6" required/>
             </div>
             
+            <div class="form-group">
+                <label for="capacity">Capacity (leave empty for unlimited)</label>
+                <input type="number" id="capacity" name="capacity" value="${course.capacity}" min="1"/>
+            </div>
+            
             <div class="form-group">
                 <label for="description">Description</label>
                 <textarea id="description" name="description">${course.description}</textarea>
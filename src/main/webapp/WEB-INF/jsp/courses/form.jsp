@@ -138,6 +138,11 @@
                 <input type="number" id="credits" name="credits" min="1" max="6" required/>
             </div>
             
+            <div class="form-group">
+                <label for="capacity">Capacity (leave empty for unlimited)</label>
+                <input type="number" id="capacity" name="capacity" min="1"/>
+            </div>
+            
             <div class="form-group">
                 <label for="description">Description</label>
                 <textarea id="description" name="description"></textarea>
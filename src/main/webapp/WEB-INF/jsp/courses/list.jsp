@@ -127,6 +127,25 @@
             padding: 50px;
             color: #666;
         }
+        
+        .sort-links {
+            display: flex;
+            gap: 10px;
+            align-items: center;
+            color: #666;
+        }
+        
+        .sort-links a.active {
+            font-weight: 600;
+            text-decoration: underline;
+        }
+        
+        .pager {
+            display: flex;
+            justify-content: flex-end;
+            gap: 10px;
+            margin-top: 20px;
+        }
     </style>
 </head>
 <body>
@@ -143,9 +162,20 @@
         
         <div class="header">
             <a href="${pageContext.request.contextPath}/" class="btn btn-secondary">🏠 Home</a>
+            <a href="${pageContext.request.contextPath}/search" class="btn btn-secondary">🔍 Search</a>
             <a href="${pageContext.request.contextPath}/courses/new" class="btn btn-primary">➕ Add New Course</a>
         </div>
         
+        <div class="sort-links">
+            Sort by:
+            <a href="<c:url value='/courses'><c:param name='sort' value='id'/><c:param name='size' value='${page.size}'/></c:url>"
+               class="${page.sort == 'id' ? 'active' : ''}">ID</a>
+            <a href="<c:url value='/courses'><c:param name='sort' value='code'/><c:param name='size' value='${page.size}'/></c:url>"
+               class="${page.sort == 'code' ? 'active' : ''}">Course Code</a>
+            <a href="<c:url value='/courses'><c:param name='sort' value='credits'/><c:param name='size' value='${page.size}'/></c:url>"
+               class="${page.sort == 'credits' ? 'active' : ''}">Credits</a>
+        </div>
+        
         <c:choose>
             <c:when test="${not empty courses}">
                 <table>
@@ -155,6 +185,7 @@
                             <th>Course Code</th>
                             <th>Course Name</th>
                             <th>Credits</th>
+                            <th>Enrolled</th>
                             <th>Description</th>
                             <th>Actions</th>
                         </tr>
@@ -166,6 +197,7 @@
                                 <td>${course.courseCode}</td>
                                 <td>${course.courseName}</td>
                                 <td>${course.credits}</td>
+                                <td>${enrolledCounts[course.id]}<c:if test="${course.capacity != null}"> / ${course.capacity}</c:if></td>
                                 <td>${course.description}</td>
                                 <td>
                                     <div class="actions">
@@ -187,6 +219,24 @@
                 </div>
             </c:otherwise>
         </c:choose>
+        
+        <div class="pager">
+            <c:if test="${not page.firstPage}">
+                <a href="<c:url value='/courses'><c:param name='sort' value='${page.sort}'/><c:param name='size' value='${page.size}'/></c:url>"
+                   class="btn btn-secondary">⏮ First Page</a>
+            </c:if>
+            <c:if test="${page.hasNext}">
+                <c:url var="nextUrl" value="/courses">
+                    <c:param name="sort" value="${page.sort}"/>
+                    <c:param name="size" value="${page.size}"/>
+                    <c:param name="afterId" value="${page.nextAfterId}"/>
+                    <c:if test="${not empty page.nextAfterKey}">
+                        <c:param name="afterKey" value="${page.nextAfterKey}"/>
+                    </c:if>
+                </c:url>
+                <a href="${nextUrl}" class="btn btn-primary">Next Page ⏭</a>
+            </c:if>
+        </div>
     </div>
 </body>
 </html>
@@ -106,6 +106,11 @@
                 <h2>🔗 Student-Course</h2>
                 <p>View Students with Enrolled Courses</p>
             </a>
+            
+            <a href="${pageContext.request.contextPath}/search" class="menu-item">
+                <h2>🔍 Search</h2>
+                <p>Find Students and Courses as You Type</p>
+            </a>
         </div>
         
         <div class="footer">
@@ -0,0 +1,164 @@
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@ taglib prefix="c" uri="jakarta.tags.core" %>
+<!DOCTYPE html>
+<html>
+<head>
+    <meta charset="UTF-8">
+    <title>Search</title>
+    <style>
+        * {
+            margin: 0;
+            padding: 0;
+            box-sizing: border-box;
+        }
+        
+        body {
+            font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif;
+            background: linear-gradient(135deg, #667eea 0%, #764ba2 100%);
+            min-height: 100vh;
+            padding: 20px;
+        }
+        
+        .container {
+            max-width: 1200px;
+            margin: 0 auto;
+            background: white;
+            border-radius: 15px;
+            box-shadow: 0 10px 30px rgba(0,0,0,0.3);
+            padding: 30px;
+        }
+        
+        h1 {
+            color: #667eea;
+            margin-bottom: 30px;
+            text-align: center;
+        }
+        
+        h2 {
+            color: #764ba2;
+            margin: 30px 0 10px;
+        }
+        
+        .header {
+            display: flex;
+            gap: 10px;
+            align-items: center;
+            margin-bottom: 20px;
+        }
+        
+        .search-box {
+            flex: 1;
+            padding: 12px;
+            border: 2px solid #ddd;
+            border-radius: 8px;
+            font-size: 16px;
+        }
+        
+        .search-box:focus {
+            outline: none;
+            border-color: #667eea;
+        }
+        
+        .btn {
+            padding: 12px 25px;
+            border: none;
+            border-radius: 8px;
+            cursor: pointer;
+            text-decoration: none;
+            display: inline-block;
+            font-size: 14px;
+        }
+        
+        .btn-primary {
+            background: linear-gradient(135deg, #667eea 0%, #764ba2 100%);
+            color: white;
+        }
+        
+        .btn-secondary {
+            background: #6c757d;
+            color: white;
+        }
+        
+        .hit {
+            display: block;
+            padding: 12px 15px;
+            border-bottom: 1px solid #ddd;
+            color: #333;
+            text-decoration: none;
+        }
+        
+        .hit:hover {
+            background: #f8f9fa;
+        }
+        
+        .hit small {
+            color: #666;
+            margin-left: 10px;
+        }
+        
+        .no-data {
+            text-align: center;
+            padding: 30px;
+            color: #666;
+        }
+    </style>
+</head>
+<body>
+    <div class="container">
+        <h1>Search</h1>
+        
+        <form class="header" action="${pageContext.request.contextPath}/search" method="get">
+            <a href="${pageContext.request.contextPath}/" class="btn btn-secondary">🏠 Home</a>
+            <input type="search" name="q" value="<c:out value='${query}'/>" class="search-box" list="suggestions"
+                   placeholder="Name, email, department, course code or title" autocomplete="off" autofocus>
+            <datalist id="suggestions"></datalist>
+            <button type="submit" class="btn btn-primary">🔍 Search</button>
+        </form>
+        
+        <c:if test="${not empty query}">
+            <h2>Students</h2>
+            <c:forEach var="hit" items="${students}">
+                <a class="hit" href="${pageContext.request.contextPath}/students/edit/${hit.id}">
+                    <c:out value="${hit.title}"/><small><c:out value="${hit.detail}"/></small>
+                </a>
+            </c:forEach>
+            <c:if test="${empty students}">
+                <div class="no-data">No matching students</div>
+            </c:if>
+            
+            <h2>Courses</h2>
+            <c:forEach var="hit" items="${courses}">
+                <a class="hit" href="${pageContext.request.contextPath}/courses/edit/${hit.id}">
+                    <c:out value="${hit.title}"/><small><c:out value="${hit.detail}"/></small>
+                </a>
+            </c:forEach>
+            <c:if test="${empty courses}">
+                <div class="no-data">No matching courses</div>
+            </c:if>
+        </c:if>
+    </div>
+    
+    <script>
+        // Typeahead: suggestions come from the in-memory index, so a request per keystroke is cheap
+        const box = document.querySelector('.search-box');
+        const suggestions = document.getElementById('suggestions');
+        let pending;
+        box.addEventListener('input', () => {
+            clearTimeout(pending);
+            pending = setTimeout(() => {
+                if (!box.value.trim()) {
+                    suggestions.replaceChildren();
+                    return;
+                }
+                fetch('${pageContext.request.contextPath}/api/v1/search?limit=5&fields=title&q=' + encodeURIComponent(box.value))
+                    .then(response => response.json())
+                    .then(hits => suggestions.replaceChildren(...hits.map(hit => {
+                        const option = document.createElement('option');
+                        option.value = hit.title;
+                        return option;
+                    })));
+            }, 100);
+        });
+    </script>
+</body>
+</html>
@@ -163,9 +163,7 @@
                     <c:forEach var="course" items="${courses}">
                         <div class="checkbox-item">
                             <input type="checkbox" name="courseIds" value="${course.id}" id="course_${course.id}"
-                                <c:forEach var="studentCourse" items="${student.courses}">
-                                    <c:if test="${studentCourse.id == course.id}">checked</c:if>
-                                </c:forEach>
+                                <c:if test="${selectedCourseIds.contains(course.id)}">checked</c:if>
                             />
                             <label for="course_${course.id}" style="font-weight: normal; margin: 0;">
                                 ${course.courseCode} - ${course.courseName}
@@ -0,0 +1,223 @@
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@ taglib prefix="c" uri="jakarta.tags.core" %>
+<!DOCTYPE html>
+<html>
+<head>
+    <meta charset="UTF-8">
+    <title>Bulk Import Students</title>
+    <style>
+        * {
+            margin: 0;
+            padding: 0;
+            box-sizing: border-box;
+        }
+        
+        body {
+            font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif;
+            background: linear-gradient(135deg, #667eea 0%, #764ba2 100%);
+            min-height: 100vh;
+            padding: 20px;
+        }
+        
+        .container {
+            max-width: 1000px;
+            margin: 0 auto;
+            background: white;
+            border-radius: 15px;
+            box-shadow: 0 10px 30px rgba(0,0,0,0.3);
+            padding: 40px;
+        }
+        
+        h1 {
+            color: #667eea;
+            margin-bottom: 30px;
+            text-align: center;
+        }
+        
+        .form-group {
+            margin-bottom: 25px;
+        }
+        
+        label {
+            display: block;
+            margin-bottom: 8px;
+            color: #333;
+            font-weight: 600;
+        }
+        
+        input[type="text"],
+        input[type="email"],
+        input[type="number"],
+        select {
+            width: 100%;
+            padding: 12px;
+            border: 2px solid #ddd;
+            border-radius: 8px;
+            font-size: 14px;
+            transition: border-color 0.3s;
+        }
+        
+        input:focus,
+        select:focus {
+            outline: none;
+            border-color: #667eea;
+        }
+        
+        .error {
+            color: #dc3545;
+            font-size: 13px;
+            margin-top: 5px;
+        }
+        
+        .alert {
+            padding: 15px;
+            border-radius: 8px;
+            margin-bottom: 20px;
+        }
+        
+        .alert-error {
+            background: #f8d7da;
+            color: #721c24;
+            border: 1px solid #f5c6cb;
+        }
+        
+        .btn {
+            padding: 12px 25px;
+            border: none;
+            border-radius: 8px;
+            cursor: pointer;
+            text-decoration: none;
+            display: inline-block;
+            font-size: 14px;
+            transition: all 0.3s;
+            margin-right: 10px;
+        }
+        
+        .btn-primary {
+            background: linear-gradient(135deg, #667eea 0%, #764ba2 100%);
+            color: white;
+        }
+        
+        .btn-primary:hover {
+            transform: translateY(-2px);
+            box-shadow: 0 5px 15px rgba(102, 126, 234, 0.4);
+        }
+        
+        .btn-secondary {
+            background: #6c757d;
+            color: white;
+        }
+        
+        .form-actions {
+            margin-top: 30px;
+            display: flex;
+            justify-content: center;
+        }
+        
+        table {
+            width: 100%;
+            border-collapse: collapse;
+            margin-top: 20px;
+        }
+        
+        th, td {
+            padding: 15px;
+            text-align: left;
+            border-bottom: 1px solid #ddd;
+        }
+        
+        th {
+            background: linear-gradient(135deg, #667eea 0%, #764ba2 100%);
+            color: white;
+            font-weight: 600;
+        }
+        
+        .summary {
+            display: flex;
+            gap: 20px;
+            margin: 20px 0;
+            font-weight: 600;
+        }
+        
+        .hint {
+            color: #666;
+            font-size: 13px;
+            margin-top: 8px;
+        }
+    </style>
+</head>
+<body>
+    <div class="container">
+        <h1>Bulk Import Students</h1>
+        
+        <c:if test="${not empty errorMessage}">
+            <div class="alert alert-error">${errorMessage}</div>
+        </c:if>
+        
+        <form action="${pageContext.request.contextPath}/students/import" method="post" enctype="multipart/form-data">
+            <div class="form-group">
+                <label for="file">CSV or NDJSON file *</label>
+                <input type="file" id="file" name="file" accept=".csv,.ndjson,.jsonl" required/>
+                <p class="hint">CSV columns: name,email,department,semester,courseCodes (course codes separated by ";").
+                    NDJSON lines: {"name": ..., "email": ..., "department": ..., "semester": ..., "courseCodes": [...]}</p>
+            </div>
+            
+            <div class="form-actions">
+                <button type="submit" class="btn btn-primary">Import</button>
+                <a href="${pageContext.request.contextPath}/students" class="btn btn-secondary">Back to Students</a>
+            </div>
+        </form>
+        
+        <c:if test="${not empty report}">
+            <div class="summary">
+                <span>Rows: ${report.totalRows}</span>
+                <span>Imported: ${report.importedRows}</span>
+                <span>Failed: ${report.failedRows}</span>
+                <span>Time: ${report.elapsedMillis} ms (${report.rowsPerSecond} rows/s)</span>
+            </div>
+            
+            <c:if test="${not empty report.errors}">
+                <h3>Row Errors<c:if test="${report.errorsTruncated}"> (first ${report.errors.size()} shown)</c:if></h3>
+                <table>
+                    <thead>
+                        <tr>
+                            <th>Line</th>
+                            <th>Error</th>
+                        </tr>
+                    </thead>
+                    <tbody>
+                        <c:forEach var="error" items="${report.errors}">
+                            <tr>
+                                <td>${error.lineNumber}</td>
+                                <td><c:out value="${error.message}"/></td>
+                            </tr>
+                        </c:forEach>
+                    </tbody>
+                </table>
+            </c:if>
+            
+            <h3>Chunks</h3>
+            <table>
+                <thead>
+                    <tr>
+                        <th>Chunk</th>
+                        <th>Rows</th>
+                        <th>Imported</th>
+                        <th>Time (ms)</th>
+                    </tr>
+                </thead>
+                <tbody>
+                    <c:forEach var="chunk" items="${report.chunks}">
+                        <tr>
+                            <td>${chunk.chunkNumber}</td>
+                            <td>${chunk.rows}</td>
+                            <td>${chunk.imported}</td>
+                            <td>${chunk.elapsedMillis}</td>
+                        </tr>
+                    </c:forEach>
+                </tbody>
+            </table>
+        </c:if>
+    </div>
+</body>
+</html>
\ No newline at end of file
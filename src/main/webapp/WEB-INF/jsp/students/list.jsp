@@ -127,6 +127,25 @@
             padding: 50px;
             color: #666;
         }
+        
+        .sort-links {
+            display: flex;
+            gap: 10px;
+            align-items: center;
+            color: #666;
+        }
+        
+        .sort-links a.active {
+            font-weight: 600;
+            text-decoration: underline;
+        }
+        
+        .pager {
+            display: flex;
+            justify-content: flex-end;
+            gap: 10px;
+            margin-top: 20px;
+        }
     </style>
 </head>
 <body>
@@ -143,9 +162,21 @@
         
         <div class="header">
             <a href="${pageContext.request.contextPath}/" class="btn btn-secondary">🏠 Home</a>
+            <a href="${pageContext.request.contextPath}/search" class="btn btn-secondary">🔍 Search</a>
+            <a href="${pageContext.request.contextPath}/students/import" class="btn btn-secondary">📥 Bulk Import</a>
             <a href="${pageContext.request.contextPath}/students/new" class="btn btn-primary">➕ Add New Student</a>
         </div>
         
+        <div class="sort-links">
+            Sort by:
+            <a href="<c:url value='/students'><c:param name='sort' value='id'/><c:param name='size' value='${page.size}'/></c:url>"
+               class="${page.sort == 'id' ? 'active' : ''}">ID</a>
+            <a href="<c:url value='/students'><c:param name='sort' value='department'/><c:param name='size' value='${page.size}'/></c:url>"
+               class="${page.sort == 'department' ? 'active' : ''}">Department</a>
+            <a href="<c:url value='/students'><c:param name='sort' value='semester'/><c:param name='size' value='${page.size}'/></c:url>"
+               class="${page.sort == 'semester' ? 'active' : ''}">Semester</a>
+        </div>
+        
         <c:choose>
             <c:when test="${not empty students}">
                 <table>
@@ -156,6 +187,7 @@
                             <th>Email</th>
                             <th>Department</th>
                             <th>Semester</th>
+                            <th>Credits</th>
                             <th>Actions</th>
                         </tr>
                     </thead>
@@ -167,6 +199,7 @@
                                 <td>${student.email}</td>
                                 <td>${student.department}</td>
                                 <td>${student.semester}</td>
+                                <td>${student.totalCredits}</td>
                                 <td>
                                     <div class="actions">
                                         <a href="${pageContext.request.contextPath}/students/edit/${student.id}" class="btn btn-warning">Edit</a>
@@ -187,6 +220,24 @@
                 </div>
             </c:otherwise>
         </c:choose>
+        
+        <div class="pager">
+            <c:if test="${not page.firstPage}">
+                <a href="<c:url value='/students'><c:param name='sort' value='${page.sort}'/><c:param name='size' value='${page.size}'/></c:url>"
+                   class="btn btn-secondary">⏮ First Page</a>
+            </c:if>
+            <c:if test="${page.hasNext}">
+                <c:url var="nextUrl" value="/students">
+                    <c:param name="sort" value="${page.sort}"/>
+                    <c:param name="size" value="${page.size}"/>
+                    <c:param name="afterId" value="${page.nextAfterId}"/>
+                    <c:if test="${not empty page.nextAfterKey}">
+                        <c:param name="afterKey" value="${page.nextAfterKey}"/>
+                    </c:if>
+                </c:url>
+                <a href="${nextUrl}" class="btn btn-primary">Next Page ⏭</a>
+            </c:if>
+        </div>
     </div>
 </body>
 </html>
@@ -57,6 +57,23 @@
             color: white;
         }
         
+        .btn-primary {
+            background: linear-gradient(135deg, #667eea 0%, #764ba2 100%);
+            color: white;
+        }
+        
+        .export-links {
+            display: flex;
+            gap: 10px;
+        }
+        
+        .pager {
+            display: flex;
+            justify-content: flex-end;
+            gap: 10px;
+            margin-top: 20px;
+        }
+        
         table {
             width: 100%;
             border-collapse: collapse;
@@ -92,6 +109,10 @@
         
         <div class="header">
             <a href="${pageContext.request.contextPath}/" class="btn btn-secondary">🏠 Home</a>
+            <div class="export-links">
+                <a href="${pageContext.request.contextPath}/students/with-courses/export?format=csv" class="btn btn-primary">⬇ Export CSV</a>
+                <a href="${pageContext.request.contextPath}/students/with-courses/export?format=ndjson" class="btn btn-primary">⬇ Export NDJSON</a>
+            </div>
         </div>
         
         <c:choose>
@@ -132,6 +153,21 @@
                 </div>
             </c:otherwise>
         </c:choose>
+        
+        <div class="pager">
+            <c:if test="${not page.firstPage}">
+                <a href="<c:url value='/students/with-courses'><c:param name='size' value='${page.size}'/></c:url>"
+                   class="btn btn-secondary">⏮ First Page</a>
+            </c:if>
+            <c:if test="${page.hasNext}">
+                <c:url var="nextUrl" value="/students/with-courses">
+                    <c:param name="size" value="${page.size}"/>
+                    <c:param name="afterId" value="${page.nextAfterId}"/>
+                    <c:param name="afterKey" value="${page.nextAfterKey}"/>
+                </c:url>
+                <a href="${nextUrl}" class="btn btn-primary">Next Page ⏭</a>
+            </c:if>
+        </div>
     </div>
 </body>
 </html>
@@ -0,0 +1,56 @@
+package com.bitspilani.studentcourse;
+
+import com.bitspilani.studentcourse.entity.Student;
+import com.bitspilani.studentcourse.repository.CourseRepository;
+import com.bitspilani.studentcourse.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PersistentStorageTest {
+    
+    @TempDir
+    Path dataDir;
+    
+    @Test
+    public void testDataSurvivesRestartWithoutReseeding() throws SQLException {
+        String url;
+        try (ConfigurableApplicationContext context = start()) {
+            url = context.getEnvironment().getProperty("spring.datasource.url");
+            assertThat(context.getBean(StudentRepository.class).count()).isEqualTo(10);
+            context.getBean(StudentRepository.class).save(new Student("Added Later", "later@example.com", "CS", 3));
+        }
+        
+        // Opening the closed database and reading from it is the storage part of a warm restart
+        long start = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             ResultSet count = connection.createStatement().executeQuery("SELECT COUNT(*) FROM students")) {
+            assertThat(count.next()).isTrue();
+            assertThat(count.getLong(1)).isEqualTo(11);
+        }
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        
+        try (ConfigurableApplicationContext context = start()) {
+            StudentRepository studentRepository = context.getBean(StudentRepository.class);
+            assertThat(studentRepository.count()).isEqualTo(11);
+            assertThat(studentRepository.existsByEmail("later@example.com")).isTrue();
+            assertThat(context.getBean(CourseRepository.class).count()).isEqualTo(10);
+        }
+    }
+    
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(StudentCourseManagementApplication.class)
+            .web(WebApplicationType.NONE)
+            .run("--spring.profiles.active=persistent", "--app.data-dir=" + dataDir,
+                "--spring.jpa.show-sql=false", "--app.seed.students=10", "--app.seed.courses=10");
+    }
+}
@@ -0,0 +1,54 @@
+package com.bitspilani.studentcourse;
+
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SyntheticDataGeneratorTest {
+    
+    @Test
+    public void testSameSeedProducesSameData() {
+        SyntheticDataGenerator first = new SyntheticDataGenerator(7L, 50, 2, 5);
+        SyntheticDataGenerator second = new SyntheticDataGenerator(7L, 50, 2, 5);
+        
+        for (int i = 0; i < 100; i++) {
+            assertThat(second.student(i).getEmail()).isEqualTo(first.student(i).getEmail());
+            assertThat(second.courseIndexesFor(i)).isEqualTo(first.courseIndexesFor(i));
+        }
+        assertThat(second.course(10).getCourseCode()).isEqualTo(first.course(10).getCourseCode());
+    }
+    
+    @Test
+    public void testCourseCodesAndEmailsAreUnique() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(42L, 500, 2, 4);
+        
+        Set<String> codes = new HashSet<>();
+        IntStream.range(0, 500).mapToObj(generator::course).map(Course::getCourseCode).forEach(codes::add);
+        Set<String> emails = new HashSet<>();
+        IntStream.range(0, 1000).mapToObj(generator::student).map(Student::getEmail).forEach(emails::add);
+        
+        assertThat(codes).hasSize(500);
+        assertThat(emails).hasSize(1000);
+    }
+    
+    @Test
+    public void testEnrollmentsAreDistinctAndSkewedTowardsPopularCourses() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(42L, 60, 3, 6);
+        int[] enrollmentsPerCourse = new int[60];
+        
+        for (int i = 0; i < 5000; i++) {
+            int[] courses = generator.courseIndexesFor(i);
+            assertThat(courses.length).isBetween(3, 6);
+            assertThat(Arrays.stream(courses).distinct().count()).isEqualTo(courses.length);
+            Arrays.stream(courses).forEach(c -> enrollmentsPerCourse[c]++);
+        }
+        
+        // The first course of each department is its most popular; the tail is much smaller
+        assertThat(enrollmentsPerCourse[0]).isGreaterThan(3 * enrollmentsPerCourse[54]);
+    }
+}
@@ -0,0 +1,153 @@
+package com.bitspilani.studentcourse.analytics;
+
+import com.bitspilani.studentcourse.dto.CourseCredits;
+import com.bitspilani.studentcourse.dto.CoursePair;
+import com.bitspilani.studentcourse.dto.DepartmentSemesterCount;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class EnrollmentSnapshotTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentSnapshotTest.class);
+    
+    @Test
+    public void testGroupByDepartmentAndSemester() {
+        EnrollmentSnapshot snapshot = sample().build();
+        
+        assertThat(snapshot.enrollmentsByDepartmentAndSemester(null))
+            .extracting(DepartmentSemesterCount::getDepartment, DepartmentSemesterCount::getSemester,
+                DepartmentSemesterCount::getStudents, DepartmentSemesterCount::getEnrollments)
+            .containsExactly(tuple("CS", 1, 2L, 5L), tuple("CS", 3, 1L, 2L), tuple("EE", 1, 1L, 1L));
+        assertThat(snapshot.enrollmentsByDepartmentAndSemester("EE")).singleElement()
+            .satisfies(row -> assertThat(row.getEnrollments()).isEqualTo(1));
+        assertThat(snapshot.enrollmentsByDepartmentAndSemester("ME")).isEmpty();
+    }
+    
+    @Test
+    public void testCreditsAndPairs() {
+        EnrollmentSnapshot snapshot = sample().build();
+        
+        assertThat(snapshot.creditsByCourse(null, 10))
+            .extracting(CourseCredits::getCourseCode, CourseCredits::getEnrollments, CourseCredits::getCreditHours)
+            .containsExactly(tuple("CS101", 4, 16L), tuple("MA101", 2, 6L), tuple("CS102", 2, 4L));
+        assertThat(snapshot.creditsByCourse("CS", 1))
+            .extracting(CourseCredits::getCourseCode, CourseCredits::getEnrollments)
+            .containsExactly(tuple("CS101", 3));
+        assertThat(snapshot.popularCoursePairs(null, 10))
+            .extracting(CoursePair::getFirstCourseCode, CoursePair::getSecondCourseCode, CoursePair::getStudents)
+            .containsExactly(tuple("CS101", "CS102", 2), tuple("CS101", "MA101", 2), tuple("CS102", "MA101", 1));
+        assertThat(snapshot.popularCoursePairs("CS", 1)).singleElement()
+            .satisfies(pair -> assertThat(pair.getStudents()).isEqualTo(2));
+    }
+    
+    @Test
+    public void testChangesApplyOnTopOfThePreviousSnapshot() {
+        EnrollmentSnapshot.Builder builder = sample();
+        builder.build();
+        assertThat(builder.hasChanges()).isFalse();
+        
+        // Replaying an enrollment the snapshot already has changes nothing
+        builder.addEnrollment(1, 10);
+        builder.dropEnrollment(2, 11);
+        builder.addEnrollment(2, 11);
+        builder.dropEnrollment(2, 11);
+        builder.removeStudent(3);
+        builder.putStudent(1, "EE", 2);
+        builder.putStudent(5, "ME", 1);
+        builder.putCourse(13, "ME101", "Mechanics", 2);
+        builder.addEnrollment(5, 13);
+        builder.removeCourse(12);
+        EnrollmentSnapshot snapshot = builder.build();
+        
+        assertThat(snapshot.getEnrollmentCount()).isEqualTo(5);
+        assertThat(snapshot.enrollmentsByDepartmentAndSemester(null))
+            .extracting(DepartmentSemesterCount::getDepartment, DepartmentSemesterCount::getSemester,
+                DepartmentSemesterCount::getEnrollments)
+            .containsExactly(tuple("CS", 1, 1L), tuple("EE", 1, 1L), tuple("EE", 2, 2L), tuple("ME", 1, 1L));
+        assertThat(snapshot.creditsByCourse(null, 10)).extracting(CourseCredits::getCourseCode)
+            .containsExactly("CS101", "CS102", "ME101");
+    }
+    
+    @Test
+    public void testMillionsOfEnrollmentsAreAnsweredQuickly() {
+        int students = 400_000;
+        int courses = 5_000;
+        Random random = new Random(11);
+        String[] departments = {"CS", "EE", "ME", "CE", "CH", "BIO", "ECO", "MATH", "PHY", "MGMT"};
+        EnrollmentSnapshot.Builder builder = new EnrollmentSnapshot.Builder();
+        for (int c = 0; c < courses; c++) {
+            builder.putCourse(c, "C" + c, "Course " + c, 1 + random.nextInt(4));
+        }
+        for (int s = 0; s < students; s++) {
+            int department = random.nextInt(departments.length);
+            builder.putStudent(s, departments[department], 1 + random.nextInt(8));
+            int count = 3 + random.nextInt(6);
+            for (int i = 0; i < count; i++) {
+                // Mostly courses of the student's own department, some electives anywhere
+                int course = random.nextInt(4) == 0 ? random.nextInt(courses)
+                    : department * (courses / departments.length) + random.nextInt(courses / departments.length);
+                builder.addEnrollment(s, course);
+            }
+        }
+        long start = System.nanoTime();
+        EnrollmentSnapshot snapshot = builder.build();
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        long groupBy = medianMillis(() -> snapshot.enrollmentsByDepartmentAndSemester(null));
+        long credits = medianMillis(() -> snapshot.creditsByCourse("CS", 10));
+        long pairs = medianMillis(() -> snapshot.popularCoursePairs(null, 10));
+        log.info("{} enrollments: built in {} ms; department x semester {} ms, credits by course {} ms, "
+            + "course pairs {} ms (median)", snapshot.getEnrollmentCount(), buildMillis, groupBy, credits, pairs);
+        
+        assertThat(snapshot.getEnrollmentCount()).isGreaterThan(2_000_000);
+        long total = snapshot.enrollmentsByDepartmentAndSemester(null).stream()
+            .mapToLong(DepartmentSemesterCount::getEnrollments).sum();
+        assertThat(total).isEqualTo(snapshot.getEnrollmentCount());
+        assertThat(snapshot.popularCoursePairs(null, 10)).hasSize(10);
+        // Generous bounds for shared build machines; the log line shows the real numbers
+        assertThat(groupBy).isLessThan(500);
+        assertThat(credits).isLessThan(500);
+        assertThat(pairs).isLessThan(2_000);
+    }
+    
+    // Students 1-4 and courses 10-12 (4, 2 and 3 credits)
+    private static EnrollmentSnapshot.Builder sample() {
+        EnrollmentSnapshot.Builder builder = new EnrollmentSnapshot.Builder();
+        builder.putStudent(1, "CS", 1);
+        builder.putStudent(2, "CS", 1);
+        builder.putStudent(3, "CS", 3);
+        builder.putStudent(4, "EE", 1);
+        builder.putCourse(10, "CS101", "Programming", 4);
+        builder.putCourse(11, "CS102", "Data Structures", 2);
+        builder.putCourse(12, "MA101", "Calculus", 3);
+        builder.addEnrollment(1, 10);
+        builder.addEnrollment(1, 11);
+        builder.addEnrollment(2, 10);
+        builder.addEnrollment(2, 11);
+        builder.addEnrollment(2, 12);
+        builder.addEnrollment(3, 10);
+        builder.addEnrollment(3, 12);
+        builder.addEnrollment(4, 10);
+        // Unknown student: ignored
+        builder.addEnrollment(99, 10);
+        return builder;
+    }
+    
+    private static long medianMillis(Supplier<List<?>> query) {
+        long[] millis = new long[9];
+        for (int i = 0; i < millis.length; i++) {
+            long start = System.nanoTime();
+            query.get();
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(millis);
+        return millis[millis.length / 2];
+    }
+}
@@ -0,0 +1,126 @@
+package com.bitspilani.studentcourse.controller;
+
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.service.CourseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "app.analytics.refresh-interval-millis=0"
+    })
+public class ListPageCachingTest {
+    
+    @Autowired
+    private TestRestTemplate restTemplate;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final List<String> createdCodes = new ArrayList<>();
+    
+    @AfterEach
+    public void tearDown() {
+        courseService.getAllCourses().stream()
+            .filter(course -> createdCodes.contains(course.getCourseCode()))
+            .forEach(course -> courseService.deleteCourse(course.getId()));
+    }
+    
+    @Test
+    public void testRepeatedPageLoadIssuesNoSqlAndRendersNothing() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String first = restTemplate.getForObject("/students/with-courses?size=7", String.class);
+        double hits = pageLoads("hit");
+        statistics.clear();
+        
+        String second = restTemplate.getForObject("/students/with-courses?size=7", String.class);
+        
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(pageLoads("hit")).isEqualTo(hits + 1);
+        assertThat(second).isEqualTo(first);
+    }
+    
+    @Test
+    public void testConditionalGetIsAnsweredUntilTheDataChanges() {
+        ResponseEntity<String> first = restTemplate.getForEntity("/courses?sort=code&size=3", String.class);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isNotNull();
+        assertThat(first.getHeaders().getCacheControl()).isEqualTo("no-cache");
+        assertThat(first.getHeaders().getLastModified()).isPositive();
+        
+        ResponseEntity<String> unchanged = getIfNoneMatch("/courses?sort=code&size=3", etag);
+        assertThat(unchanged.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(unchanged.getBody()).isNull();
+        
+        createdCodes.add("AAA001");
+        courseService.saveCourse(new Course("AAA001", "Cache Busting", 2, null));
+        ResponseEntity<String> changed = getIfNoneMatch("/courses?sort=code&size=3", etag);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(changed.getBody()).contains("AAA001");
+    }
+    
+    @Test
+    public void testFlashMessageIsShownOnceAndNeverCached() {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("courseCode", "FLS101");
+        form.add("courseName", "Flash Messages");
+        form.add("credits", "3");
+        HttpHeaders formHeaders = new HttpHeaders();
+        formHeaders.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        createdCodes.add("FLS101");
+        ResponseEntity<String> saved = restTemplate.postForEntity("/courses/save",
+            new HttpEntity<>(form, formHeaders), String.class);
+        assertThat(saved.getStatusCode()).isEqualTo(HttpStatus.FOUND);
+        String session = saved.getHeaders().getFirst(HttpHeaders.SET_COOKIE);
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.COOKIE, session.substring(0, session.indexOf(';')));
+        
+        ResponseEntity<String> redirected = restTemplate.exchange("/courses", HttpMethod.GET,
+            new HttpEntity<>(headers), String.class);
+        ResponseEntity<String> reloaded = restTemplate.exchange("/courses", HttpMethod.GET,
+            new HttpEntity<>(headers), String.class);
+        
+        assertThat(redirected.getBody()).contains("Course created successfully!");
+        assertThat(redirected.getHeaders().getCacheControl()).isEqualTo("no-store");
+        assertThat(redirected.getHeaders().getETag()).isNull();
+        assertThat(reloaded.getBody()).doesNotContain("Course created successfully!");
+    }
+    
+    private ResponseEntity<String> getIfNoneMatch(String path, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+    
+    private double pageLoads(String result) {
+        return meterRegistry.get(RenderedPageCache.METRIC_NAME).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,77 @@
+package com.bitspilani.studentcourse.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Renders each page through the embedded server (so lazy loads triggered by the JSPs are counted too)
+ * and fails when an endpoint issues more SQL statements than its budget allows.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        // Statistics are global, so background SQL would be charged to whichever request is being measured
+        "app.analytics.refresh-interval-millis=0"
+    })
+public class QueryBudgetTest {
+    
+    @Autowired
+    private TestRestTemplate restTemplate;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    @ParameterizedTest(name = "{0} <= {1} statements")
+    @CsvSource({
+        "/,                                  0",
+        "/students,                          1",
+        "/students?sort=department&size=5,   1",
+        "/students/new,                      1",
+        "/students/edit/1,                   2",
+        "/students/with-courses,             1",
+        "/students/with-courses/export,      1",
+        "/courses,                           2",
+        "/courses?sort=credits&size=5,       2",
+        "/courses/new,                       0",
+        "/courses/edit/1,                    1",
+        "/api/v1/students,                   1",
+        "/api/v1/students?department=CS,     1",
+        "/api/v1/students/1,                 1",
+        "/api/v1/courses,                    2",
+        "/api/v1/courses/1/students,         1",
+        "/search?q=cs,                       0",
+        "/api/v1/search?q=a&type=course,     0",
+        "/api/v1/analytics/enrollments,      0",
+        "/api/v1/analytics/course-pairs,     0"
+    })
+    public void testEndpointStaysWithinQueryBudget(String path, long budget) {
+        statistics.clear();
+        
+        ResponseEntity<String> response = restTemplate.getForEntity(path, String.class);
+        long statements = statistics.getPrepareStatementCount();
+        
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(statements)
+            .as("SQL statements issued by GET %s", path)
+            .isLessThanOrEqualTo(budget);
+    }
+}
@@ -0,0 +1,141 @@
+package com.bitspilani.studentcourse.controller;
+
+import com.bitspilani.studentcourse.datasource.ReadYourWrites;
+import com.bitspilani.studentcourse.datasource.ReplicaRoutingDataSource;
+import com.bitspilani.studentcourse.entity.Student;
+import com.bitspilani.studentcourse.service.AnalyticsService;
+import com.bitspilani.studentcourse.service.StudentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import javax.sql.DataSource;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A second in-memory H2 database stands in for the replica. Nothing replicates to it, so a read that finds a row
+ * only the primary has must have gone to the primary, and vice versa.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.jpa.show-sql=false",
+        "app.seed.enabled=false",
+        "app.analytics.refresh-interval-millis=0",
+        "app.datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.replica.read-your-writes-millis=60000"
+    })
+public class ReadReplicaRoutingTest {
+    
+    static final String REPLICA_URL = "jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1";
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private AnalyticsService analyticsService;
+    
+    @Autowired
+    private ReadYourWrites readYourWrites;
+    
+    @Autowired
+    private TestRestTemplate restTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+    
+    @BeforeAll
+    public static void createReplicaSchema() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        readYourWrites.clear();
+        for (DataSource dataSource : new DataSource[] {primaryDataSource, replicaDataSource}) {
+            new JdbcTemplate(dataSource).update("DELETE FROM students WHERE email LIKE '%@replica.example.com'");
+        }
+    }
+    
+    @Test
+    public void testReadOnlyMethodsReadFromTheReplica() {
+        Student saved = studentService.saveStudent(new Student("Rita Replica", "rita@replica.example.com", "CS", 2));
+        // Another client, which has not written anything
+        readYourWrites.clear();
+        double replicaBefore = connections(ReplicaRoutingDataSource.REPLICA);
+        
+        assertThat(studentService.getStudentById(saved.getId())).isEmpty();
+        assertThat(connections(ReplicaRoutingDataSource.REPLICA)).isEqualTo(replicaBefore + 1);
+        
+        // Once the row has "replicated", the replica serves it
+        new JdbcTemplate(replicaDataSource).update(
+            "INSERT INTO students (id, name, email, department, semester, total_credits) VALUES (?, ?, ?, ?, ?, 0)",
+            saved.getId(), "Rita Replica", "rita@replica.example.com", "CS", 2);
+        assertThat(studentService.getStudentById(saved.getId())).get()
+            .satisfies(student -> assertThat(student.getName()).isEqualTo("Rita Replica"));
+    }
+    
+    @Test
+    public void testWritingThreadReadsItsOwnWrite() {
+        Student saved = studentService.saveStudent(new Student("Wanda Writer", "wanda@replica.example.com", "EE", 4));
+        
+        assertThat(studentService.getStudentById(saved.getId())).isPresent();
+    }
+    
+    @Test
+    public void testClientReadsItsOwnWriteThroughTheCookie() {
+        ResponseEntity<String> created = restTemplate.postForEntity("/api/v1/students", Map.of(
+            "name", "Cora Cookie", "email", "cora@replica.example.com", "department", "ME", "semester", 1),
+            String.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        String cookie = created.getHeaders().getFirst(HttpHeaders.SET_COOKIE);
+        assertThat(cookie).startsWith(ReadYourWrites.COOKIE_NAME + "=");
+        String location = created.getHeaders().getLocation().getPath();
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.COOKIE, cookie.substring(0, cookie.indexOf(';')));
+        ResponseEntity<String> writer = restTemplate.exchange(location, HttpMethod.GET, new HttpEntity<>(headers),
+            String.class);
+        ResponseEntity<String> otherClient = restTemplate.getForEntity(location, String.class);
+        
+        assertThat(writer.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(otherClient.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+    
+    @Test
+    public void testAnalyticsLoadReadsThePrimary() {
+        studentService.saveStudent(new Student("Lena Lag", "lena@replica.example.com", "LAG", 3));
+        readYourWrites.clear();
+        
+        // The load resumes from the primary's latest offset, so a student read from the replica would never arrive
+        analyticsService.start();
+        analyticsService.refresh();
+        
+        assertThat(analyticsService.enrollmentsByDepartmentAndSemester("LAG")).singleElement()
+            .satisfies(row -> assertThat(row.getStudents()).isEqualTo(1));
+    }
+    
+    private double connections(String target) {
+        return meterRegistry.get(ReplicaRoutingDataSource.METRIC_NAME).tag("target", target).counter().count();
+    }
+}
@@ -0,0 +1,46 @@
+package com.bitspilani.studentcourse.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+    })
+@AutoConfigureObservability(tracing = false)
+public class RequestMetricsTest {
+    
+    @Autowired
+    private TestRestTemplate restTemplate;
+    
+    @Test
+    public void testPrometheusEndpointPublishesRequestServiceAndQueryMetrics() {
+        restTemplate.getForEntity("/students/edit/1", String.class);
+        restTemplate.getForEntity("/courses", String.class);
+        // A different page URL over the same course page, so it misses the page cache but hits coursePages
+        restTemplate.getForEntity("/courses?sort=id", String.class);
+        restTemplate.getForEntity("/courses", String.class);
+        
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+        
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+            .contains("http_server_requests_seconds{error=\"none\",exception=\"none\",method=\"GET\","
+                + "outcome=\"SUCCESS\",status=\"200\",uri=\"/students/edit/{id}\",quantile=\"0.99\",}")
+            .contains("app_http_sql_statements_sum{method=\"GET\",uri=\"/students/edit/{id}\",} 2.0")
+            .contains("app_service_calls_seconds_count{class=\"StudentService\",exception=\"none\","
+                + "method=\"getStudentWithCoursesById\",}")
+            .contains("cache_gets_total{cache=\"coursePages\",cache_manager=\"cacheManager\","
+                + "name=\"coursePages\",result=\"hit\",}")
+            .contains("app_page_cache_total{result=\"hit\",} 1.0")
+            .contains("hibernate_statements_total");
+    }
+}
@@ -0,0 +1,212 @@
+package com.bitspilani.studentcourse.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.jpa.show-sql=false")
+public class RestApiTest {
+    
+    @Autowired
+    private TestRestTemplate restTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final List<String> created = new ArrayList<>();
+    
+    @AfterEach
+    public void tearDown() {
+        // Students first, so their seats are released before the courses go
+        created.stream().filter(uri -> uri.contains("/students/")).forEach(restTemplate::delete);
+        created.stream().filter(uri -> uri.contains("/courses/")).forEach(restTemplate::delete);
+    }
+    
+    @Test
+    public void testCreateReadAndEnrollThroughTheApi() throws IOException {
+        String course = post("/api/v1/courses", Map.of(
+            "courseCode", "API101", "courseName", "Web APIs", "credits", 4, "capacity", 1));
+        long courseId = id(course);
+        String first = post("/api/v1/students", Map.of(
+            "name", "First Api", "email", "first.api@example.com", "department", "CS", "semester", 3,
+            "courseIds", List.of(courseId)));
+        String second = post("/api/v1/students", Map.of(
+            "name", "Second Api", "email", "second.api@example.com", "department", "CS", "semester", 3));
+        
+        JsonNode student = get(first);
+        assertThat(student.get("totalCredits").asInt()).isEqualTo(4);
+        assertThat(student.get("courses").get(0).get("courseCode").asText()).isEqualTo("API101");
+        assertThat(get(course).get("enrolledCount").asInt()).isEqualTo(1);
+        
+        ResponseEntity<String> waitlisted = restTemplate.exchange(
+            second + "/courses/" + courseId, HttpMethod.PUT, null, String.class);
+        assertThat(waitlisted.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(objectMapper.readTree(waitlisted.getBody()).get("waitlistPosition").asLong()).isEqualTo(1);
+        
+        ResponseEntity<String> enrolled = restTemplate.exchange(
+            first + "/courses/" + courseId, HttpMethod.PUT, null, String.class);
+        assertThat(objectMapper.readTree(enrolled.getBody()).get("status").asText()).isEqualTo("ALREADY_ENROLLED");
+        
+        ResponseEntity<Void> dropped = restTemplate.exchange(
+            second + "/courses/" + courseId, HttpMethod.DELETE, null, Void.class);
+        assertThat(dropped.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(restTemplate.getForEntity(second + "/courses/" + courseId + "/waitlist", String.class)
+            .getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+    
+    @Test
+    public void testFieldSelectionKeepsOnlyRequestedProperties() throws IOException {
+        JsonNode page = objectMapper.readTree(restTemplate.getForObject(
+            "/api/v1/courses?size=2&fields=id,courseCode", String.class));
+        
+        assertThat(page.get("items")).hasSize(2);
+        page.get("items").forEach(item -> assertThat(item.fieldNames()).toIterable()
+            .containsExactlyInAnyOrder("id", "courseCode"));
+        assertThat(page.get("hasNext").asBoolean()).isTrue();
+        assertThat(page.has("nextAfterId")).isTrue();
+    }
+    
+    @Test
+    public void testConditionalGetReturnsNotModified() {
+        ResponseEntity<String> first = restTemplate.getForEntity("/api/v1/students?size=5", String.class);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).startsWith("W/\"");
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<String> second = restTemplate.exchange(
+            "/api/v1/students?size=5", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getBody()).isNull();
+        
+        post("/api/v1/courses", Map.of("courseCode", "ETAG101", "courseName", "Caching", "credits", 3));
+        ResponseEntity<String> changed = restTemplate.exchange(
+            "/api/v1/students?size=5", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+    }
+    
+    @Test
+    public void testResponsesAreGzippedForClientsThatAcceptIt() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        ResponseEntity<byte[]> response = restTemplate.exchange(
+            "/api/v1/courses?size=100", HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertThat(objectMapper.readTree(body).get("items").size()).isPositive();
+        }
+    }
+    
+    @Test
+    public void testErrorsAreProblemDetails() throws IOException {
+        ResponseEntity<String> invalid = restTemplate.postForEntity("/api/v1/students",
+            Map.of("name", "X", "email", "not-an-email", "department", "CS", "semester", 1), String.class);
+        assertThat(invalid.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(objectMapper.readTree(invalid.getBody()).get("errors").fieldNames()).toIterable()
+            .contains("name", "email");
+        
+        post("/api/v1/students", Map.of(
+            "name", "Taken Api", "email", "taken.api@example.com", "department", "CS", "semester", 1));
+        ResponseEntity<String> duplicate = restTemplate.postForEntity("/api/v1/students", Map.of(
+            "name", "Other Api", "email", "taken.api@example.com", "department", "CS", "semester", 1), String.class);
+        assertThat(duplicate.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(objectMapper.readTree(duplicate.getBody()).get("detail").asText()).isEqualTo("Email already exists");
+        
+        assertThat(restTemplate.getForEntity("/api/v1/students/999999", String.class).getStatusCode())
+            .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(restTemplate.exchange("/api/v1/students/999999/courses/1", HttpMethod.PUT, null, String.class)
+            .getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        ResponseEntity<String> unknownCourse = restTemplate.postForEntity("/api/v1/students", Map.of(
+            "name", "Unknown Course", "email", "unknown.course@example.com", "department", "CS", "semester", 1,
+            "courseIds", List.of(999999)), String.class);
+        assertThat(unknownCourse.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+    
+    @Test
+    public void testChangeEventsArePagedByOffset() throws IOException {
+        long offset = 0;
+        JsonNode skipped;
+        do {
+            skipped = get("/api/v1/events?limit=1000&after=" + offset);
+            offset = skipped.get("nextOffset").asLong();
+        } while (skipped.get("hasMore").asBoolean());
+        String course = post("/api/v1/courses", Map.of("courseCode", "EVT201", "courseName", "Streams", "credits", 2));
+        post("/api/v1/students", Map.of("name", "Stream Api", "email", "stream.api@example.com",
+            "department", "CS", "semester", 1, "courseIds", List.of(id(course))));
+        
+        JsonNode first = get("/api/v1/events?limit=2&after=" + offset);
+        JsonNode second = get("/api/v1/events?limit=2&after=" + first.get("nextOffset").asLong());
+        
+        assertThat(first.get("events").findValuesAsText("eventType")).containsExactly("COURSE_SAVED", "STUDENT_SAVED");
+        assertThat(first.get("hasMore").asBoolean()).isTrue();
+        assertThat(first.get("events").get(0).get("payload").get("courseCode").asText()).isEqualTo("EVT201");
+        assertThat(second.get("events").findValuesAsText("eventType")).containsExactly("ENROLLMENT_ADDED");
+        assertThat(second.get("hasMore").asBoolean()).isFalse();
+    }
+    
+    @Test
+    public void testTimetableNeverPutsAStudentsCoursesInOneSlot() throws IOException {
+        long first = id(post("/api/v1/courses", Map.of("courseCode", "TTB101", "courseName", "Slots I", "credits", 3)));
+        long second = id(post("/api/v1/courses", Map.of("courseCode", "TTB102", "courseName", "Slots II", "credits", 3)));
+        long third = id(post("/api/v1/courses", Map.of("courseCode", "TTB103", "courseName", "Slots III", "credits", 3)));
+        post("/api/v1/students", Map.of("name", "Slot One", "email", "slot.one@example.com",
+            "department", "CS", "semester", 1, "courseIds", List.of(first, second)));
+        post("/api/v1/students", Map.of("name", "Slot Two", "email", "slot.two@example.com",
+            "department", "CS", "semester", 1, "courseIds", List.of(second, third)));
+        
+        JsonNode timetable = get("/api/v1/timetable");
+        
+        assertThat(timetable.get("slotCount").asInt()).isEqualTo(timetable.get("slots").size());
+        assertThat(timetable.get("conflictCount").asLong()).isGreaterThanOrEqualTo(2);
+        assertThat(slotOf(timetable, "TTB101")).isNotEqualTo(slotOf(timetable, "TTB102"));
+        assertThat(slotOf(timetable, "TTB103")).isNotEqualTo(slotOf(timetable, "TTB102"));
+    }
+    
+    private static int slotOf(JsonNode timetable, String courseCode) {
+        for (JsonNode slot : timetable.get("slots")) {
+            for (JsonNode code : slot.get("courseCodes")) {
+                if (code.asText().equals(courseCode)) {
+                    return slot.get("slot").asInt();
+                }
+            }
+        }
+        throw new AssertionError(courseCode + " was not scheduled");
+    }
+    
+    private String post(String path, Map<String, Object> body) {
+        ResponseEntity<String> response = restTemplate.postForEntity(path, body, String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        String location = response.getHeaders().getLocation().getPath();
+        created.add(location);
+        return location;
+    }
+    
+    private JsonNode get(String path) throws IOException {
+        return objectMapper.readTree(restTemplate.getForObject(path, String.class));
+    }
+    
+    private static long id(String location) {
+        return Long.parseLong(location.substring(location.lastIndexOf('/') + 1));
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
@@ -50,4 +52,20 @@ public class CourseRepositoryTest {
         assertThat(exists).isTrue();
         assertThat(notExists).isFalse();
     }
+    
+    @Test
+    public void testFindPageOrderByCredits() {
+        Course first = entityManager.persist(new Course("TEST101", "Test Course 1", 3, "Description"));
+        Course second = entityManager.persist(new Course("TEST102", "Test Course 2", 3, "Description"));
+        Course third = entityManager.persist(new Course("TEST103", "Test Course 3", 2, "Description"));
+        entityManager.flush();
+        
+        List<Course> page1 = courseRepository.findPageOrderByCredits(Integer.MIN_VALUE, 0L, PageRequest.of(0, 2));
+        Course last = page1.get(page1.size() - 1);
+        List<Course> page2 = courseRepository.findPageOrderByCredits(
+            last.getCredits(), last.getId(), PageRequest.of(0, 2));
+        
+        assertThat(page1).extracting(Course::getId).containsExactly(third.getId(), first.getId());
+        assertThat(page2).extracting(Course::getId).containsExactly(second.getId());
+    }
 }
@@ -0,0 +1,112 @@
+package com.bitspilani.studentcourse.repository;
+
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import org.hibernate.Hibernate;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the Set-backed enrollment mapping changes one join row per added or dropped course instead of
+ * rewriting the student's whole enrollment list.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.bitspilani.studentcourse.repository.StudentEnrollmentTest$CapturingInspector")
+public class StudentEnrollmentTest {
+    
+    private static final int ENROLLED = 20;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    private Long studentId;
+    private final List<Long> courseIds = new ArrayList<>();
+    
+    @BeforeEach
+    public void setUp() {
+        Student student = new Student("Test Student", "test@example.com", "CS", 1);
+        for (int i = 0; i <= ENROLLED; i++) {
+            Course course = entityManager.persist(new Course("TEST" + (100 + i), "Test Course " + i, 3, "Description"));
+            courseIds.add(course.getId());
+            if (i < ENROLLED) {
+                student.addCourse(course);
+            }
+        }
+        studentId = entityManager.persist(student).getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    @Test
+    public void testAddingOneCourseInsertsOneJoinRow() {
+        Student student = studentRepository.findWithCoursesById(studentId).orElseThrow();
+        
+        List<String> statements = flushCapturing(() ->
+            assertThat(student.addCourse(entityManager.find(Course.class, courseIds.get(ENROLLED)))).isTrue());
+        
+        assertThat(joinTableStatements(statements)).singleElement().asString().startsWithIgnoringCase("insert");
+        assertThat(reload().getCourses()).hasSize(ENROLLED + 1);
+    }
+    
+    @Test
+    public void testDroppingOneCourseDeletesOneJoinRow() {
+        Student student = studentRepository.findWithCoursesById(studentId).orElseThrow();
+        Course reference = entityManager.getEntityManager().getReference(Course.class, courseIds.get(0));
+        
+        List<String> statements = flushCapturing(() -> assertThat(student.removeCourse(reference)).isTrue());
+        
+        assertThat(joinTableStatements(statements)).singleElement().asString().startsWithIgnoringCase("delete");
+        assertThat(reload().getCourses()).hasSize(ENROLLED - 1)
+            .extracting(Course::getId).doesNotContain(courseIds.get(0));
+    }
+    
+    @Test
+    public void testDuplicateEnrollmentIsIgnoredWithoutLoadingTheCourse() {
+        Student student = studentRepository.findWithCoursesById(studentId).orElseThrow();
+        entityManager.detach(entityManager.find(Course.class, courseIds.get(0)));
+        Course reference = entityManager.getEntityManager().getReference(Course.class, courseIds.get(0));
+        
+        List<String> statements = flushCapturing(() -> assertThat(student.addCourse(reference)).isFalse());
+        
+        assertThat(Hibernate.isInitialized(reference)).isFalse();
+        assertThat(joinTableStatements(statements)).isEmpty();
+        assertThat(reload().getCourses()).hasSize(ENROLLED);
+    }
+    
+    private List<String> flushCapturing(Runnable change) {
+        CapturingInspector.statements.clear();
+        change.run();
+        entityManager.flush();
+        return new ArrayList<>(CapturingInspector.statements);
+    }
+    
+    private Student reload() {
+        entityManager.clear();
+        return studentRepository.findWithCoursesById(studentId).orElseThrow();
+    }
+    
+    private static List<String> joinTableStatements(List<String> statements) {
+        return statements.stream().filter(sql -> sql.toLowerCase().contains("student_course")).toList();
+    }
+    
+    public static class CapturingInspector implements StatementInspector {
+        
+        static final List<String> statements = new ArrayList<>();
+        
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
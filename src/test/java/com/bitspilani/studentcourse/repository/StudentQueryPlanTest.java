@@ -0,0 +1,94 @@
+package com.bitspilani.studentcourse.repository;
+
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs H2's EXPLAIN on the exact SQL Hibernate generates for the filtered student queries and checks that
+ * the plan seeks on the intended index rather than scanning the table.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.bitspilani.studentcourse.repository.StudentQueryPlanTest$CapturingInspector")
+public class StudentQueryPlanTest {
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private Course course;
+    
+    @BeforeEach
+    public void setUp() {
+        course = entityManager.persist(new Course("TEST101", "Test Course", 3, "Description"));
+        for (int i = 0; i < 50; i++) {
+            String department = i % 2 == 0 ? "CS" : "EE";
+            Student student = new Student("Student " + i, "student" + i + "@example.com", department, 1 + i % 8);
+            if (i % 5 == 0) {
+                student.addCourse(course);
+            }
+            entityManager.persist(student);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        CapturingInspector.statements.clear();
+    }
+    
+    @Test
+    public void testDepartmentFilterUsesDepartmentIndex() {
+        studentRepository.findByDepartment("CS", 0L, PageRequest.of(0, 10));
+        
+        assertThat(explainLast("CS", 0L, 0, 10)).contains("IDX_STUDENTS_DEPARTMENT_ID");
+    }
+    
+    @Test
+    public void testSemesterRangeUsesSemesterIndex() {
+        studentRepository.findBySemesterRange(2, 4, Integer.MIN_VALUE, 0L, PageRequest.of(0, 10));
+        
+        assertThat(explainLast(2, 4, Integer.MIN_VALUE, Integer.MIN_VALUE, 0L, 0, 10))
+            .contains("IDX_STUDENTS_SEMESTER_ID");
+    }
+    
+    @Test
+    public void testEnrolledInCourseUsesReverseJoinTableIndex() {
+        studentRepository.findEnrolledInCourse(course.getId(), 0L, PageRequest.of(0, 10));
+        
+        assertThat(explainLast(course.getId(), 0L, 0, 10))
+            .contains("IDX_STUDENT_COURSE_COURSE_STUDENT")
+            .contains("PRIMARY_KEY");
+    }
+    
+    // Parameters are bound in the order Hibernate placed them in the captured statement (offset and limit last)
+    private String explainLast(Object... parameters) {
+        String sql = CapturingInspector.statements.get(CapturingInspector.statements.size() - 1);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+        assertThat(plan).as("plan for %s", sql).doesNotContainIgnoringCase("tableScan");
+        return plan.toUpperCase();
+    }
+    
+    public static class CapturingInspector implements StatementInspector {
+        
+        static final List<String> statements = new ArrayList<>();
+        
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
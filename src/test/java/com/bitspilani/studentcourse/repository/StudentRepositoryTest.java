@@ -7,7 +7,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import java.util.List;
+import java.util.stream.Stream;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
@@ -70,4 +72,56 @@ public class StudentRepositoryTest {
         assertThat(results.get(0).getStudentName()).isEqualTo("Test Student");
         assertThat(results.get(0).getCourseCode()).isEqualTo("TEST101");
     }
+    
+    @Test
+    public void testStreamAllStudentsWithCourses() {
+        Course course1 = entityManager.persist(new Course("TEST101", "Test Course 1", 3, "Description"));
+        Course course2 = entityManager.persist(new Course("TEST102", "Test Course 2", 4, "Description"));
+        
+        Student student = new Student("Test Student", "test@example.com", "CS", 1);
+        student.addCourse(course2);
+        student.addCourse(course1);
+        entityManager.persist(student);
+        entityManager.flush();
+        
+        try (Stream<StudentCourseDTO> rows = studentRepository.streamAllStudentsWithCourses()) {
+            assertThat(rows.map(StudentCourseDTO::getCourseCode)).containsExactly("TEST101", "TEST102");
+        }
+    }
+    
+    @Test
+    public void testFindPageOrderByDepartment() {
+        Student first = entityManager.persist(new Student("Student A", "a@example.com", "CS", 1));
+        Student second = entityManager.persist(new Student("Student B", "b@example.com", "CS", 2));
+        Student third = entityManager.persist(new Student("Student C", "c@example.com", "EE", 1));
+        entityManager.flush();
+        
+        List<Student> page1 = studentRepository.findPageOrderByDepartment("", 0L, PageRequest.of(0, 2));
+        Student last = page1.get(page1.size() - 1);
+        List<Student> page2 = studentRepository.findPageOrderByDepartment(
+            last.getDepartment(), last.getId(), PageRequest.of(0, 2));
+        
+        assertThat(page1).extracting(Student::getId).containsExactly(first.getId(), second.getId());
+        assertThat(page2).extracting(Student::getId).containsExactly(third.getId());
+    }
+    
+    @Test
+    public void testIndexedFilters() {
+        Course course = entityManager.persist(new Course("TEST101", "Test Course", 3, "Description"));
+        Student first = new Student("Student A", "a@example.com", "CS", 3);
+        first.addCourse(course);
+        entityManager.persist(first);
+        Student second = entityManager.persist(new Student("Student B", "b@example.com", "EE", 5));
+        Student third = new Student("Student C", "c@example.com", "CS", 7);
+        third.addCourse(course);
+        entityManager.persist(third);
+        entityManager.flush();
+        
+        assertThat(studentRepository.findByDepartment("CS", 0L, PageRequest.of(0, 10)))
+            .extracting(Student::getId).containsExactly(first.getId(), third.getId());
+        assertThat(studentRepository.findBySemesterRange(4, 8, Integer.MIN_VALUE, 0L, PageRequest.of(0, 10)))
+            .extracting(Student::getId).containsExactly(second.getId(), third.getId());
+        assertThat(studentRepository.findEnrolledInCourse(course.getId(), first.getId(), PageRequest.of(0, 10)))
+            .extracting(Student::getId).containsExactly(third.getId());
+    }
 }
@@ -0,0 +1,104 @@
+package com.bitspilani.studentcourse.schedule;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GraphColoringTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(GraphColoringTest.class);
+    
+    private static final ForkJoinPool pool = new ForkJoinPool();
+    
+    @AfterAll
+    public static void tearDown() {
+        pool.shutdown();
+    }
+    
+    @Test
+    public void testCliquesAreBuiltIntoSymmetricEdges() {
+        ConflictGraph graph = new ConflictGraph(130);
+        graph.addClique(new int[] {0, 64, 129}, 3);
+        graph.addClique(new int[] {64, 65, 0}, 2);
+        
+        assertThat(graph.isAdjacent(0, 129)).isTrue();
+        assertThat(graph.isAdjacent(129, 64)).isTrue();
+        assertThat(graph.isAdjacent(65, 64)).isTrue();
+        assertThat(graph.isAdjacent(0, 65)).isFalse();
+        assertThat(graph.isAdjacent(0, 0)).isFalse();
+        assertThat(graph.degree(64)).isEqualTo(3);
+        assertThat(graph.edgeCount()).isEqualTo(4);
+        assertThat(graph.nextNeighbor(64, -1)).isEqualTo(0);
+        assertThat(graph.nextNeighbor(64, 0)).isEqualTo(65);
+        assertThat(graph.nextNeighbor(64, 65)).isEqualTo(129);
+        assertThat(graph.nextNeighbor(64, 129)).isEqualTo(-1);
+    }
+    
+    @Test
+    public void testSmallGraphsGetTheFewestColors() {
+        // A triangle plus a path hanging off it, and one course nobody shares
+        ConflictGraph graph = new ConflictGraph(6);
+        graph.addClique(new int[] {0, 1, 2}, 3);
+        graph.addClique(new int[] {2, 3}, 2);
+        graph.addClique(new int[] {3, 4}, 2);
+        
+        int[] colors = GraphColoring.color(graph, pool);
+        
+        assertProperColoring(graph, colors);
+        assertThat(Arrays.stream(colors).max().getAsInt() + 1).isEqualTo(3);
+        assertThat(colors[5]).isZero();
+    }
+    
+    @Test
+    public void testFiveThousandCoursesAndHundredThousandStudents() {
+        int courses = 5_000;
+        int students = 100_000;
+        Random random = new Random(7);
+        long start = System.nanoTime();
+        ConflictGraph graph = new ConflictGraph(courses);
+        int[] enrolled = new int[8];
+        for (int s = 0; s < students; s++) {
+            // Students mostly stay within their department's block of courses, with some electives anywhere
+            int department = random.nextInt(50) * (courses / 50);
+            int count = 3 + random.nextInt(4);
+            for (int i = 0; i < count; i++) {
+                enrolled[i] = random.nextInt(5) == 0
+                    ? random.nextInt(courses)
+                    : department + random.nextInt(courses / 50);
+            }
+            graph.addClique(enrolled, count);
+        }
+        long built = System.nanoTime();
+        int[] colors = GraphColoring.color(graph, pool);
+        long colored = System.nanoTime();
+        
+        int slots = Arrays.stream(colors).max().getAsInt() + 1;
+        log.info("Conflict graph with {} courses and {} conflicts built in {} ms, colored into {} slots in {} ms",
+            courses, graph.edgeCount(), (built - start) / 1_000_000, slots, (colored - built) / 1_000_000);
+        assertProperColoring(graph, colors);
+        assertThat(slots).isLessThanOrEqualTo(maxDegree(graph) + 1);
+        assertThat((colored - start) / 1_000_000).isLessThan(10_000);
+    }
+    
+    private static void assertProperColoring(ConflictGraph graph, int[] colors) {
+        for (int v = 0; v < graph.size(); v++) {
+            assertThat(colors[v]).isNotNegative();
+            for (int u = graph.nextNeighbor(v, -1); u >= 0; u = graph.nextNeighbor(v, u)) {
+                assertThat(colors[u]).as("courses %d and %d share a slot", v, u).isNotEqualTo(colors[v]);
+            }
+        }
+    }
+    
+    private static int maxDegree(ConflictGraph graph) {
+        int max = 0;
+        for (int v = 0; v < graph.size(); v++) {
+            max = Math.max(max, graph.degree(v));
+        }
+        return max;
+    }
+}
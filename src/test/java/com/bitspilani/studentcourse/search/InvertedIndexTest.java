@@ -0,0 +1,104 @@
+package com.bitspilani.studentcourse.search;
+
+import com.bitspilani.studentcourse.dto.SearchHit;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvertedIndexTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(InvertedIndexTest.class);
+    
+    private final InvertedIndex index = new InvertedIndex();
+    
+    @Test
+    public void testTokenizeSplitsWordsCodesAndAccents() {
+        assertThat(InvertedIndex.tokenize("José Núñez <jose.nunez@example.com> CS101"))
+            .containsExactly("jose", "nunez", "example", "com", "cs101", "cs", "101");
+    }
+    
+    @Test
+    public void testEveryTermMustPrefixMatch() {
+        put(1L, "Alice Sharma", "alice@example.com", "CS");
+        put(2L, "Alicia Keys", "alicia@example.com", "EE");
+        put(3L, "Bob Sharma", "bob@example.com", "CS");
+        
+        assertThat(ids(index.search("ali", 10))).containsExactly(1L, 2L);
+        assertThat(ids(index.search("sharma cs", 10))).containsExactly(1L, 3L);
+        assertThat(ids(index.search("ali shar", 10))).containsExactly(1L);
+        assertThat(ids(index.search("zed", 10))).isEmpty();
+        assertThat(ids(index.search("  ", 10))).isEmpty();
+    }
+    
+    @Test
+    public void testWholeWordMatchesRankFirstAndLimitApplies() {
+        put(1L, "Anand Kumar", "anand@example.com", "ME");
+        put(2L, "Ana Lopez", "ana@example.com", "ME");
+        put(3L, "Anahita Rao", "anahita@example.com", "ME");
+        
+        assertThat(ids(index.search("ana", 10))).containsExactly(2L, 3L, 1L);
+        assertThat(ids(index.search("ana", 2))).containsExactly(2L, 3L);
+    }
+    
+    @Test
+    public void testPutReplacesAndRemoveDeletes() {
+        put(1L, "Old Name", "old@example.com", "CS");
+        put(1L, "New Name", "new@example.com", "CS");
+        
+        assertThat(ids(index.search("old", 10))).isEmpty();
+        assertThat(index.search("new", 10)).singleElement()
+            .satisfies(hit -> assertThat(hit.getTitle()).isEqualTo("New Name"));
+        
+        index.remove(1L);
+        
+        assertThat(ids(index.search("new", 10))).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+    
+    @Test
+    public void testTypeaheadLatencyAtHundredThousandStudents() {
+        String[] first = {"Aarav", "Vivaan", "Aditya", "Vihaan", "Arjun", "Sai", "Reyansh", "Ishaan", "Ananya",
+            "Diya", "Saanvi", "Aadhya", "Kavya", "Myra", "Anika", "Priya", "Rohan", "Karan", "Neha", "Meera"};
+        String[] last = {"Sharma", "Verma", "Gupta", "Singh", "Kumar", "Patel", "Reddy", "Iyer", "Nair", "Das",
+            "Rao", "Joshi", "Mehta", "Shah", "Bose", "Ghosh", "Kapoor", "Malhotra", "Chopra", "Pillai"};
+        String[] departments = {"CS", "EE", "ME", "CE", "CH", "BIO"};
+        Random random = new Random(42);
+        for (long id = 1; id <= 100_000; id++) {
+            String name = first[random.nextInt(first.length)] + " " + last[random.nextInt(last.length)];
+            put(id, name, name.toLowerCase().replace(' ', '.') + id + "@example.com",
+                departments[random.nextInt(departments.length)]);
+        }
+        List<String> queries = Arrays.asList("a", "ar", "arj", "arjun", "arjun s", "arjun sha", "priya nair",
+            "kumar cs", "meera.das12", "ishaan 4242");
+        queries.forEach(query -> index.search(query, 10));
+        
+        long[] nanos = new long[queries.size() * 20];
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < queries.size(); i++) {
+                long start = System.nanoTime();
+                index.search(queries.get(i), 10);
+                nanos[round * queries.size() + i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(nanos);
+        long medianMicros = nanos[nanos.length / 2] / 1000;
+        long p99Micros = nanos[nanos.length * 99 / 100] / 1000;
+        log.info("Search over {} students: median {} us, p99 {} us", index.size(), medianMicros, p99Micros);
+        
+        assertThat(index.search("arjun sha", 10)).hasSize(10)
+            .allSatisfy(hit -> assertThat(hit.getTitle()).startsWith("Arjun Sha"));
+        assertThat(medianMicros).isLessThan(5_000);
+    }
+    
+    private void put(Long id, String name, String email, String department) {
+        index.put(new SearchHit("student", id, name, email), name, email, department);
+    }
+    
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getId).toList();
+    }
+}
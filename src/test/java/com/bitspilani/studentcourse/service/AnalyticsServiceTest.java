@@ -0,0 +1,86 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.dto.CourseCredits;
+import com.bitspilani.studentcourse.dto.CoursePair;
+import com.bitspilani.studentcourse.dto.DepartmentSemesterCount;
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Refreshes are triggered by hand, so each assertion sees exactly the changes made before it.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "app.analytics.refresh-interval-millis=0"
+})
+public class AnalyticsServiceTest {
+    
+    @Autowired
+    private AnalyticsService analyticsService;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM student_course WHERE student_id IN "
+            + "(SELECT id FROM students WHERE email LIKE '%@analytics.example.com')");
+        jdbcTemplate.update("DELETE FROM students WHERE email LIKE '%@analytics.example.com'");
+        jdbcTemplate.update("DELETE FROM courses WHERE course_code LIKE 'ANL%'");
+        analyticsService.refresh();
+    }
+    
+    @Test
+    public void testRefreshFollowsWritesWithoutReloading() {
+        Course first = courseService.saveCourse(new Course("ANL101", "Statistics", 4, null));
+        Course second = courseService.saveCourse(new Course("ANL102", "Data Mining", 3, null));
+        Student ada = student("Ada", "ada", 5, first, second);
+        student("Grace", "grace", 5, first, second);
+        student("Alan", "alan", 7, first);
+        
+        assertThat(analyticsService.enrollmentsByDepartmentAndSemester("ANALYTICS")).isEmpty();
+        analyticsService.refresh();
+        
+        assertThat(analyticsService.enrollmentsByDepartmentAndSemester("ANALYTICS"))
+            .extracting(DepartmentSemesterCount::getSemester, DepartmentSemesterCount::getStudents,
+                DepartmentSemesterCount::getEnrollments)
+            .containsExactly(tuple(5, 2L, 4L), tuple(7, 1L, 1L));
+        assertThat(analyticsService.creditsByCourse("ANALYTICS", null))
+            .extracting(CourseCredits::getCourseCode, CourseCredits::getCreditHours)
+            .containsExactly(tuple("ANL101", 12L), tuple("ANL102", 6L));
+        assertThat(analyticsService.popularCoursePairs("ANALYTICS", null))
+            .extracting(CoursePair::getFirstCourseCode, CoursePair::getSecondCourseCode, CoursePair::getStudents)
+            .containsExactly(tuple("ANL101", "ANL102", 2));
+        
+        studentService.dropCourse(ada.getId(), second.getId());
+        studentService.deleteStudent(ada.getId());
+        analyticsService.refresh();
+        
+        assertThat(analyticsService.enrollmentsByDepartmentAndSemester("ANALYTICS"))
+            .extracting(DepartmentSemesterCount::getSemester, DepartmentSemesterCount::getEnrollments)
+            .containsExactly(tuple(5, 2L), tuple(7, 1L));
+        assertThat(analyticsService.popularCoursePairs("ANALYTICS", null)).singleElement()
+            .satisfies(pair -> assertThat(pair.getStudents()).isEqualTo(1));
+    }
+    
+    private Student student(String name, String key, int semester, Course... courses) {
+        Student student = new Student(name, key + "@analytics.example.com", "ANALYTICS", semester);
+        for (Course course : courses) {
+            student.addCourse(course);
+        }
+        return studentService.saveStudent(student);
+    }
+}
@@ -0,0 +1,168 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.dto.ChangeEventBatch;
+import com.bitspilani.studentcourse.dto.ChangeEventDTO;
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The outbox must hold exactly the committed changes, in commit order, and a consumer resuming from its offset
+ * must see events whose transaction committed after later-numbered ones.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+public class ChangeEventServiceTest {
+    
+    @Autowired
+    private ChangeEventService changeEventService;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private long offset;
+    
+    @BeforeEach
+    public void setUp() {
+        // Skip whatever earlier tests and the seed data left in the stream
+        offset = changeEventService.consume(0, ChangeEventService.MAX_BATCH_SIZE, events -> { });
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM student_course WHERE student_id IN "
+            + "(SELECT id FROM students WHERE email LIKE '%@events.example.com')");
+        jdbcTemplate.update("DELETE FROM students WHERE email LIKE '%@events.example.com'");
+        jdbcTemplate.update("DELETE FROM courses WHERE course_code LIKE 'EVT%'");
+    }
+    
+    @Test
+    public void testCommittedChangesAreStreamedInOrder() {
+        Course course = courseService.saveCourse(new Course("EVT101", "Event Sourcing", 3, null));
+        Student student = new Student("Eva Events", "eva@events.example.com", "CS", 1);
+        student.addCourse(course);
+        student = studentService.saveStudent(student);
+        studentService.dropCourse(student.getId(), course.getId());
+        studentService.enrollStudent(student.getId(), course.getId());
+        studentService.deleteStudent(student.getId());
+        
+        ChangeEventBatch batch = changeEventService.read(offset, 100);
+        
+        assertThat(batch.getEvents()).extracting(ChangeEventDTO::getEventType).containsExactly(
+            ChangeEventService.COURSE_SAVED, ChangeEventService.STUDENT_SAVED, ChangeEventService.ENROLLMENT_ADDED,
+            ChangeEventService.ENROLLMENT_DROPPED, ChangeEventService.ENROLLMENT_ADDED,
+            ChangeEventService.STUDENT_DELETED);
+        assertThat(batch.getEvents()).extracting(ChangeEventDTO::getPosition)
+            .containsExactly(offset + 1, offset + 2, offset + 3, offset + 4, offset + 5, offset + 6);
+        assertThat(batch.getEvents().get(1).getPayload()).contains("\"email\":\"eva@events.example.com\"");
+        assertThat(batch.getEvents().get(2).getPayload())
+            .isEqualTo("{\"studentId\":" + student.getId() + ",\"courseId\":" + course.getId() + "}");
+        assertThat(batch.getNextOffset()).isEqualTo(offset + 6);
+        assertThat(batch.isHasMore()).isFalse();
+    }
+    
+    @Test
+    public void testRolledBackChangesLeaveNoEvents() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            studentService.saveStudent(new Student("Rolled Back", "rolled@events.example.com", "CS", 1));
+            status.setRollbackOnly();
+        });
+        
+        assertThat(changeEventService.read(offset, 100).getEvents()).isEmpty();
+    }
+    
+    @Test
+    public void testLateCommitIsNotSkipped() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Writes its event first (lower id) but commits last
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() ->
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                studentService.saveStudent(new Student("Slow Writer", "slow@events.example.com", "CS", 1));
+                written.countDown();
+                await(release);
+            }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+        studentService.saveStudent(new Student("Fast Writer", "fast@events.example.com", "CS", 1));
+        
+        ChangeEventBatch first = changeEventService.read(offset, 100);
+        release.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+        ChangeEventBatch second = changeEventService.read(first.getNextOffset(), 100);
+        
+        assertThat(first.getEvents()).singleElement()
+            .satisfies(event -> assertThat(event.getPayload()).contains("fast@events.example.com"));
+        assertThat(second.getEvents()).singleElement()
+            .satisfies(event -> assertThat(event.getPayload()).contains("slow@events.example.com"));
+        assertThat(second.getEvents().get(0).getPosition()).isEqualTo(first.getNextOffset() + 1);
+    }
+    
+    @Test
+    public void testPublisherWaitsForAnotherInstanceHoldingTheLock() throws Exception {
+        studentService.saveStudent(new Student("Queued Publisher", "queued@events.example.com", "CS", 1));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Another instance in the middle of publishing
+        CompletableFuture<Void> other = CompletableFuture.runAsync(() ->
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jdbcTemplate.queryForObject("SELECT id FROM change_event_publisher WHERE id = 1 FOR UPDATE",
+                    Integer.class);
+                locked.countDown();
+                await(release);
+            }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+        
+        CompletableFuture<ChangeEventBatch> read = CompletableFuture.supplyAsync(
+            () -> changeEventService.read(offset, 100));
+        Thread.sleep(200);
+        assertThat(read).isNotDone();
+        release.countDown();
+        other.get(10, TimeUnit.SECONDS);
+        
+        assertThat(read.get(10, TimeUnit.SECONDS).getEvents()).extracting(ChangeEventDTO::getPosition)
+            .containsExactly(offset + 1);
+    }
+    
+    @Test
+    public void testConsumeDeliversBoundedBatchesUntilCaughtUp() {
+        for (int i = 0; i < 25; i++) {
+            studentService.saveStudent(new Student("Batch Student " + i, "batch" + i + "@events.example.com", "EE", 2));
+        }
+        List<Integer> batchSizes = new ArrayList<>();
+        
+        long resumeAt = changeEventService.consume(offset, 10, events -> batchSizes.add(events.size()));
+        
+        assertThat(batchSizes).containsExactly(10, 10, 5);
+        assertThat(resumeAt).isEqualTo(offset + 25);
+        assertThat(changeEventService.read(resumeAt, 10).getEvents()).isEmpty();
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
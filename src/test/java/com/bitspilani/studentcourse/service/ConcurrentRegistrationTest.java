@@ -0,0 +1,129 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import com.bitspilani.studentcourse.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registers the same email from several threads at once against the real database, where only the unique
+ * constraint (no existsByEmail pre-check) decides the outcome. Also swaps enrollments between two courses in
+ * opposite directions at once, which must not deadlock on the course rows.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+public class ConcurrentRegistrationTest {
+    
+    private static final int THREADS = 8;
+    private static final String EMAIL = "race@example.com";
+    private static final int SWAP_ROUNDS = 5;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @AfterEach
+    public void tearDown() {
+        studentRepository.findAll().stream()
+            .filter(student -> EMAIL.equals(student.getEmail()) || student.getEmail().startsWith("swap"))
+            .forEach(student -> studentService.deleteStudent(student.getId()));
+        courseService.getAllCourses().stream()
+            .filter(course -> course.getCourseCode().startsWith("SWAP"))
+            .forEach(course -> courseService.deleteCourse(course.getId()));
+    }
+    
+    @Test
+    public void testConcurrentCreatesLetExactlyOneWin() throws Exception {
+        List<Object> outcomes = runConcurrently(
+            n -> () -> studentService.saveStudent(new Student("Racer " + n, EMAIL, "CS", 1)));
+        
+        assertThat(outcomes).filteredOn(Student.class::isInstance).hasSize(1);
+        assertThat(outcomes).filteredOn(DataIntegrityViolationException.class::isInstance)
+            .hasSize(THREADS - 1)
+            .allSatisfy(e -> assertThat((Throwable) e).hasMessage("Email already exists"));
+        assertThat(studentRepository.findExistingEmails(List.of(EMAIL))).hasSize(1);
+    }
+    
+    @Test
+    public void testConcurrentUpsertsConvergeOnOneRow() throws Exception {
+        List<Object> outcomes = runConcurrently(
+            n -> () -> studentService.upsertStudent(new Student("Racer " + n, EMAIL, "CS", 1 + n)));
+        
+        assertThat(outcomes).allSatisfy(outcome -> assertThat(outcome).isInstanceOf(Student.class));
+        assertThat(outcomes).extracting(outcome -> ((Student) outcome).getId()).containsOnly(
+            ((Student) outcomes.get(0)).getId());
+        assertThat(studentRepository.findExistingEmails(List.of(EMAIL))).hasSize(1);
+    }
+    
+    @Test
+    public void testOppositeCourseSwapsDoNotDeadlock() throws Exception {
+        Course courseA = courseService.saveCourse(new Course("SWAP101", "Swap Course A", 3, "Description"));
+        Course courseB = courseService.saveCourse(new Course("SWAP102", "Swap Course B", 3, "Description"));
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Student student = new Student("Swapper " + i, "swap" + i + "@example.com", "CS", 1);
+            student.setCourses(Set.of(i % 2 == 0 ? courseA : courseB));
+            students.add(studentService.saveStudent(student));
+        }
+        
+        // Each round, even students move to the other course while odd students move the opposite way
+        for (int round = 1; round <= SWAP_ROUNDS; round++) {
+            boolean flipped = round % 2 == 1;
+            List<Object> outcomes = runConcurrently(n -> () -> {
+                Student student = students.get(n);
+                student.setCourses(Set.of((n % 2 == 0) == flipped ? courseB : courseA));
+                return studentService.updateStudent(student);
+            });
+            
+            assertThat(outcomes).allSatisfy(outcome -> assertThat(outcome).isInstanceOf(Student.class));
+        }
+        assertThat(studentRepository.findEnrolledCourseIds(students.get(0).getId())).containsExactly(courseB.getId());
+        assertThat(studentRepository.findEnrolledCourseIds(students.get(1).getId())).containsExactly(courseA.getId());
+    }
+    
+    private List<Object> runConcurrently(IntFunction<Callable<Student>> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Student>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Callable<Student> call = task.apply(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            List<Object> outcomes = new ArrayList<>();
+            for (Future<Student> future : futures) {
+                try {
+                    outcomes.add(future.get());
+                } catch (ExecutionException e) {
+                    outcomes.add(e.getCause());
+                }
+            }
+            return outcomes;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.config.CacheConfig;
+import com.bitspilani.studentcourse.dto.CourseDTO;
+import com.bitspilani.studentcourse.entity.Course;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+public class CourseServiceCacheTest {
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+    
+    @Test
+    public void testCatalogueIsServedFromCache() {
+        CacheStats before = stats(CacheConfig.COURSE_CATALOG);
+        
+        List<CourseDTO> first = courseService.getAllCourses();
+        List<CourseDTO> second = courseService.getAllCourses();
+        
+        CacheStats after = stats(CacheConfig.COURSE_CATALOG).minus(before);
+        assertThat(second).isSameAs(first);
+        assertThat(first).isUnmodifiable();
+        assertThat(after.missCount()).isEqualTo(1);
+        assertThat(after.hitCount()).isEqualTo(1);
+    }
+    
+    @Test
+    public void testWritesInvalidateCatalogue() {
+        int sizeBefore = courseService.getAllCourses().size();
+        Long id = courseService.getAllCourses().get(0).getId();
+        courseService.getCourseById(id);
+        
+        Course saved = courseService.saveCourse(new Course("CACHE101", "Cache Course", 3, "Description"));
+        
+        assertThat(courseService.getAllCourses()).hasSize(sizeBefore + 1);
+        
+        courseService.deleteCourse(saved.getId());
+        
+        assertThat(courseService.getAllCourses()).hasSize(sizeBefore);
+        assertThat(courseService.getCourseById(saved.getId())).isEmpty();
+    }
+    
+    private CacheStats stats(String cacheName) {
+        return ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache().stats();
+    }
+}
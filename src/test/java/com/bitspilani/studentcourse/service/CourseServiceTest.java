@@ -1,7 +1,9 @@
 package com.bitspilani.studentcourse.service;
 
+import com.bitspilani.studentcourse.dto.CourseDTO;
 import com.bitspilani.studentcourse.entity.Course;
 import com.bitspilani.studentcourse.repository.CourseRepository;
+import com.bitspilani.studentcourse.repository.StudentRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -22,6 +24,18 @@ public class CourseServiceTest {
     @Mock
     private CourseRepository courseRepository;
     
+    @Mock
+    private StudentRepository studentRepository;
+    
+    @Mock
+    private SeatAllocator seatAllocator;
+    
+    @Mock
+    private SearchService searchService;
+    
+    @Mock
+    private ChangeEventService changeEventService;
+    
     @InjectMocks
     private CourseService courseService;
     
@@ -33,7 +47,7 @@ public class CourseServiceTest {
         
         when(courseRepository.findAll()).thenReturn(courses);
         
-        List<Course> result = courseService.getAllCourses();
+        List<CourseDTO> result = courseService.getAllCourses();
         
         assertThat(result).hasSize(2);
         verify(courseRepository, times(1)).findAll();
@@ -46,34 +60,62 @@ public class CourseServiceTest {
         
         when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
         
-        Optional<Course> result = courseService.getCourseById(1L);
+        Optional<CourseDTO> result = courseService.getCourseById(1L);
         
         assertThat(result).isPresent();
         assertThat(result.get().getCourseCode()).isEqualTo("CS101");
         verify(courseRepository, times(1)).findById(1L);
     }
     
+    @Test
+    public void testGetCoursesByIds() {
+        Course course1 = new Course("CS101", "Course 1", 3, "Description 1");
+        course1.setId(1L);
+        Course course2 = new Course("CS102", "Course 2", 4, "Description 2");
+        course2.setId(2L);
+        
+        when(courseRepository.findAllById(List.of(1L, 2L))).thenReturn(Arrays.asList(course1, course2));
+        
+        List<Course> result = courseService.getCoursesByIds(Arrays.asList(2L, 1L, 2L));
+        
+        assertThat(result).containsExactly(course1, course2);
+        verify(courseRepository, never()).findAll();
+    }
+    
+    @Test
+    public void testGetCoursesByIdsWithUnknownId() {
+        Course course1 = new Course("CS101", "Course 1", 3, "Description 1");
+        course1.setId(1L);
+        
+        when(courseRepository.findAllById(List.of(1L, 99L))).thenReturn(List.of(course1));
+        
+        assertThatThrownBy(() -> courseService.getCoursesByIds(Arrays.asList(1L, 99L)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Course not found with id: 99");
+    }
+    
     @Test
     public void testSaveCourse() {
         Course course = new Course("CS101", "Test Course", 3, "Description");
         
-        when(courseRepository.existsByCourseCode(course.getCourseCode())).thenReturn(false);
-        when(courseRepository.save(any(Course.class))).thenReturn(course);
+        when(courseRepository.saveAndFlush(any(Course.class))).thenReturn(course);
         
         Course result = courseService.saveCourse(course);
         
         assertThat(result).isNotNull();
-        verify(courseRepository, times(1)).save(course);
+        verify(courseRepository, times(1)).saveAndFlush(course);
+        verify(courseRepository, never()).existsByCourseCode(any());
     }
     
     @Test
     public void testSaveCourseWithDuplicateCode() {
         Course course = new Course("CS101", "Test Course", 3, "Description");
         
-        when(courseRepository.existsByCourseCode(course.getCourseCode())).thenReturn(true);
+        when(courseRepository.saveAndFlush(any(Course.class))).thenThrow(StudentServiceTest.violation("23505",
+            "\"PUBLIC.UK_COURSES_COURSE_CODE_INDEX_8 ON PUBLIC.COURSES(COURSE_CODE NULLS FIRST)\""));
         
         assertThatThrownBy(() -> courseService.saveCourse(course))
-            .isInstanceOf(DataIntegrityViolationException.class)
+            .isInstanceOf(DuplicateValueException.class)
             .hasMessageContaining("Course code already exists");
     }
     
@@ -82,21 +124,72 @@ public class CourseServiceTest {
         Course course = new Course("CS101", "Test Course", 3, "Description");
         course.setId(1L);
         
-        when(courseRepository.existsById(1L)).thenReturn(true);
-        when(courseRepository.save(any(Course.class))).thenReturn(course);
+        when(courseRepository.findCreditsForUpdate(1L)).thenReturn(3);
         
         Course result = courseService.updateCourse(course);
         
-        assertThat(result).isNotNull();
-        verify(courseRepository, times(1)).save(course);
+        assertThat(result).isSameAs(course);
+        verify(courseRepository, never()).existsById(any());
+        verify(courseRepository, times(1)).updateDetails(1L, "CS101", "Test Course", 3, "Description", null);
+        verify(studentRepository, never()).recalculateTotalCreditsForCourse(any());
+        verify(seatAllocator, times(1)).promoteAfterCommit(List.of(1L));
+    }
+    
+    @Test
+    public void testUpdateCourseCreditsRecalculatesEnrolledStudents() {
+        Course course = new Course("CS101", "Test Course", 4, "Description");
+        course.setId(1L);
+        
+        when(courseRepository.findCreditsForUpdate(1L)).thenReturn(3);
+        
+        courseService.updateCourse(course);
+        
+        verify(studentRepository, times(1)).recalculateTotalCreditsForCourse(1L);
+    }
+    
+    @Test
+    public void testGetEnrolledCounts() {
+        when(courseRepository.findEnrolledCounts(List.of(1L, 2L)))
+            .thenReturn(List.of(new Object[] {1L, 12}, new Object[] {2L, 0}));
+        
+        assertThat(courseService.getEnrolledCounts(List.of(1L, 2L))).containsEntry(1L, 12).containsEntry(2L, 0);
+        assertThat(courseService.getEnrolledCounts(List.of())).isEmpty();
+    }
+    
+    @Test
+    public void testUpdateMissingCourse() {
+        Course course = new Course("CS101", "Test Course", 3, "Description");
+        course.setId(99L);
+        
+        when(courseRepository.findCreditsForUpdate(99L)).thenReturn(null);
+        
+        assertThatThrownBy(() -> courseService.updateCourse(course))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Course not found with id: 99");
+        verify(courseRepository, never()).updateDetails(any(), any(), any(), any(), any(), any());
     }
     
     @Test
     public void testDeleteCourse() {
-        doNothing().when(courseRepository).deleteById(1L);
+        Course course = new Course("CS101", "Test Course", 3, "Description");
+        course.setId(1L);
+        
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
         
         courseService.deleteCourse(1L);
         
-        verify(courseRepository, times(1)).deleteById(1L);
+        verify(courseRepository, times(1)).delete(course);
+        verify(changeEventService, times(1)).courseDeleted(1L);
+        verify(searchService, times(1)).removeCourse(1L);
+    }
+    
+    @Test
+    public void testDeleteMissingCourse() {
+        when(courseRepository.findById(99L)).thenReturn(Optional.empty());
+        
+        courseService.deleteCourse(99L);
+        
+        verify(courseRepository, never()).delete(any());
+        verifyNoInteractions(changeEventService, searchService);
     }
 }
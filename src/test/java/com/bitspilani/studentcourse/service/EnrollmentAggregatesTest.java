@@ -0,0 +1,124 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.actuator.EnrollmentAggregatesEndpoint;
+import com.bitspilani.studentcourse.dto.AggregateMismatch;
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives every enrollment write path against the real schema and checks that the maintained course headcounts
+ * and student credit totals match what the join table says.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Transactional
+public class EnrollmentAggregatesTest {
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private EnrollmentAggregatesEndpoint aggregatesEndpoint;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private Course algorithms;
+    private Course networks;
+    
+    @BeforeEach
+    public void setUp() {
+        algorithms = courseService.saveCourse(new Course("AGG101", "Algorithms", 3, "Description"));
+        networks = courseService.saveCourse(new Course("AGG102", "Networks", 4, "Description"));
+    }
+    
+    @Test
+    public void testWritePathsKeepAggregatesInStep() {
+        Student first = new Student("First Student", "first.agg@example.com", "CS", 1);
+        first.setCourses(Set.of(algorithms, networks));
+        Long firstId = studentService.saveStudent(first).getId();
+        Long secondId = studentService.saveStudent(
+            new Student("Second Student", "second.agg@example.com", "CS", 1)).getId();
+        assertAggregates(Map.of(algorithms, 1, networks, 1), Map.of(firstId, 7, secondId, 0));
+        
+        assertThat(studentService.enrollStudent(secondId, algorithms.getId()))
+            .isEqualTo(StudentService.EnrollmentResult.ENROLLED);
+        assertThat(studentService.enrollStudent(secondId, algorithms.getId()))
+            .isEqualTo(StudentService.EnrollmentResult.ALREADY_ENROLLED);
+        assertThat(studentService.dropCourse(firstId, networks.getId())).isTrue();
+        assertAggregates(Map.of(algorithms, 2, networks, 0), Map.of(firstId, 3, secondId, 3));
+        
+        Course renamed = new Course("AGG101", "Algorithms", 5, "Description");
+        renamed.setId(algorithms.getId());
+        courseService.updateCourse(renamed);
+        assertAggregates(Map.of(algorithms, 2, networks, 0), Map.of(firstId, 5, secondId, 5));
+        
+        Student second = new Student("Second Student", "second.agg@example.com", "CS", 2);
+        second.setId(secondId);
+        second.setCourses(Set.of(networks));
+        studentService.updateStudent(second);
+        assertAggregates(Map.of(algorithms, 1, networks, 1), Map.of(firstId, 5, secondId, 4));
+        
+        studentService.deleteStudent(firstId);
+        assertAggregates(Map.of(algorithms, 0, networks, 1), Map.of(secondId, 4));
+        assertThat(ids(courseService.findEnrolledCountMismatches()))
+            .doesNotContain(algorithms.getId(), networks.getId());
+        assertThat(ids(studentService.findTotalCreditMismatches())).doesNotContain(secondId);
+    }
+    
+    @Test
+    public void testCheckerFindsDriftAndRebuildRepairsIt() {
+        Student student = new Student("Drift Student", "drift.agg@example.com", "CS", 1);
+        student.setCourses(Set.of(algorithms));
+        Long studentId = studentService.saveStudent(student).getId();
+        jdbcTemplate.update("UPDATE courses SET enrolled_count = 42 WHERE id = ?", algorithms.getId());
+        jdbcTemplate.update("UPDATE students SET total_credits = 0 WHERE id = ?", studentId);
+        
+        assertThat(aggregatesEndpoint.check()).containsEntry("consistent", false);
+        assertThat(courseService.findEnrolledCountMismatches())
+            .filteredOn(mismatch -> mismatch.getId().equals(algorithms.getId()))
+            .singleElement()
+            .satisfies(mismatch -> {
+                assertThat(mismatch.getStored()).isEqualTo(42);
+                assertThat(mismatch.getActual()).isEqualTo(1);
+            });
+        
+        Map<String, Integer> corrected = aggregatesEndpoint.rebuild();
+        
+        assertThat(corrected.get("courseHeadcounts")).isPositive();
+        assertThat(corrected.get("studentCredits")).isPositive();
+        assertThat(aggregatesEndpoint.check()).containsEntry("consistent", true);
+        assertAggregates(Map.of(algorithms, 1), Map.of(studentId, 3));
+    }
+    
+    private void assertAggregates(Map<Course, Integer> headcounts, Map<Long, Integer> credits) {
+        // Native aggregate updates bypass the persistence context, so read them back fresh
+        entityManager.flush();
+        entityManager.clear();
+        headcounts.forEach((course, count) -> assertThat(courseService.getEnrolledCount(course.getId()))
+            .as("headcount of %s", course.getCourseCode()).contains(count));
+        credits.forEach((studentId, total) -> assertThat(studentService.getTotalCredits(studentId))
+            .as("credits of student %s", studentId).contains(total));
+    }
+    
+    private static List<Long> ids(List<AggregateMismatch> mismatches) {
+        return mismatches.stream().map(AggregateMismatch::getId).toList();
+    }
+}
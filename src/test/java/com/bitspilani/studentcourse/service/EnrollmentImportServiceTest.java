@@ -0,0 +1,147 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.dto.ImportReport;
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import com.bitspilani.studentcourse.entity.WaitlistEntry;
+import com.bitspilani.studentcourse.repository.CourseRepository;
+import com.bitspilani.studentcourse.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({EnrollmentImportService.class, SeatAllocator.class, SearchService.class, ChangeEventService.class,
+    DataVersion.class})
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+public class EnrollmentImportServiceTest {
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private EnrollmentImportService importService;
+    
+    @BeforeEach
+    public void setUp() {
+        entityManager.persist(new Course("TEST101", "Test Course 1", 3, "Description"));
+        entityManager.persist(new Course("TEST102", "Test Course 2", 4, "Description"));
+        entityManager.flush();
+    }
+    
+    @Test
+    public void testImportCsvWithEnrollments() throws IOException {
+        String csv = "name,email,department,semester,courseCodes\n"
+            + "Student One,one@example.com,CS,1,TEST101;TEST102\n"
+            + "\"Two, Student\",two@example.com,EE,2,\n";
+        
+        ImportReport report = importService.importStudents(stream(csv), EnrollmentImportService.Format.CSV, 500);
+        
+        assertThat(report.getTotalRows()).isEqualTo(2);
+        assertThat(report.getImportedRows()).isEqualTo(2);
+        assertThat(report.getFailedRows()).isZero();
+        assertThat(studentRepository.findAllStudentsWithCourses())
+            .extracting(row -> row.getStudentEmail() + ":" + row.getCourseCode())
+            .containsExactlyInAnyOrder("one@example.com:TEST101", "one@example.com:TEST102");
+        assertThat(studentRepository.existsByEmail("two@example.com")).isTrue();
+    }
+    
+    @Test
+    public void testImportReportsRowErrors() throws IOException {
+        entityManager.persist(new Student("Existing", "existing@example.com", "CS", 1));
+        entityManager.flush();
+        String csv = "Valid Student,valid@example.com,CS,1,TEST101\n"
+            + "Unknown Course,unknown@example.com,CS,1,NOPE999\n"
+            + "Bad Semester,bad@example.com,CS,first,\n"
+            + "Existing Email,existing@example.com,CS,1,\n"
+            + "Valid Again,valid@example.com,CS,2,\n";
+        
+        ImportReport report = importService.importStudents(stream(csv), EnrollmentImportService.Format.CSV, 500);
+        
+        assertThat(report.getImportedRows()).isEqualTo(1);
+        assertThat(report.getFailedRows()).isEqualTo(4);
+        assertThat(report.getErrors())
+            .extracting(ImportReport.RowError::getLineNumber)
+            .containsExactly(2L, 3L, 4L, 5L);
+        assertThat(report.getErrors().get(0).getMessage()).contains("NOPE999");
+    }
+    
+    @Test
+    public void testImportSeatsRowsInFileOrder() throws IOException {
+        Course capped = capped("CAP101", 1);
+        String csv = "First,first@example.com,CS,1,CAP101;TEST101\n"
+            + "Second,second@example.com,CS,1,TEST101;CAP101\n"
+            + "Third,third@example.com,CS,1,TEST101\n";
+        
+        ImportReport report = importService.importStudents(stream(csv), EnrollmentImportService.Format.CSV, 500);
+        
+        assertThat(report.getImportedRows()).isEqualTo(2);
+        assertThat(report.getErrors())
+            .extracting(error -> error.getLineNumber() + ": " + error.getMessage())
+            .containsExactly("2: Course is full: CAP101");
+        assertThat(studentRepository.existsByEmail("second@example.com")).isFalse();
+        assertThat(courseRepository.findEnrolledCount(capped.getId())).isEqualTo(1);
+    }
+    
+    @Test
+    public void testImportDoesNotGoAheadOfTheWaitlist() throws IOException {
+        Course capped = capped("CAP102", 2);
+        Student queued = entityManager.persist(new Student("Queued", "queued@example.com", "CS", 1));
+        entityManager.persist(new WaitlistEntry(capped.getId(), queued.getId()));
+        entityManager.flush();
+        
+        ImportReport report = importService.importStudents(
+            stream("Late,late@example.com,CS,1,CAP102\n"), EnrollmentImportService.Format.CSV, 500);
+        
+        assertThat(report.getImportedRows()).isZero();
+        assertThat(report.getErrors()).extracting(ImportReport.RowError::getMessage)
+            .containsExactly("Course is full: CAP102");
+        assertThat(courseRepository.findEnrolledCount(capped.getId())).isZero();
+    }
+    
+    @Test
+    public void testImportNdjsonInChunks() throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            ndjson.append("{\"name\":\"Student ").append(i)
+                .append("\",\"email\":\"student").append(i).append("@example.com\"")
+                .append(",\"department\":\"CS\",\"semester\":1,\"courseCodes\":[\"TEST101\"]}\n");
+        }
+        
+        ImportReport report = importService.importStudents(
+            stream(ndjson.toString()), EnrollmentImportService.Format.NDJSON, 500);
+        
+        assertThat(report.getImportedRows()).isEqualTo(1200);
+        assertThat(report.getChunks())
+            .extracting(ImportReport.ChunkProgress::getRows)
+            .containsExactly(500, 500, 200);
+        assertThat(studentRepository.count()).isEqualTo(1200);
+    }
+    
+    private Course capped(String code, int capacity) {
+        Course course = new Course(code, "Capped " + code, 3, "Description");
+        course.setCapacity(capacity);
+        return entityManager.persistAndFlush(course);
+    }
+    
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,68 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.dto.SearchHit;
+import com.bitspilani.studentcourse.entity.Student;
+import com.bitspilani.studentcourse.repository.CourseRepository;
+import com.bitspilani.studentcourse.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Writes that commit while the indexes are being rebuilt, after the rebuild has read the rows they touch.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SearchServiceRebuildTest {
+    
+    @Mock
+    private StudentRepository studentRepository;
+    
+    @Mock
+    private CourseRepository courseRepository;
+    
+    @InjectMocks
+    private SearchService searchService;
+    
+    @Test
+    public void testChangesDuringARebuildReachTheNewIndex() {
+        when(studentRepository.findSearchFieldsPage(any(), any())).thenAnswer(invocation -> {
+            // Read first, then renamed and joined by a new student before the rebuild finishes
+            List<Object[]> rows = List.<Object[]>of(new Object[] {1L, "Stale Name", "one@example.com", "CS"});
+            Student renamed = new Student("Fresh Name", "one@example.com", "CS", 1);
+            renamed.setId(1L);
+            Student created = new Student("Newcomer", "two@example.com", "EE", 1);
+            created.setId(2L);
+            searchService.indexStudents(List.of(renamed, created));
+            return rows;
+        });
+        
+        searchService.rebuild();
+        
+        assertThat(titles("stale")).isEmpty();
+        assertThat(titles("fresh")).containsExactly("Fresh Name");
+        assertThat(titles("newcomer")).containsExactly("Newcomer");
+        assertThat(searchService.getIndexedStudents()).isEqualTo(2);
+    }
+    
+    @Test
+    public void testChangesAfterARebuildAreNotReplayed() {
+        when(studentRepository.findSearchFieldsPage(any(), any()))
+            .thenReturn(List.<Object[]>of(new Object[] {1L, "Kept Name", "one@example.com", "CS"}));
+        
+        searchService.rebuild();
+        searchService.removeStudent(1L);
+        searchService.rebuild();
+        
+        assertThat(titles("kept")).containsExactly("Kept Name");
+    }
+    
+    private List<String> titles(String query) {
+        return searchService.search(query, SearchService.TYPE_STUDENT, null).stream().map(SearchHit::getTitle).toList();
+    }
+}
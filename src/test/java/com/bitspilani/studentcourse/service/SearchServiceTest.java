@@ -0,0 +1,118 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.dto.SearchHit;
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The search index must follow every committed write (service calls and bulk import) and ignore rolled-back ones.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+public class SearchServiceTest {
+    
+    @Autowired
+    private SearchService searchService;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private EnrollmentImportService importService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM students WHERE email LIKE '%@search.example.com'");
+        jdbcTemplate.update("DELETE FROM courses WHERE course_code LIKE 'SRCH%'");
+    }
+    
+    @Test
+    public void testStudentWritesAreSearchableOnceCommitted() {
+        Student student = studentService.saveStudent(
+            new Student("Zephyrine Quill", "zephyrine@search.example.com", "CS", 2));
+        assertThat(titles("zephyr", SearchService.TYPE_STUDENT)).containsExactly("Zephyrine Quill");
+        
+        Student renamed = new Student("Zephyrine Marlowe", "zephyrine@search.example.com", "EE", 2);
+        renamed.setId(student.getId());
+        studentService.updateStudent(renamed);
+        assertThat(titles("quill", SearchService.TYPE_STUDENT)).isEmpty();
+        assertThat(titles("zeph marl", SearchService.TYPE_STUDENT)).containsExactly("Zephyrine Marlowe");
+        
+        studentService.deleteStudent(student.getId());
+        assertThat(titles("zephyrine", SearchService.TYPE_STUDENT)).isEmpty();
+    }
+    
+    @Test
+    public void testRolledBackWritesAreNotIndexed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            studentService.saveStudent(new Student("Ghostly Phantasm", "ghostly@search.example.com", "CS", 1));
+            status.setRollbackOnly();
+        });
+        
+        assertThat(titles("phantasm", null)).isEmpty();
+    }
+    
+    @Test
+    public void testCoursesAreSearchableByCodeNameAndDescription() {
+        Course course = new Course("SRCH42", "Quasicrystal Physics", 3, "Aperiodic tilings");
+        courseService.saveCourse(course);
+        Course upserted = new Course("SRCH43", "Quasar Astronomy", 4, null);
+        courseService.upsertCourse(upserted);
+        
+        assertThat(titles("srch 42", SearchService.TYPE_COURSE)).containsExactly("SRCH42 Quasicrystal Physics");
+        assertThat(titles("aperiodic", null)).containsExactly("SRCH42 Quasicrystal Physics");
+        assertThat(titles("qua", SearchService.TYPE_COURSE))
+            .containsExactlyInAnyOrder("SRCH42 Quasicrystal Physics", "SRCH43 Quasar Astronomy");
+        
+        courseService.deleteCourse(course.getId());
+        assertThat(titles("quasicrystal", null)).isEmpty();
+    }
+    
+    @Test
+    public void testLimitAppliesToStudentsAndCoursesTogether() {
+        studentService.saveStudent(new Student("Vexillum One", "vexillum1@search.example.com", "CS", 1));
+        studentService.saveStudent(new Student("Vexillum Two", "vexillum2@search.example.com", "CS", 1));
+        courseService.saveCourse(new Course("SRCH50", "Vexillology", 3, null));
+        courseService.saveCourse(new Course("SRCH51", "Vexillum Design", 3, null));
+        
+        assertThat(searchService.search("vexill", null, 3))
+            .extracting(SearchHit::getType)
+            .containsExactly(SearchService.TYPE_STUDENT, SearchService.TYPE_STUDENT, SearchService.TYPE_COURSE);
+        assertThat(searchService.search("vexill", null, 2)).hasSize(2);
+        assertThat(searchService.search("vexill", SearchService.TYPE_COURSE, 2)).hasSize(2);
+    }
+    
+    @Test
+    public void testImportedStudentsAreSearchable() throws Exception {
+        String csv = "name,email,department,semester,courseCodes\n"
+            + "Imported Xanthippe,xanthippe@search.example.com,ME,3,\n";
+        
+        importService.importStudents(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+            EnrollmentImportService.Format.CSV, 500);
+        
+        assertThat(titles("xanth", SearchService.TYPE_STUDENT)).containsExactly("Imported Xanthippe");
+    }
+    
+    private List<String> titles(String query, String type) {
+        return searchService.search(query, type, 10).stream().map(SearchHit::getTitle).toList();
+    }
+}
@@ -0,0 +1,203 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import com.bitspilani.studentcourse.repository.StudentRepository;
+import com.bitspilani.studentcourse.service.StudentService.EnrollmentResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registration-day load: 1200 students ask for seats in two capped courses at the same moment, from 1000
+ * threads. Checks that neither course is overbooked, that everyone else is waitlisted, and that freed seats go
+ * to the waitlist in order. Throughput is logged.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+public class SeatAllocationStressTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(SeatAllocationStressTest.class);
+    
+    private static final int STUDENTS = 1200;
+    private static final int THREADS = 1000;
+    private static final int CAPACITY_A = 40;
+    private static final int CAPACITY_B = 60;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private SeatAllocator seatAllocator;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private Course courseA;
+    private Course courseB;
+    private List<Long> studentIds;
+    
+    @BeforeEach
+    public void setUp() {
+        courseA = courseService.saveCourse(capped("SEAT101", CAPACITY_A));
+        courseB = courseService.saveCourse(capped("SEAT102", CAPACITY_B));
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(new Student("Seat Student " + i, "seat" + i + "@example.com", "CS", 1));
+        }
+        studentIds = studentRepository.saveAll(students).stream().map(Student::getId).toList();
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        List<Long> courseIds = List.of(courseA.getId(), courseB.getId());
+        for (Long courseId : courseIds) {
+            jdbcTemplate.update("DELETE FROM student_course WHERE course_id = ?", courseId);
+        }
+        jdbcTemplate.update("DELETE FROM students WHERE email LIKE 'seat%@example.com'");
+        courseIds.forEach(courseService::deleteCourse);
+    }
+    
+    @Test
+    public void testConcurrentEnrollmentsNeverOverbook() throws Exception {
+        Map<EnrollmentResult, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+        List<Throwable> failures = new ArrayList<>();
+        
+        long elapsedNanos = runConcurrently(i -> {
+            Long courseId = i % 2 == 0 ? courseA.getId() : courseB.getId();
+            EnrollmentResult result = studentService.enrollStudent(studentIds.get(i), courseId);
+            outcomes.computeIfAbsent(result, key -> new AtomicInteger()).incrementAndGet();
+        }, failures);
+        
+        log.info("{} concurrent enrollment requests on {} threads in {} ms ({} req/s): {}",
+            STUDENTS, THREADS, elapsedNanos / 1_000_000, Math.round(STUDENTS / (elapsedNanos / 1e9)), outcomes);
+        assertThat(failures).isEmpty();
+        assertThat(outcomes.get(EnrollmentResult.ENROLLED)).hasValue(CAPACITY_A + CAPACITY_B);
+        assertThat(outcomes.get(EnrollmentResult.WAITLISTED)).hasValue(STUDENTS - CAPACITY_A - CAPACITY_B);
+        assertSeats(courseA, CAPACITY_A, STUDENTS / 2 - CAPACITY_A);
+        assertSeats(courseB, CAPACITY_B, STUDENTS / 2 - CAPACITY_B);
+    }
+    
+    @Test
+    public void testFreedSeatsGoToTheWaitlistInOrder() throws Exception {
+        List<Throwable> failures = new ArrayList<>();
+        runConcurrently(i -> studentService.enrollStudent(studentIds.get(i), courseA.getId()), failures);
+        assertThat(failures).isEmpty();
+        List<Long> enrolled = jdbcTemplate.queryForList(
+            "SELECT student_id FROM student_course WHERE course_id = ? ORDER BY student_id", Long.class, courseA.getId());
+        List<Long> queue = jdbcTemplate.queryForList(
+            "SELECT student_id FROM course_waitlist WHERE course_id = ? ORDER BY id", Long.class, courseA.getId());
+        
+        runConcurrently(i -> {
+            if (i < 10) {
+                studentService.dropCourse(enrolled.get(i), courseA.getId());
+            }
+        }, failures);
+        
+        assertThat(failures).isEmpty();
+        awaitWaitlist(courseA, STUDENTS - CAPACITY_A - 10);
+        assertSeats(courseA, CAPACITY_A, STUDENTS - CAPACITY_A - 10);
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT student_id FROM student_course WHERE course_id = ?", Long.class, courseA.getId()))
+            .containsAll(queue.subList(0, 10))
+            .doesNotContainAnyElementsOf(enrolled.subList(0, 10));
+        assertThat(studentService.getWaitlistPosition(queue.get(10), courseA.getId())).contains(1L);
+    }
+    
+    @Test
+    public void testSweepPromotesWhenAPromotionWasLost() {
+        for (int i = 0; i < CAPACITY_A + 2; i++) {
+            studentService.enrollStudent(studentIds.get(i), courseA.getId());
+        }
+        // A drop whose after-commit promotion never ran, as after a crash
+        jdbcTemplate.update("DELETE FROM student_course WHERE student_id = ? AND course_id = ?",
+            studentIds.get(0), courseA.getId());
+        jdbcTemplate.update("UPDATE courses SET enrolled_count = enrolled_count - 1 WHERE id = ?", courseA.getId());
+        
+        seatAllocator.sweep();
+        
+        assertSeats(courseA, CAPACITY_A, 1);
+        assertThat(studentRepository.isEnrolled(studentIds.get(CAPACITY_A), courseA.getId())).isTrue();
+        assertThat(studentService.getWaitlistPosition(studentIds.get(CAPACITY_A + 1), courseA.getId())).contains(1L);
+    }
+    
+    // Promotion runs on a background thread once each drop commits
+    private void awaitWaitlist(Course course, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (waitlisted(course) > expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+    
+    private int waitlisted(Course course) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM course_waitlist WHERE course_id = ?", Integer.class, course.getId());
+    }
+    
+    private void assertSeats(Course course, int enrolled, int waitlisted) {
+        assertThat(courseService.getEnrolledCount(course.getId())).contains(enrolled);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM student_course WHERE course_id = ?", Integer.class, course.getId()))
+            .isEqualTo(enrolled);
+        assertThat(waitlisted(course)).isEqualTo(waitlisted);
+    }
+    
+    // Releases all requests at once and returns the wall-clock time until the last one finished
+    private long runConcurrently(Request request, List<Throwable> failures) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < STUDENTS; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    request.run(n);
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (Exception e) {
+                    failures.add(e.getCause() != null ? e.getCause() : e);
+                }
+            }
+            return System.nanoTime() - started;
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    private interface Request {
+        void run(int n) throws Exception;
+    }
+    
+    private static Course capped(String code, int capacity) {
+        Course course = new Course(code, "Popular Course " + code, 3, "Description");
+        course.setCapacity(capacity);
+        return course;
+    }
+}
@@ -1,19 +1,27 @@
 package com.bitspilani.studentcourse.service;
 
+import com.bitspilani.studentcourse.dto.KeysetPage;
+import com.bitspilani.studentcourse.entity.Course;
 import com.bitspilani.studentcourse.entity.Student;
+import com.bitspilani.studentcourse.repository.CourseRepository;
 import com.bitspilani.studentcourse.repository.StudentRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +30,21 @@ public class StudentServiceTest {
     @Mock
     private StudentRepository studentRepository;
     
+    @Mock
+    private CourseRepository courseRepository;
+    
+    @Mock
+    private SeatAllocator seatAllocator;
+    
+    @Mock
+    private SearchService searchService;
+    
+    @Mock
+    private ChangeEventService changeEventService;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
     @InjectMocks
     private StudentService studentService;
     
@@ -39,6 +62,55 @@ public class StudentServiceTest {
         verify(studentRepository, times(1)).findAll();
     }
     
+    @Test
+    public void testGetStudentsPage() {
+        Student student1 = new Student("Student 1", "student1@example.com", "CS", 1);
+        student1.setId(1L);
+        Student student2 = new Student("Student 2", "student2@example.com", "CS", 2);
+        student2.setId(2L);
+        Student student3 = new Student("Student 3", "student3@example.com", "EE", 1);
+        student3.setId(3L);
+        
+        when(studentRepository.findPageOrderByDepartment(eq("CS"), eq(1L), any()))
+            .thenReturn(Arrays.asList(student2, student3));
+        
+        KeysetPage<Student> page = studentService.getStudentsPage("department", "CS", 1L, 1);
+        
+        assertThat(page.getItems()).containsExactly(student2);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.isFirstPage()).isFalse();
+        assertThat(page.getNextAfterKey()).isEqualTo("CS");
+        assertThat(page.getNextAfterId()).isEqualTo(2L);
+        verify(studentRepository, times(1)).findPageOrderByDepartment("CS", 1L, PageRequest.of(0, 2));
+    }
+    
+    @Test
+    public void testGetStudentsBySemesterRangeDefaultsOpenBounds() {
+        Student student = new Student("Student 1", "student1@example.com", "CS", 5);
+        student.setId(7L);
+        when(studentRepository.findBySemesterRange(eq(5), eq(Integer.MAX_VALUE), eq(Integer.MIN_VALUE), eq(0L), any()))
+            .thenReturn(List.of(student));
+        
+        KeysetPage<Student> page = studentService.getStudentsBySemesterRange(5, null, null, null, 20);
+        
+        assertThat(page.getItems()).containsExactly(student);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextAfterKey()).isEqualTo("5");
+        assertThat(page.getNextAfterId()).isEqualTo(7L);
+    }
+    
+    @Test
+    public void testGetStudentsPageClampsSize() {
+        when(studentRepository.findPageOrderById(eq(0L), any())).thenReturn(List.of());
+        
+        KeysetPage<Student> page = studentService.getStudentsPage("unknown", null, null, 10_000);
+        
+        assertThat(page.getSize()).isEqualTo(KeysetPage.MAX_SIZE);
+        assertThat(page.getSort()).isEqualTo("id");
+        assertThat(page.isHasNext()).isFalse();
+        verify(studentRepository, times(1)).findPageOrderById(0L, PageRequest.of(0, KeysetPage.MAX_SIZE + 1));
+    }
+    
     @Test
     public void testGetStudentById() {
         Student student = new Student("Test Student", "test@example.com", "CS", 1);
@@ -57,46 +129,176 @@ public class StudentServiceTest {
     public void testSaveStudent() {
         Student student = new Student("Test Student", "test@example.com", "CS", 1);
         
-        when(studentRepository.existsByEmail(student.getEmail())).thenReturn(false);
-        when(studentRepository.save(any(Student.class))).thenReturn(student);
+        when(studentRepository.saveAndFlush(any(Student.class))).thenReturn(student);
         
         Student result = studentService.saveStudent(student);
         
         assertThat(result).isNotNull();
-        verify(studentRepository, times(1)).save(student);
+        verify(studentRepository, times(1)).saveAndFlush(student);
+        verify(studentRepository, never()).existsByEmail(any());
     }
     
     @Test
     public void testSaveStudentWithDuplicateEmail() {
         Student student = new Student("Test Student", "test@example.com", "CS", 1);
         
-        when(studentRepository.existsByEmail(student.getEmail())).thenReturn(true);
+        when(studentRepository.saveAndFlush(any(Student.class))).thenThrow(emailViolation());
         
         assertThatThrownBy(() -> studentService.saveStudent(student))
             .isInstanceOf(DataIntegrityViolationException.class)
             .hasMessageContaining("Email already exists");
     }
     
+    @Test
+    public void testSaveStudentWithOtherViolationIsNotReportedAsDuplicate() {
+        Student student = new Student("Test Student", "test@example.com", "CS", 1);
+        DataIntegrityViolationException foreignKey = violation("23506",
+            "\"FK_STUDENT_COURSE_COURSE: PUBLIC.STUDENT_COURSE FOREIGN KEY(COURSE_ID)\"");
+        
+        when(studentRepository.saveAndFlush(any(Student.class))).thenThrow(foreignKey);
+        
+        assertThatThrownBy(() -> studentService.saveStudent(student))
+            .isSameAs(foreignKey)
+            .isNotInstanceOf(DuplicateValueException.class);
+    }
+    
     @Test
     public void testUpdateStudent() {
         Student student = new Student("Test Student", "test@example.com", "CS", 1);
         student.setId(1L);
+        Course course = new Course("CS101", "Programming", 3, "Description");
+        course.setId(10L);
+        student.addCourse(course);
         
-        when(studentRepository.existsById(1L)).thenReturn(true);
-        when(studentRepository.save(any(Student.class))).thenReturn(student);
+        when(studentRepository.updateDetails(1L, "Test Student", "test@example.com", "CS", 1)).thenReturn(1);
+        when(studentRepository.findEnrolledCourseIds(1L)).thenReturn(List.of(20L));
         
         Student result = studentService.updateStudent(student);
         
-        assertThat(result).isNotNull();
-        verify(studentRepository, times(1)).save(student);
+        assertThat(result).isSameAs(student);
+        verify(studentRepository, never()).existsById(any());
+        verify(studentRepository, times(1)).deleteEnrollments(1L, List.of(20L));
+        verify(studentRepository, times(1)).insertEnrollments(1L, List.of(10L));
+        verify(seatAllocator, times(1)).moveSeats(List.of(20L), List.of(10L));
+        verify(studentRepository, times(1)).recalculateTotalCredits(List.of(1L));
+        verify(changeEventService, times(1)).studentSaved(student);
+        verify(changeEventService, times(1)).enrollmentsDropped(1L, List.of(20L));
+        verify(changeEventService, times(1)).enrollmentsAdded(1L, List.of(10L));
+    }
+    
+    @Test
+    public void testUpdateMissingStudent() {
+        Student student = new Student("Test Student", "test@example.com", "CS", 1);
+        student.setId(99L);
+        
+        when(studentRepository.updateDetails(eq(99L), any(), any(), any(), any())).thenReturn(0);
+        
+        assertThatThrownBy(() -> studentService.updateStudent(student))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Student not found with id: 99");
+        verify(studentRepository, never()).insertEnrollments(any(), any());
+    }
+    
+    @Test
+    public void testUpsertStudentRetriesAfterLosingInsertRace() {
+        Student student = new Student("Test Student", "test@example.com", "CS", 1);
+        
+        when(studentRepository.upsertByEmail("Test Student", "test@example.com", "CS", 1))
+            .thenThrow(emailViolation())
+            .thenReturn(1);
+        when(studentRepository.findIdByEmail("test@example.com")).thenReturn(Optional.of(5L));
+        
+        Student result = studentService.upsertStudent(student);
+        
+        assertThat(result.getId()).isEqualTo(5L);
+        verify(studentRepository, times(2)).upsertByEmail("Test Student", "test@example.com", "CS", 1);
+        verify(studentRepository, times(1)).findEnrolledCourseIds(5L);
+        verify(studentRepository, never()).deleteEnrollments(any(), any());
+    }
+    
+    @Test
+    public void testEnrollStudentIgnoresDuplicate() {
+        Student student = new Student("Test Student", "test@example.com", "CS", 1);
+        Course course = new Course("CS101", "Programming", 3, "Description");
+        course.setId(10L);
+        
+        when(studentRepository.findLockedById(1L)).thenReturn(Optional.of(student));
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+        when(seatAllocator.claimSeat(10L)).thenReturn(true);
+        
+        assertThat(studentService.enrollStudent(1L, 10L)).isEqualTo(StudentService.EnrollmentResult.ENROLLED);
+        assertThat(studentService.enrollStudent(1L, 10L)).isEqualTo(StudentService.EnrollmentResult.ALREADY_ENROLLED);
+        assertThat(student.getCourses()).containsExactly(course);
+        verify(seatAllocator, times(1)).claimSeat(10L);
+        verify(studentRepository, times(1)).recalculateTotalCredits(List.of(1L));
+    }
+    
+    @Test
+    public void testEnrollStudentInFullCourseJoinsWaitlist() {
+        Student student = new Student("Test Student", "test@example.com", "CS", 1);
+        Course course = new Course("CS101", "Programming", 3, "Description");
+        course.setId(10L);
+        
+        when(studentRepository.findLockedById(1L)).thenReturn(Optional.of(student));
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+        when(seatAllocator.claimSeat(10L)).thenReturn(false);
+        
+        assertThat(studentService.enrollStudent(1L, 10L)).isEqualTo(StudentService.EnrollmentResult.WAITLISTED);
+        assertThat(student.getCourses()).isEmpty();
+        verify(seatAllocator, times(1)).joinWaitlist(1L, 10L);
+        verify(studentRepository, never()).recalculateTotalCredits(any());
+    }
+    
+    @Test
+    public void testEnrollStudentInMissingCourse() {
+        when(studentRepository.findLockedById(1L))
+            .thenReturn(Optional.of(new Student("Test Student", "test@example.com", "CS", 1)));
+        when(courseRepository.findById(99L)).thenReturn(Optional.empty());
+        
+        assertThatThrownBy(() -> studentService.enrollStudent(1L, 99L))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Course not found with id: 99");
+    }
+    
+    @Test
+    public void testDropCourse() {
+        Student student = new Student("Test Student", "test@example.com", "CS", 1);
+        Course enrolled = new Course("CS101", "Programming", 3, "Description");
+        enrolled.setId(10L);
+        student.addCourse(enrolled);
+        Course reference = new Course();
+        reference.setId(10L);
+        
+        when(studentRepository.findLockedById(1L)).thenReturn(Optional.of(student));
+        when(courseRepository.getReferenceById(10L)).thenReturn(reference);
+        
+        assertThat(studentService.dropCourse(1L, 10L)).isTrue();
+        assertThat(student.getCourses()).isEmpty();
+        verify(seatAllocator, times(1)).releaseSeats(List.of(10L));
+        verify(seatAllocator, never()).leaveWaitlist(any(), any());
+        verify(changeEventService, times(1)).enrollmentsDropped(1L, List.of(10L));
     }
     
     @Test
     public void testDeleteStudent() {
-        doNothing().when(studentRepository).deleteById(1L);
+        Student student = new Student("Test Student", "test@example.com", "CS", 1);
+        when(studentRepository.findLockedById(1L)).thenReturn(Optional.of(student));
+        when(studentRepository.findEnrolledCourseIds(1L)).thenReturn(List.of(10L));
         
         studentService.deleteStudent(1L);
         
-        verify(studentRepository, times(1)).deleteById(1L);
+        verify(seatAllocator, times(1)).releaseSeats(List.of(10L));
+        verify(studentRepository, times(1)).delete(student);
+        verify(changeEventService, times(1)).studentDeleted(1L);
+    }
+    
+    private static DataIntegrityViolationException emailViolation() {
+        return violation("23505", "\"PUBLIC.UK_STUDENTS_EMAIL_INDEX_A ON PUBLIC.STUDENTS(EMAIL NULLS FIRST)\"");
+    }
+    
+    // Shaped like Spring's translation of what Hibernate throws: the dialect's constraint name and the SQLState
+    static DataIntegrityViolationException violation(String sqlState, String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement", new ConstraintViolationException(
+            "could not execute statement", new SQLException("Integrity constraint violation", sqlState), constraintName));
     }
 }
@@ -0,0 +1,57 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.dto.Timetable;
+import com.bitspilani.studentcourse.repository.CourseRepository;
+import com.bitspilani.studentcourse.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.List;
+import java.util.stream.Stream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TimetableServiceTest {
+    
+    @Mock
+    private StudentRepository studentRepository;
+    
+    @Mock
+    private CourseRepository courseRepository;
+    
+    @InjectMocks
+    private TimetableService timetableService;
+    
+    @Test
+    public void testConflictingCoursesGetDifferentSlots() {
+        when(courseRepository.findAllCodesAndIds()).thenReturn(List.of(
+            new Object[] {"CS101", 1L}, new Object[] {"CS102", 2L}, new Object[] {"CS103", 3L}));
+        when(studentRepository.streamEnrollmentPairs()).thenReturn(Stream.of(
+            new Object[] {10L, 1L}, new Object[] {10L, 2L}, new Object[] {11L, 3L}));
+        
+        Timetable timetable = timetableService.buildTimetable();
+        
+        assertThat(timetable.getCourseCount()).isEqualTo(3);
+        assertThat(timetable.getConflictCount()).isEqualTo(1);
+        assertThat(timetable.getSlots()).hasSize(2);
+    }
+    
+    @Test
+    public void testEnrollmentsInCoursesCreatedMidBuildAreSkipped() {
+        when(courseRepository.findAllCodesAndIds()).thenReturn(List.of(
+            new Object[] {"CS101", 1L}, new Object[] {"CS102", 2L}));
+        // Course 3 was created and joined after the course list was read
+        when(studentRepository.streamEnrollmentPairs()).thenReturn(Stream.of(
+            new Object[] {10L, 1L}, new Object[] {10L, 3L}, new Object[] {10L, 2L}, new Object[] {11L, 3L}));
+        
+        Timetable timetable = timetableService.buildTimetable();
+        
+        assertThat(timetable.getCourseCount()).isEqualTo(2);
+        assertThat(timetable.getConflictCount()).isEqualTo(1);
+        assertThat(timetable.getSlots()).extracting(Timetable.Slot::getCourseCodes)
+            .containsExactlyInAnyOrder(List.of("CS101"), List.of("CS102"));
+    }
+}
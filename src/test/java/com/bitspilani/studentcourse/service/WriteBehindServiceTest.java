@@ -0,0 +1,161 @@
+package com.bitspilani.studentcourse.service;
+
+import com.bitspilani.studentcourse.entity.Course;
+import com.bitspilani.studentcourse.entity.Student;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Write-behind with a long interval, so only the batch size, an explicit flush or shutdown write anything.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "app.write-behind.enabled=true",
+    "app.write-behind.max-batch-size=3",
+    "app.write-behind.flush-interval-millis=600000"
+})
+public class WriteBehindServiceTest {
+    
+    @Autowired
+    private WriteBehindService writeBehindService;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private SearchService searchService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM students WHERE email LIKE '%@writebehind.example.com'");
+        jdbcTemplate.update("DELETE FROM courses WHERE course_code LIKE 'WB%'");
+    }
+    
+    @Test
+    public void testEditsToOneStudentAreMergedIntoOneWrite() {
+        Long id = student("merge");
+        double coalescedBefore = counter("coalesced");
+        double writtenBefore = counter("written");
+        long flushesBefore = meterRegistry.get(WriteBehindService.METRIC_PREFIX + ".flush").timer().count();
+        
+        assertThat(writeBehindService.updateStudentProfile(profile(id, "First Rename", null, null))).isTrue();
+        writeBehindService.updateStudentProfile(profile(id, null, "ME", null));
+        writeBehindService.updateStudentProfile(profile(id, "Final Rename", null, null));
+        
+        assertThat(writeBehindService.getPendingCount()).isEqualTo(1);
+        assertThat(meterRegistry.get(WriteBehindService.METRIC_PREFIX + ".pending").gauge().value()).isEqualTo(1);
+        assertThat(row(id)).containsEntry("NAME", "Student merge").containsEntry("DEPARTMENT", "CS");
+        
+        writeBehindService.flush();
+        
+        assertThat(row(id)).containsEntry("NAME", "Final Rename").containsEntry("DEPARTMENT", "ME")
+            .containsEntry("SEMESTER", 3);
+        assertThat(writeBehindService.getPendingCount()).isZero();
+        assertThat(counter("coalesced") - coalescedBefore).isEqualTo(2);
+        assertThat(counter("written") - writtenBefore).isEqualTo(1);
+        assertThat(meterRegistry.get(WriteBehindService.METRIC_PREFIX + ".flush").timer().count())
+            .isEqualTo(flushesBefore + 1);
+        assertThat(searchService.search("final rename", SearchService.TYPE_STUDENT, 10)).hasSize(1);
+    }
+    
+    @Test
+    public void testFullBatchIsWrittenWithoutWaitingForTheInterval() throws InterruptedException {
+        Long first = student("batch1");
+        Long second = student("batch2");
+        Long third = student("batch3");
+        
+        writeBehindService.updateStudentProfile(profile(first, null, null, 5));
+        writeBehindService.updateStudentProfile(profile(second, null, null, 6));
+        writeBehindService.updateStudentProfile(profile(third, null, null, 7));
+        
+        // The third edit fills a batch, which the flusher writes long before the interval is up
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!row(third).get("SEMESTER").equals(7) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        
+        assertThat(row(first)).containsEntry("SEMESTER", 5);
+        assertThat(row(second)).containsEntry("SEMESTER", 6);
+        assertThat(row(third)).containsEntry("SEMESTER", 7);
+    }
+    
+    @Test
+    public void testRejectedEditIsDroppedAndTheRestOfTheBatchWritten() {
+        Long bad = student("bad");
+        Long good = student("good");
+        double failedBefore = counter("failed");
+        
+        writeBehindService.updateStudentProfile(profile(bad, "x".repeat(150), null, null));
+        writeBehindService.updateStudentProfile(profile(good, "Good Rename", null, null));
+        writeBehindService.flush();
+        
+        assertThat(row(bad)).containsEntry("NAME", "Student bad");
+        assertThat(row(good)).containsEntry("NAME", "Good Rename");
+        assertThat(counter("failed") - failedBefore).isEqualTo(1);
+    }
+    
+    @Test
+    public void testEditsForMissingRecordsAreRefusedBeforeQueuing() {
+        int pendingBefore = writeBehindService.getPendingCount();
+        Course details = new Course(null, "Nowhere", null, null);
+        details.setId(999999L);
+        
+        assertThatThrownBy(() -> writeBehindService.updateStudentProfile(profile(999999L, "Nobody", null, null)))
+            .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> writeBehindService.updateCourseDetails(details))
+            .isInstanceOf(NotFoundException.class);
+        assertThat(writeBehindService.getPendingCount()).isEqualTo(pendingBefore);
+    }
+    
+    @Test
+    @DirtiesContext
+    public void testShutdownWritesQueuedEdits() throws InterruptedException {
+        Course course = courseService.saveCourse(new Course("WB101", "Before Shutdown", 3, "Old description"));
+        Course details = new Course(null, null, null, "New description");
+        details.setId(course.getId());
+        
+        assertThat(writeBehindService.updateCourseDetails(details)).isTrue();
+        writeBehindService.shutdown();
+        
+        assertThat(jdbcTemplate.queryForMap("SELECT course_name, description FROM courses WHERE id = ?", course.getId()))
+            .containsEntry("COURSE_NAME", "Before Shutdown").containsEntry("DESCRIPTION", "New description");
+        assertThat(courseService.getCourseById(course.getId())).get()
+            .satisfies(cached -> assertThat(cached.getDescription()).isEqualTo("New description"));
+    }
+    
+    private Long student(String key) {
+        return studentService.saveStudent(
+            new Student("Student " + key, key + "@writebehind.example.com", "CS", 3)).getId();
+    }
+    
+    private static Student profile(Long id, String name, String department, Integer semester) {
+        Student profile = new Student(name, null, department, semester);
+        profile.setId(id);
+        return profile;
+    }
+    
+    private Map<String, Object> row(Long id) {
+        return jdbcTemplate.queryForMap("SELECT name, department, semester FROM students WHERE id = ?", id);
+    }
+    
+    private double counter(String name) {
+        return meterRegistry.get(WriteBehindService.METRIC_PREFIX + "." + name).counter().count();
+    }
+}